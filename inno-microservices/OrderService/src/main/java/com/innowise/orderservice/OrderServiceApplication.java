@@ -1,14 +1,44 @@
 package com.innowise.orderservice;
 
+import com.innowise.orderservice.config.ArchiveProperties;
+import com.innowise.orderservice.config.AsyncOrderProperties;
 import com.innowise.orderservice.config.KafkaTopicProperties;
+import com.innowise.orderservice.config.OrderExportProperties;
+import com.innowise.orderservice.config.OrderStreamProperties;
+import com.innowise.orderservice.config.OutboxProperties;
+import com.innowise.orderservice.config.OutboxPruneProperties;
+import com.innowise.orderservice.config.PaymentListenerProperties;
+import com.innowise.orderservice.config.ProcessedEventPruneProperties;
+import com.innowise.orderservice.config.PurgeProperties;
+import com.innowise.orderservice.config.QueryMetricsProperties;
+import com.innowise.orderservice.config.ReactiveUserServiceProperties;
+import com.innowise.orderservice.config.ReplicaProperties;
+import com.innowise.orderservice.config.UserServiceCallProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableFeignClients
 @SpringBootApplication
-@EnableConfigurationProperties(KafkaTopicProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({
+  ArchiveProperties.class,
+  AsyncOrderProperties.class,
+  KafkaTopicProperties.class,
+  OrderExportProperties.class,
+  OrderStreamProperties.class,
+  OutboxProperties.class,
+  OutboxPruneProperties.class,
+  PaymentListenerProperties.class,
+  ProcessedEventPruneProperties.class,
+  PurgeProperties.class,
+  QueryMetricsProperties.class,
+  ReactiveUserServiceProperties.class,
+  ReplicaProperties.class,
+  UserServiceCallProperties.class
+})
 public class OrderServiceApplication {
 
   public static void main(String[] args) {
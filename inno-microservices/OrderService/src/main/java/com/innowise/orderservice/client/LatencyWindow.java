@@ -0,0 +1,50 @@
+package com.innowise.orderservice.client;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring of the latest call latencies, from which percentiles are read.
+ *
+ * <p>The window is small, so a percentile is computed by sorting a copy of it; this costs a few
+ * microseconds and needs no histogram bookkeeping.
+ */
+public class LatencyWindow {
+  private final long[] samples;
+  private int next;
+  private int size;
+
+  public LatencyWindow(int capacity) {
+    this.samples = new long[Math.max(1, capacity)];
+  }
+
+  /**
+   * Records a latency, replacing the oldest one once the window is full.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public synchronized void record(long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    size = Math.min(size + 1, samples.length);
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the latency below which the given share of the recorded latencies lies.
+   *
+   * @param quantile the share, between 0 and 1
+   * @return the latency in nanoseconds, 0 if nothing has been recorded
+   */
+  public synchronized long percentile(double quantile) {
+    if (size == 0) {
+      return 0;
+    }
+    long[] sorted = Arrays.copyOf(samples, size);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(quantile * size) - 1;
+    return sorted[Math.clamp(index, 0, size - 1)];
+  }
+}
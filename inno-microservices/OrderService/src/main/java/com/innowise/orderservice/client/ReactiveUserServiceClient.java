@@ -0,0 +1,127 @@
+package com.innowise.orderservice.client;
+
+import com.innowise.orderservice.config.ReactiveUserServiceProperties;
+import com.innowise.orderservice.exception.RetrieveUserException;
+import com.innowise.orderservice.model.dto.UserDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking counterpart of {@link UserServiceClient} built on {@link WebClient}.
+ *
+ * <p>A lookup holds no thread while it waits for the User Service. It trips the same {@code
+ * user-service} circuit breaker as {@link ResilientUserServiceClient}, but takes its slot from the
+ * separate {@code user-service-reactive} bulkhead, which has no wait time: the bulkhead operator
+ * runs on the event loop, and a lookup that finds no free slot is rejected at once instead of
+ * parking that thread. The connection pool is sized to the bulkhead, since more connections could
+ * never be used. Failures are reported as {@link RetrieveUserException} with the same messages the
+ * blocking path uses.
+ */
+@Component
+public class ReactiveUserServiceClient {
+  private final WebClient webClient;
+  private final ReactiveUserServiceProperties properties;
+  private final Bulkhead bulkhead;
+  private final CircuitBreaker circuitBreaker;
+
+  public ReactiveUserServiceClient(
+      WebClient.Builder webClientBuilder,
+      ReactiveUserServiceProperties properties,
+      @Qualifier("reactiveUserServiceBulkhead") Bulkhead bulkhead,
+      CircuitBreaker userServiceCircuitBreaker,
+      @Value("${userservice.url}") String baseUrl,
+      @Value("${security.jwt.secret-key}") String internalSecretKey) {
+    this.properties = properties;
+    this.bulkhead = bulkhead;
+    this.circuitBreaker = userServiceCircuitBreaker;
+    int maxConcurrentCalls = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+    ConnectionProvider connectionProvider =
+        ConnectionProvider.builder("userservice")
+            .maxConnections(maxConcurrentCalls)
+            .pendingAcquireMaxCount(maxConcurrentCalls)
+            .pendingAcquireTimeout(properties.timeout())
+            .build();
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) properties.connectTimeout().toMillis())
+            .responseTimeout(properties.timeout());
+    this.webClient =
+        webClientBuilder
+            .baseUrl(baseUrl)
+            .defaultHeader("X-Internal-Secret", internalSecretKey)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+  }
+
+  /**
+   * Retrieves the user with the given email address.
+   *
+   * @param email the email address of the user
+   * @return the user, or an error with {@link RetrieveUserException} if it cannot be retrieved
+   */
+  public Mono<UserDto> getUserByEmail(String email) {
+    return webClient
+        .get()
+        .uri(
+            uri ->
+                uri.path("/api/v1/users")
+                    .queryParam("filter", "email")
+                    .queryParam("email", "{email}")
+                    .build(email))
+        .retrieve()
+        .bodyToFlux(UserDto.class)
+        .next()
+        .timeout(properties.timeout())
+        .transformDeferred(BulkheadOperator.of(bulkhead))
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .switchIfEmpty(Mono.error(() -> notFound(email)))
+        .onErrorMap(error -> !(error instanceof RetrieveUserException), error -> map(email, error));
+  }
+
+  private RetrieveUserException map(String email, Throwable error) {
+    if (error instanceof CallNotPermittedException) {
+      return new RetrieveUserException(
+          "User Service is currently unavailable. Please try again later.", error);
+    }
+    if (error instanceof BulkheadFullException) {
+      return new RetrieveUserException(
+          "Too many concurrent requests to User Service. Please try again later.", error);
+    }
+    if (error instanceof WebClientResponseException response) {
+      return response.getStatusCode() == HttpStatus.NOT_FOUND
+          ? notFound(email)
+          : new RetrieveUserException(
+              "Communication error with User Service: " + response.getMessage(), response);
+    }
+    if (error instanceof TimeoutException) {
+      return new RetrieveUserException(
+          "User Service did not respond within %d ms".formatted(properties.timeout().toMillis()),
+          error);
+    }
+    return new RetrieveUserException(
+        "An unexpected error occurred while retrieving user: " + error.getMessage(), error);
+  }
+
+  private static RetrieveUserException notFound(String email) {
+    return new RetrieveUserException("User with email '%s' not found".formatted(email));
+  }
+}
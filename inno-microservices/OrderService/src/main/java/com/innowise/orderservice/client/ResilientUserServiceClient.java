@@ -0,0 +1,198 @@
+package com.innowise.orderservice.client;
+
+import com.innowise.orderservice.config.UserServiceCallProperties;
+import com.innowise.orderservice.exception.UserServiceTimeoutException;
+import com.innowise.orderservice.model.dto.UserDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calls {@link UserServiceClient} with adaptive timeouts, optional hedging and a bulkhead.
+ *
+ * <p>The latencies of successful calls are kept in a {@link LatencyWindow}. Once enough of them
+ * are recorded, a call is abandoned after its p99 latency times {@code timeout-multiplier}, within
+ * {@code [min-timeout, max-timeout]}; before that {@code max-timeout} applies. With hedging
+ * enabled, a second call is fired when the first has not answered after the p95 latency, and
+ * whichever succeeds first is returned. A failure of the first call is returned as is; a failure of
+ * the hedged call is ignored.
+ *
+ * <p>Every call, hedged ones included, takes a slot of the {@code user-service} bulkhead; {@link
+ * ReactiveUserServiceClient} has a bulkhead of its own. A first call waits up to {@code max-wait}
+ * for a slot and fails with {@link io.github.resilience4j.bulkhead.BulkheadFullException} otherwise; a
+ * hedged call is only fired when a slot is free. Abandoned calls keep their slot until the Feign
+ * read timeout ends them.
+ *
+ * <p>Hedges are counted in {@code order.userservice.hedges} tagged with {@code result=fired} or
+ * {@code result=won}; the current timeout and hedge delay are published as gauges.
+ */
+@Slf4j
+@Component
+public class ResilientUserServiceClient {
+  private final UserServiceClient delegate;
+  private final UserServiceCallProperties properties;
+  private final LatencyWindow latencies;
+  private final Bulkhead bulkhead;
+  private final ExecutorService executor;
+  private final Counter hedgesFired;
+  private final Counter hedgesWon;
+
+  public ResilientUserServiceClient(
+      UserServiceClient delegate,
+      UserServiceCallProperties properties,
+      @Qualifier("userServiceBulkhead") Bulkhead userServiceBulkhead,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.properties = properties;
+    this.latencies = new LatencyWindow(properties.window());
+    this.bulkhead = userServiceBulkhead;
+    this.executor =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("userservice-call-", 0).factory());
+    this.hedgesFired = meterRegistry.counter("order.userservice.hedges", "result", "fired");
+    this.hedgesWon = meterRegistry.counter("order.userservice.hedges", "result", "won");
+    Gauge.builder("order.userservice.timeout", this, client -> client.timeout().toMillis())
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("order.userservice.hedge.delay", this, client -> client.hedgeDelay().toMillis())
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder(
+            "order.userservice.bulkhead.available",
+            bulkhead,
+            b -> b.getMetrics().getAvailableConcurrentCalls())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Retrieves users from the User Service, see {@link UserServiceClient#getUserByEmail(String,
+   * String)}.
+   *
+   * @param filter the name of the filter
+   * @param email the email address of the user
+   * @return the matching users
+   * @throws UserServiceTimeoutException if no answer arrives within the adaptive timeout
+   * @throws io.github.resilience4j.bulkhead.BulkheadFullException if too many calls are in flight
+   */
+  public List<UserDto> getUserByEmail(String filter, String email) {
+    Duration timeout = timeout();
+    bulkhead.acquirePermission();
+    CompletableFuture<List<UserDto>> primary = submit(filter, email);
+    CompletableFuture<List<UserDto>> result =
+        properties.hedging() && latencies.size() >= properties.minSamples()
+            ? hedge(primary, filter, email)
+            : primary;
+    try {
+      return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw new UserServiceTimeoutException(
+          "User Service did not respond within %d ms".formatted(timeout.toMillis()), e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UserServiceTimeoutException("Interrupted while waiting for User Service", e);
+    }
+  }
+
+  /**
+   * The time a call is waited for: the p99 latency times the multiplier, clamped to the configured
+   * bounds, or the upper bound while too few latencies are known.
+   *
+   * @return the current timeout
+   */
+  public Duration timeout() {
+    if (latencies.size() < properties.minSamples()) {
+      return properties.maxTimeout();
+    }
+    long nanos = (long) (latencies.percentile(0.99) * properties.timeoutMultiplier());
+    return Duration.ofNanos(
+        Math.clamp(
+            nanos, properties.minTimeout().toNanos(), properties.maxTimeout().toNanos()));
+  }
+
+  /**
+   * The time after which a hedged call is fired: the p95 latency, never below the minimum.
+   *
+   * @return the current hedge delay
+   */
+  public Duration hedgeDelay() {
+    return Duration.ofNanos(
+        Math.max(latencies.percentile(0.95), properties.minHedgeDelay().toNanos()));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /** Runs one call in a bulkhead slot that the caller has already acquired. */
+  private CompletableFuture<List<UserDto>> submit(String filter, String email) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          long start = System.nanoTime();
+          try {
+            List<UserDto> users = delegate.getUserByEmail(filter, email);
+            latencies.record(System.nanoTime() - start);
+            return users;
+          } finally {
+            bulkhead.onComplete();
+          }
+        },
+        executor);
+  }
+
+  private CompletableFuture<List<UserDto>> hedge(
+      CompletableFuture<List<UserDto>> primary, String filter, String email) {
+    CompletableFuture<List<UserDto>> result = new CompletableFuture<>();
+    primary.whenComplete(
+        (users, error) -> {
+          if (error == null) {
+            result.complete(users);
+          } else {
+            result.completeExceptionally(error);
+          }
+        });
+    CompletableFuture.delayedExecutor(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS, executor)
+        .execute(
+            () -> {
+              if (result.isDone() || !bulkhead.tryAcquirePermission()) {
+                return;
+              }
+              hedgesFired.increment();
+              submit(filter, email)
+                  .whenComplete(
+                      (users, error) -> {
+                        if (error == null && result.complete(users)) {
+                          hedgesWon.increment();
+                        } else if (error != null) {
+                          log.debug("Hedged User Service call failed: {}", error.getMessage());
+                        }
+                      });
+            });
+    return result;
+  }
+
+  private static RuntimeException unwrap(Throwable error) {
+    Throwable cause =
+        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause instanceof RuntimeException runtime
+        ? runtime
+        : new IllegalStateException("User Service call failed", cause);
+  }
+}
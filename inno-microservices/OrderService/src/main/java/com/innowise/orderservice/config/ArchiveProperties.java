@@ -0,0 +1,24 @@
+package com.innowise.orderservice.config;
+
+import com.innowise.orderservice.model.StatusEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Period;
+import java.util.Set;
+
+/**
+ * Settings of the order archival job.
+ *
+ * @param statuses the statuses of finished orders that are archived
+ * @param olderThan how old, by creation date, a finished order must be to be archived
+ * @param batchSize the maximum number of orders moved per transaction
+ * @param maxBatches how many batches one nightly run moves; a larger backlog, e.g. after the job
+ *     is first enabled, is archived over the following nights
+ */
+@ConfigurationProperties(prefix = "order.archive")
+public record ArchiveProperties(
+    @DefaultValue({"DELIVERED", "REFUNDED"}) Set<StatusEnum> statuses,
+    @DefaultValue("6m") Period olderThan,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("100") int maxBatches) {}
@@ -0,0 +1,31 @@
+package com.innowise.orderservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Defines the executor that completes asynchronously accepted orders. When its threads and queue
+ * are full a completion is rejected rather than run by the caller: accepted orders are kept in
+ * {@code pending_order_completions}, so a rejected one is completed by the sweep later, and
+ * neither a request thread nor a scheduler thread ever waits on the user service for it.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncOrderConfig {
+
+  private final AsyncOrderProperties properties;
+
+  @Bean
+  public ThreadPoolTaskExecutor orderCompletionExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.corePoolSize());
+    executor.setMaxPoolSize(properties.maxPoolSize());
+    executor.setQueueCapacity(properties.queueCapacity());
+    executor.setThreadNamePrefix("order-completion-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+}
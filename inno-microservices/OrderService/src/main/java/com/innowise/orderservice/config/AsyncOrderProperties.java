@@ -0,0 +1,32 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the executor that completes asynchronously accepted orders, and of the sweep that
+ * retries the orders it did not complete.
+ *
+ * @param corePoolSize the number of threads kept alive
+ * @param maxPoolSize the maximum number of threads once the queue is full
+ * @param queueCapacity how many accepted orders may wait for a thread; beyond that an order is
+ *     left to the sweep instead of slowing down the accepting request
+ * @param sweepAfter how long after acceptance an order nothing has completed is picked up by the
+ *     sweep; it should exceed the time a completion normally takes
+ * @param sweepBatchSize the maximum number of orders claimed per sweep
+ * @param maxAttempts how many times the sweep tries to complete an order before rejecting it
+ * @param retryBackoff the delay between the first two sweep attempts, doubled for every further one
+ * @param maxBackoff the longest delay between two sweep attempts
+ */
+@ConfigurationProperties(prefix = "order.async")
+public record AsyncOrderProperties(
+    @DefaultValue("4") int corePoolSize,
+    @DefaultValue("16") int maxPoolSize,
+    @DefaultValue("1000") int queueCapacity,
+    @DefaultValue("30s") Duration sweepAfter,
+    @DefaultValue("100") int sweepBatchSize,
+    @DefaultValue("10") int maxAttempts,
+    @DefaultValue("2s") Duration retryBackoff,
+    @DefaultValue("5m") Duration maxBackoff) {}
@@ -14,6 +14,9 @@ public class KafkaConfig {
 
   @Bean
   public NewTopic orderTopic() {
-    return TopicBuilder.name(topicProperties.created()).build();
+    return TopicBuilder.name(topicProperties.created())
+        .partitions(topicProperties.partitions())
+        .replicas(topicProperties.replicas())
+        .build();
   }
 }
@@ -1,6 +1,16 @@
 package com.innowise.orderservice.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
+/**
+ * Topics owned by the order service.
+ *
+ * @param created the order-created topic
+ * @param partitions the partition count of the order-created topic; bounds how many consumers of
+ *     one group can read it in parallel
+ * @param replicas the replication factor of the order-created topic
+ */
 @ConfigurationProperties(prefix = "kafka.topic.order")
-public record KafkaTopicProperties(String created) {}
+public record KafkaTopicProperties(
+    String created, @DefaultValue("6") int partitions, @DefaultValue("1") short replicas) {}
@@ -0,0 +1,15 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the NDJSON order export.
+ *
+ * @param timeout how long an export request may stream before it is cut off; it applies to the
+ *     export endpoint only, other async requests keep the container default
+ */
+@ConfigurationProperties(prefix = "order.export")
+public record OrderExportProperties(@DefaultValue("10m") Duration timeout) {}
@@ -0,0 +1,22 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the order status stream.
+ *
+ * @param timeout how long a subscription stays open before the client has to reconnect
+ * @param bufferSize how many orders with undelivered updates a subscriber may have before it is
+ *     disconnected as too slow
+ * @param replayLimit how many of the user's most recent orders are sent on connect
+ * @param senderThreads the number of threads writing events to subscribers
+ */
+@ConfigurationProperties(prefix = "order.stream")
+public record OrderStreamProperties(
+    @DefaultValue("30m") Duration timeout,
+    @DefaultValue("256") int bufferSize,
+    @DefaultValue("100") int replayLimit,
+    @DefaultValue("2") int senderThreads) {}
@@ -0,0 +1,20 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the transactional outbox relay.
+ *
+ * @param batchSize the maximum number of events sent to Kafka per relay run
+ * @param sendTimeout how long to wait for Kafka to acknowledge a batch
+ * @param claimTimeout how long a claimed batch is reserved for the relay that claimed it; must
+ *     exceed {@code sendTimeout}, after which an unacknowledged event can be claimed again
+ */
+@ConfigurationProperties(prefix = "outbox.relay")
+public record OutboxProperties(
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("10s") Duration sendTimeout,
+    @DefaultValue("30s") Duration claimTimeout) {}
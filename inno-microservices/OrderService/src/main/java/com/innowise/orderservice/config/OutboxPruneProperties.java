@@ -0,0 +1,20 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job that removes published outbox events.
+ *
+ * @param retention how long a published event is kept, e.g. for replaying it by hand
+ * @param batchSize the maximum number of events removed per transaction
+ * @param maxBatches the number of batches after which a run stops and leaves the rest to the next
+ *     hourly run
+ */
+@ConfigurationProperties(prefix = "outbox.prune")
+public record OutboxPruneProperties(
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("50") int maxBatches) {}
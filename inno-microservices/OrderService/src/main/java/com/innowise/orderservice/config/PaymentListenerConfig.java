@@ -0,0 +1,34 @@
+package com.innowise.orderservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Defines the executor that runs the lanes of a payment batch. It has one thread per lane and a
+ * queue of one batch; when several listener threads submit at once and the queue is full, the
+ * listener thread runs the lane itself, which only slows that batch down.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PaymentListenerConfig {
+
+  private final PaymentListenerProperties properties;
+
+  @Bean
+  public ThreadPoolTaskExecutor paymentLaneExecutor() {
+    int lanes = Math.max(1, properties.lanes());
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(lanes);
+    executor.setMaxPoolSize(lanes);
+    executor.setQueueCapacity(lanes);
+    executor.setThreadNamePrefix("payment-lane-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+}
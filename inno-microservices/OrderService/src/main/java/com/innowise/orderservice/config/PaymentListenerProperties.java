@@ -0,0 +1,15 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the payment-created listener.
+ *
+ * @param batchEnabled whether payment events are consumed in batches
+ * @param lanes how many key-ordered lanes a batch is split into; {@code 1} processes the batch on
+ *     the listener thread
+ */
+@ConfigurationProperties(prefix = "kafka.listener.payment")
+public record PaymentListenerProperties(
+    @DefaultValue("false") boolean batchEnabled, @DefaultValue("1") int lanes) {}
@@ -0,0 +1,20 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job that removes old entries of the processed payment event table.
+ *
+ * @param retention how long a processed payment id is kept; it must exceed the retention of the
+ *     payment topic, or an event redelivered after its id was removed would be applied twice
+ * @param batchSize the maximum number of entries removed per transaction
+ * @param maxBatches caps the rows one run deletes at {@code batchSize * maxBatches}
+ */
+@ConfigurationProperties(prefix = "processed-events.prune")
+public record ProcessedEventPruneProperties(
+    @DefaultValue("14d") Duration retention,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("50") int maxBatches) {}
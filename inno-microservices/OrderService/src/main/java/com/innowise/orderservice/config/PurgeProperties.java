@@ -0,0 +1,19 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job that removes soft-deleted orders.
+ *
+ * @param olderThan how long ago an order must have been deleted to be removed
+ * @param batchSize the maximum number of orders removed per transaction
+ * @param maxBatches how many batches a single purge run removes before yielding to the next one
+ */
+@ConfigurationProperties(prefix = "order.purge")
+public record PurgeProperties(
+    @DefaultValue("1h") Duration olderThan,
+    @DefaultValue("200") int batchSize,
+    @DefaultValue("50") int maxBatches) {}
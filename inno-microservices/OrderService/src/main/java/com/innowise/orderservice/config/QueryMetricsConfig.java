@@ -0,0 +1,50 @@
+package com.innowise.orderservice.config;
+
+import com.innowise.orderservice.datasource.QueryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the {@code dataSource} bean, the single pool or the replica routing proxy, so that every
+ * statement passes through {@link QueryMetricsListener}. The pools inside stay reachable through
+ * {@link DataSource#unwrap}, which keeps the HikariCP metrics working.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.query-metrics.enabled", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+  private static final String DATA_SOURCE_BEAN = "dataSource";
+
+  @Bean
+  public static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry,
+      ObjectProvider<QueryMetricsProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+          return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name(beanName)
+            .listener(new QueryMetricsListener(meterRegistry.getObject(), properties.getObject()))
+            .build();
+      }
+    };
+  }
+
+  /** Stops new query shapes from creating timers once {@code maxShapes} of them exist. */
+  @Bean
+  public MeterFilter queryShapeLimit(QueryMetricsProperties properties) {
+    return MeterFilter.maximumAllowableTags(
+        QueryMetricsListener.METER, "query", properties.maxShapes(), MeterFilter.deny());
+  }
+}
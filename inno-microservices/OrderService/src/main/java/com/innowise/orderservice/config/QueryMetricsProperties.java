@@ -0,0 +1,24 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the per-query timing and the slow-query log of the primary data source.
+ *
+ * @param enabled whether JDBC statements are timed at all
+ * @param slowQueryThreshold the execution time from which a statement is logged as slow
+ * @param redactParameters whether the slow-query log shows only the types of bind parameters
+ *     instead of their values
+ * @param maxShapes how many distinct query shapes get their own timer, later shapes are dropped
+ * @param maxShapeLength the length a query shape is cut at before it is used as a tag
+ */
+@ConfigurationProperties(prefix = "order.query-metrics")
+public record QueryMetricsProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("500ms") Duration slowQueryThreshold,
+    @DefaultValue("true") boolean redactParameters,
+    @DefaultValue("200") int maxShapes,
+    @DefaultValue("512") int maxShapeLength) {}
@@ -0,0 +1,23 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the non-blocking User Service client.
+ *
+ * @param timeout how long a single lookup may take
+ * @param connectTimeout how long opening a connection may take
+ * @param concurrency how many distinct users of one page are looked up at the same time; kept well
+ *     below {@code maxConcurrentCalls} so that one page cannot take all of the slots
+ * @param maxConcurrentCalls the limit of lookups in flight across all requests, enforced by the
+ *     {@code user-service-reactive} bulkhead and also the size of the connection pool
+ */
+@ConfigurationProperties(prefix = "userservice.reactive")
+public record ReactiveUserServiceProperties(
+    @DefaultValue("3s") Duration timeout,
+    @DefaultValue("500ms") Duration connectTimeout,
+    @DefaultValue("8") int concurrency,
+    @DefaultValue("16") int maxConcurrentCalls) {}
@@ -0,0 +1,33 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of read-only transaction routing to PostgreSQL replicas. Routing is only set up when at
+ * least one replica is configured.
+ *
+ * @param replicas the replicas read-only transactions may be sent to
+ * @param maxLag the replication lag above which a replica stops receiving reads
+ * @param stickiness how long reads of a client stay on the primary after it wrote
+ * @param poolSize the maximum size of each replica connection pool
+ */
+@ConfigurationProperties(prefix = "order.datasource")
+public record ReplicaProperties(
+    @DefaultValue List<Replica> replicas,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("5s") Duration stickiness,
+    @DefaultValue("10") int poolSize) {
+
+  /**
+   * A replica connection. Missing credentials default to those of the primary.
+   *
+   * @param url the JDBC URL of the replica
+   * @param username the user to connect as
+   * @param password the password of the user
+   */
+  public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,96 @@
+package com.innowise.orderservice.config;
+
+import com.innowise.orderservice.datasource.ReadWriteRoutingDataSource;
+import com.innowise.orderservice.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only transactions to the
+ * configured replicas. Without {@code order.datasource.replicas[0].url} the service keeps using a
+ * single primary data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.datasource.replicas[0].url")
+public class ReplicaRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties primaryProperties,
+      ReplicaProperties replicaProperties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    List<ReplicaProperties.Replica> replicas = replicaProperties.replicas();
+    List<HikariDataSource> replicaDataSources =
+        IntStream.range(0, replicas.size())
+            .mapToObj(
+                index ->
+                    replicaDataSource(
+                        "replica-" + index,
+                        replicas.get(index),
+                        primaryDataSource,
+                        primaryProperties,
+                        replicaProperties.poolSize(),
+                        meterRegistry))
+            .toList();
+    return new ReadWriteRoutingDataSource(
+        primaryDataSource,
+        replicaDataSources,
+        replicaProperties.maxLag(),
+        replicaProperties.stickiness());
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+    return new ReplicaLagMonitor(readWriteRoutingDataSource);
+  }
+
+  private static HikariDataSource replicaDataSource(
+      String name,
+      ReplicaProperties.Replica replica,
+      HikariDataSource primaryDataSource,
+      DataSourceProperties primaryProperties,
+      int poolSize,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(name);
+    dataSource.setJdbcUrl(replica.url());
+    dataSource.setUsername(
+        Objects.requireNonNullElse(replica.username(), primaryProperties.determineUsername()));
+    dataSource.setPassword(
+        Objects.requireNonNullElse(replica.password(), primaryProperties.determinePassword()));
+    dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+    dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+    dataSource.setMaximumPoolSize(poolSize);
+    dataSource.setReadOnly(true);
+    // replica pools are not beans, so their hikaricp.* meters have to be bound here
+    meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+    return dataSource;
+  }
+}
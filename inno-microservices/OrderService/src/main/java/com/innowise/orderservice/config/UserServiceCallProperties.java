@@ -0,0 +1,32 @@
+package com.innowise.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the calls to the User Service.
+ *
+ * @param window how many of the latest successful call latencies the percentiles are taken from
+ * @param minSamples how many latencies have to be recorded before timeouts become adaptive and
+ *     hedging starts
+ * @param minTimeout the lower bound of the adaptive timeout
+ * @param maxTimeout the upper bound of the adaptive timeout, also used until enough samples exist
+ * @param timeoutMultiplier the factor applied to the p99 latency to get the timeout
+ * @param hedging whether a second call is fired when the first one is slower than the p95 latency
+ * @param minHedgeDelay the lower bound of the delay before a hedged call is fired
+ * @param maxConcurrentCalls the bulkhead limit of calls in flight, hedged calls included
+ * @param maxWait how long a call waits for a free bulkhead slot before it is rejected
+ */
+@ConfigurationProperties(prefix = "userservice.call")
+public record UserServiceCallProperties(
+    @DefaultValue("256") int window,
+    @DefaultValue("20") int minSamples,
+    @DefaultValue("200ms") Duration minTimeout,
+    @DefaultValue("3s") Duration maxTimeout,
+    @DefaultValue("2.0") double timeoutMultiplier,
+    @DefaultValue("false") boolean hedging,
+    @DefaultValue("10ms") Duration minHedgeDelay,
+    @DefaultValue("32") int maxConcurrentCalls,
+    @DefaultValue("100ms") Duration maxWait) {}
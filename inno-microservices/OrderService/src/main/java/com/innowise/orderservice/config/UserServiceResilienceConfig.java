@@ -0,0 +1,50 @@
+package com.innowise.orderservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Defines the bulkheads and the circuit breaker of the User Service clients.
+ *
+ * <p>Both clients trip the same {@code user-service} circuit breaker, the one configured under
+ * {@code resilience4j.circuitbreaker.instances.user-service}, so an outage seen by one path stops
+ * the other as well. Each client has its own bulkhead: the blocking one may wait briefly for a
+ * slot, while the non-blocking one runs on event loop threads that must never wait, so its
+ * bulkhead rejects at once when it is full.
+ */
+@Configuration
+public class UserServiceResilienceConfig {
+  public static final String USER_SERVICE = "user-service";
+  public static final String USER_SERVICE_REACTIVE = "user-service-reactive";
+
+  @Bean
+  public Bulkhead userServiceBulkhead(UserServiceCallProperties properties) {
+    return Bulkhead.of(
+        USER_SERVICE,
+        BulkheadConfig.custom()
+            .maxConcurrentCalls(properties.maxConcurrentCalls())
+            .maxWaitDuration(properties.maxWait())
+            .build());
+  }
+
+  @Bean
+  public Bulkhead reactiveUserServiceBulkhead(ReactiveUserServiceProperties properties) {
+    return Bulkhead.of(
+        USER_SERVICE_REACTIVE,
+        BulkheadConfig.custom()
+            .maxConcurrentCalls(properties.maxConcurrentCalls())
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+  }
+
+  @Bean
+  public CircuitBreaker userServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+    return circuitBreakerRegistry.circuitBreaker(USER_SERVICE);
+  }
+}
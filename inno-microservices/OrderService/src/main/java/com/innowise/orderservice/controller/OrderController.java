@@ -1,10 +1,20 @@
 package com.innowise.orderservice.controller;
 
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.BulkStatusResult;
+import com.innowise.orderservice.model.dto.BulkStatusUpdate;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
 import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderSearchQuery;
+import com.innowise.orderservice.model.dto.OrderSearchResult;
 import com.innowise.orderservice.model.dto.OrderUserDto;
+import com.innowise.orderservice.model.dto.UserOrderSummary;
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.service.impl.OrderExportService;
+import com.innowise.orderservice.service.impl.OrderSearchService;
 import com.innowise.orderservice.service.impl.OrderService;
+import com.innowise.orderservice.service.impl.OrderStatusHub;
+import com.innowise.orderservice.service.impl.ReactiveOrderService;
 import com.innowise.orderservice.util.OrderSpecifications;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,10 +22,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -23,23 +36,75 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
+  private static final String NDJSON = "application/x-ndjson";
+  private static final String EXCLUDE_USER = "user";
+
   private final OrderService orderService;
+  private final OrderExportService orderExportService;
+  private final OrderStatusHub orderStatusHub;
+  private final OrderSearchService orderSearchService;
+  private final ReactiveOrderService reactiveOrderService;
 
   @PostMapping
   public ResponseEntity<OrderUserDto> create(@Valid @RequestBody OrderDto dto) {
     return ResponseEntity.status(HttpStatus.CREATED).body(orderService.create(dto));
   }
 
+  /**
+   * Accepts an order without waiting for the user service and returns 202 with the order's status
+   * URL in {@code Location}. The order is created as PENDING and moves to REJECTED if the user
+   * cannot be confirmed.
+   */
+  @PostMapping("/async")
+  public ResponseEntity<OrderDto> createAsync(@Valid @RequestBody OrderDto dto) {
+    OrderDto accepted = orderService.acceptAsync(dto);
+    URI statusUrl =
+        ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/v1/orders/{id}")
+            .buildAndExpand(accepted.id())
+            .toUri();
+    return ResponseEntity.accepted().location(statusUrl).body(accepted);
+  }
+
+  /**
+   * Returns the order with a strong {@code ETag} and a {@code Last-Modified} header. A request
+   * whose {@code If-None-Match}, or in its absence {@code If-Modified-Since}, still matches gets 304
+   * Not Modified before the order and its items are loaded.
+   *
+   * <p>{@code Last-Modified} is the time the order row last changed. The embedded user has no
+   * modification time, so a change to the user alone only shows in the {@code ETag}; clients that
+   * need to notice it should revalidate with {@code If-None-Match}, which takes precedence.
+   */
   @GetMapping("/{id}")
-  public ResponseEntity<OrderUserDto> findById(@PathVariable Long id) {
-    return ResponseEntity.ok(orderService.findById(id));
+  public ResponseEntity<OrderUserDto> findById(@PathVariable Long id, WebRequest request) {
+    return orderService
+        .findVersionedById(
+            id,
+            (etag, lastModified) -> request.checkNotModified(etag, lastModified.toEpochMilli()))
+        .map(
+            order ->
+                ResponseEntity.ok()
+                    .eTag(order.etag())
+                    .lastModified(order.lastModified())
+                    .body(order.order()))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
   }
 
   @GetMapping
@@ -49,14 +114,157 @@ public class OrderController {
       @PageableDefault Pageable pageable) {
     Specification<Order> specification =
         Specification.allOf(
-            OrderSpecifications.hasIdIn(ids), OrderSpecifications.hasStatusIn(statuses));
+            OrderSpecifications.isNotDeleted(),
+            OrderSpecifications.hasIdIn(ids),
+            OrderSpecifications.hasStatusIn(statuses));
     return ResponseEntity.ok(orderService.findBySpecification(specification, pageable));
   }
 
+  /**
+   * Lists orders newest first through the projection read path. Like {@link #scroll}, it pages by
+   * continuation token: pass the {@code nextCursor} of a response as {@code cursor} to read the
+   * following window.
+   */
+  @GetMapping("/projected")
+  public ResponseEntity<OrderCursorPage> findProjected(
+      @RequestParam(required = false) Collection<Long> ids,
+      @RequestParam(required = false) Collection<StatusEnum> statuses,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(orderService.findProjected(ids, statuses, cursor, size));
+  }
+
+  /**
+   * Same as {@link #findById(Long)}, but the user is fetched without blocking the request thread.
+   */
+  @GetMapping("/reactive/{id}")
+  public Mono<OrderUserDto> findByIdReactive(@PathVariable Long id) {
+    return reactiveOrderService.findById(id);
+  }
+
+  /**
+   * Same as {@link #findProjected(Collection, Collection, String, int)}, but users are fetched
+   * without blocking the request thread, and orders whose user cannot be retrieved are returned
+   * with {@code userDto} set to {@code null} instead of failing the whole window.
+   */
+  @GetMapping("/reactive")
+  public Mono<OrderCursorPage> findReactive(
+      @RequestParam(required = false) Collection<Long> ids,
+      @RequestParam(required = false) Collection<StatusEnum> statuses,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return reactiveOrderService.findProjected(ids, statuses, cursor, size);
+  }
+
+  /**
+   * Lists archived orders newest first, paged by continuation token like {@link #findProjected}.
+   * Finished orders older than {@code order.archive.older-than} are only returned here once the
+   * archival job has moved them.
+   */
+  @GetMapping("/archived")
+  public ResponseEntity<OrderCursorPage> findArchived(
+      @RequestParam(required = false) Long userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    return ResponseEntity.ok(orderService.findArchived(userId, cursor, size));
+  }
+
+  @GetMapping("/archived/{id}")
+  public ResponseEntity<OrderUserDto> findArchivedById(@PathVariable Long id) {
+    return ResponseEntity.ok(orderService.findArchivedById(id));
+  }
+
+  @GetMapping("/scroll")
+  public ResponseEntity<OrderCursorPage> scroll(
+      @RequestParam(required = false) Collection<Long> ids,
+      @RequestParam(required = false) Collection<StatusEnum> statuses,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    Specification<Order> specification =
+        Specification.allOf(
+            OrderSpecifications.isNotDeleted(),
+            OrderSpecifications.hasIdIn(ids),
+            OrderSpecifications.hasStatusIn(statuses));
+    return ResponseEntity.ok(orderService.scrollBySpecification(specification, cursor, size));
+  }
+
+  /**
+   * Searches orders by free text over item names and user email, email, creation date range,
+   * total amount and status. Facet counts by status and creation month cover all matching orders.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<OrderSearchResult> search(
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) String email,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) BigDecimal minAmount,
+      @RequestParam(required = false) BigDecimal maxAmount,
+      @RequestParam(required = false) Collection<StatusEnum> statuses,
+      @PageableDefault Pageable pageable) {
+    OrderSearchQuery query =
+        new OrderSearchQuery(q, email, from, to, minAmount, maxAmount, statuses);
+    return ResponseEntity.ok(orderSearchService.search(query, pageable));
+  }
+
+  @GetMapping("/summary")
+  public ResponseEntity<UserOrderSummary> summary(@RequestParam Long userId) {
+    return ResponseEntity.ok(orderService.findSummaryByUserId(userId));
+  }
+
+  /**
+   * Streams status changes of the user's orders as Server-Sent Events, starting with the current
+   * status of the user's most recent orders.
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamStatuses(@RequestParam Long userId) {
+    return orderStatusHub.subscribe(userId);
+  }
+
+  /**
+   * Streams every matching order as NDJSON. The request may run for {@code order.export.timeout};
+   * other async endpoints keep the container's default timeout.
+   */
+  @GetMapping(value = "/export", produces = NDJSON)
+  public ResponseEntity<ResponseBodyEmitter> export(
+      @RequestParam(required = false) Collection<Long> ids,
+      @RequestParam(required = false) Collection<StatusEnum> statuses,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    Specification<Order> specification =
+        Specification.allOf(
+            OrderSpecifications.isNotDeleted(),
+            OrderSpecifications.hasIdIn(ids),
+            OrderSpecifications.hasStatusIn(statuses),
+            OrderSpecifications.hasCreationDateBetween(from, to));
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(NDJSON))
+        .body(orderExportService.export(specification));
+  }
+
+  /**
+   * Sets the status of an order. The response embeds the user unless the request names it in
+   * {@code exclude}: {@code PUT /api/v1/orders/{id}?exclude=user} returns the order with a
+   * {@code null} user and saves the call to the User Service. Other {@code exclude} values are
+   * ignored.
+   */
   @PutMapping("/{id}")
-  public ResponseEntity<OrderUserDto> update(@PathVariable Long id, @Valid @RequestBody OrderDto dto) {
-      OrderUserDto orderUserDto = orderService.updateById(id, dto);
-      return ResponseEntity.ok(orderUserDto);
+  public ResponseEntity<OrderUserDto> update(
+      @PathVariable Long id,
+      @Valid @RequestBody OrderDto dto,
+      @RequestParam(required = false) Set<String> exclude) {
+    boolean includeUser = exclude == null || !exclude.contains(EXCLUDE_USER);
+    return ResponseEntity.ok(orderService.updateById(id, dto, includeUser));
+  }
+
+  /**
+   * Moves many orders to one status with a single update. Only transitions allowed by the order
+   * state machine are applied; the response reports the outcome for every order.
+   */
+  @PatchMapping("/status")
+  public ResponseEntity<List<BulkStatusResult>> updateStatuses(
+      @Valid @RequestBody BulkStatusUpdate request) {
+    return ResponseEntity.ok(orderService.updateStatuses(request.ids(), request.status()));
   }
 
   @DeleteMapping("/{id}")
@@ -0,0 +1,90 @@
+package com.innowise.orderservice.datasource;
+
+import com.innowise.orderservice.config.QueryMetricsProperties;
+import com.innowise.orderservice.util.SqlShapes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement under the shape of its SQL and logs statements that run longer than
+ * the configured threshold.
+ *
+ * <p>Timings go to {@value #METER}, tagged with the shape, the kind of statement and whether it
+ * succeeded. Slow statements are logged to the {@code order.slow-query} logger; unless redaction
+ * is switched off only the types of their bind parameters are written, so emails and other user
+ * data stay out of the log.
+ */
+@Slf4j(topic = "order.slow-query")
+@RequiredArgsConstructor
+public class QueryMetricsListener implements QueryExecutionListener {
+
+  public static final String METER = "order.db.query";
+
+  private final MeterRegistry meterRegistry;
+  private final QueryMetricsProperties properties;
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    if (queryInfoList.isEmpty()) {
+      return;
+    }
+    String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    Timer.builder(METER)
+        .tag("query", SqlShapes.of(sql, properties.maxShapeLength()))
+        .tag("type", SqlShapes.type(sql))
+        .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+        .register(meterRegistry)
+        .record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+
+    if (execInfo.getElapsedTime() >= properties.slowQueryThreshold().toMillis()) {
+      logSlowQuery(execInfo, queryInfoList, sql);
+    }
+  }
+
+  private void logSlowQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, String sql) {
+    boolean redact = properties.redactParameters();
+    List<List<ParameterSetOperation>> parameters = queryInfoList.getFirst().getParametersList();
+    log.warn(
+        "Slow query took {} ms{}: {} parameters {}",
+        execInfo.getElapsedTime(),
+        execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+        redact ? SqlShapes.normalize(sql) : sql,
+        parameters.isEmpty() ? "[]" : renderParameters(parameters.getFirst(), redact));
+  }
+
+  /**
+   * Renders one set of bind parameters in the order they were set.
+   *
+   * @param operations the setter calls made on the statement
+   * @param redact whether to render only the type of each value
+   * @return the parameters, e.g. {@code [String, Long]} or {@code [a@b.c, 5]}
+   */
+  public static String renderParameters(List<ParameterSetOperation> operations, boolean redact) {
+    return operations.stream()
+        .map(operation -> renderValue(operation, redact))
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  private static String renderValue(ParameterSetOperation operation, boolean redact) {
+    Object[] args = operation.getArgs();
+    if (ParameterSetOperation.isSetNullParameterOperation(operation)
+        || args.length < 2
+        || args[1] == null) {
+      return "null";
+    }
+    return redact ? args[1].getClass().getSimpleName() : String.valueOf(args[1]);
+  }
+}
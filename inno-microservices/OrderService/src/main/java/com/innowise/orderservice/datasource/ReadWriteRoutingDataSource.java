@@ -0,0 +1,153 @@
+package com.innowise.orderservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to PostgreSQL replicas and everything else to the primary.
+ *
+ * <p>A replica only receives reads while its last measured replication lag is within the
+ * configured limit; when no replica qualifies, reads fall back to the primary. Reads of a client
+ * that has just written stay on the primary, see {@link ReadYourWritesTracker}.
+ *
+ * <p>The routing decision is made when a physical connection is fetched, so this data source has
+ * to be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the transaction is marked read-only, and
+ * the proxy defers fetching it until the first statement.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource
+    implements AutoCloseable {
+  static final String PRIMARY = "primary";
+
+  // received = replayed only means "caught up" while the WAL receiver is streaming; a replica
+  // whose receiver has stopped replays everything it got and then looks lag-free forever
+  private static final String LAG_QUERY =
+      """
+      SELECT CASE
+          WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')
+              THEN NULL
+          WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+          ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+      END
+      """;
+
+  private final List<Replica> replicas;
+  private final Duration maxLag;
+  private final ReadYourWritesTracker readYourWrites;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReadWriteRoutingDataSource(
+      HikariDataSource primary,
+      List<HikariDataSource> replicaDataSources,
+      Duration maxLag,
+      Duration stickiness) {
+    this.replicas =
+        replicaDataSources.stream()
+            .map(dataSource -> new Replica(dataSource.getPoolName(), dataSource))
+            .toList();
+    this.maxLag = maxLag;
+    this.readYourWrites = new ReadYourWritesTracker(stickiness, Clock.systemUTC());
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (TransactionSynchronizationManager.isActualTransactionActive()) {
+        readYourWrites.recordWrite();
+      }
+      return PRIMARY;
+    }
+    if (readYourWrites.isPinned()) {
+      return PRIMARY;
+    }
+
+    List<Replica> eligible =
+        replicas.stream().filter(replica -> replica.isWithin(maxLag)).toList();
+    if (eligible.isEmpty()) {
+      return PRIMARY;
+    }
+    return eligible.get(Math.floorMod(next.getAndIncrement(), eligible.size())).name;
+  }
+
+  /**
+   * Measures the replication lag of every replica. A replica that cannot be queried, or whose WAL
+   * receiver is not streaming from the primary, is taken out of rotation until the next successful
+   * measurement.
+   */
+  public void refreshLag() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection();
+          Statement statement = connection.createStatement();
+          ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+        resultSet.next();
+        long lagMillis = resultSet.getLong(1);
+        if (resultSet.wasNull()) {
+          markUnavailable(replica, "WAL receiver is not streaming");
+        } else {
+          replica.lag = Duration.ofMillis(lagMillis);
+        }
+      } catch (SQLException e) {
+        markUnavailable(replica, e.toString());
+      }
+    }
+  }
+
+  private static void markUnavailable(Replica replica, String reason) {
+    if (replica.lag != null) {
+      log.warn("Replica {} is unavailable, reads go elsewhere: {}", replica.name, reason);
+    }
+    replica.lag = null;
+  }
+
+  /**
+   * @return the last measured lag per replica; replicas that could not be measured are absent
+   */
+  public Map<String, Duration> replicationLag() {
+    Map<String, Duration> lag = new HashMap<>();
+    replicas.stream()
+        .filter(replica -> replica.lag != null)
+        .forEach(replica -> lag.put(replica.name, replica.lag));
+    return lag;
+  }
+
+  @Override
+  public void close() {
+    replicas.forEach(replica -> replica.dataSource.close());
+  }
+
+  private static final class Replica {
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile Duration lag;
+
+    private Replica(String name, HikariDataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    private boolean isWithin(Duration maxLag) {
+      Duration current = lag;
+      return current != null && current.compareTo(maxLag) <= 0;
+    }
+  }
+}
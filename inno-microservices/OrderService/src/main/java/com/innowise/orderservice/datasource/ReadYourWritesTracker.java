@@ -0,0 +1,89 @@
+package com.innowise.orderservice.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a while after it wrote, so it never reads a replica
+ * that has not caught up with its own change yet.
+ *
+ * <p>A write made while serving an HTTP request sets a cookie holding the time until which the
+ * client is pinned to the primary; the cookie travels with the client's next requests, whichever
+ * instance serves them. Work outside of a request, such as Kafka listeners and scheduled jobs, is
+ * never pinned.
+ */
+class ReadYourWritesTracker {
+  static final String COOKIE_NAME = "order-primary-until";
+  private static final String PINNED_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".pinned";
+  private static final String WRITTEN_ATTRIBUTE =
+      ReadYourWritesTracker.class.getName() + ".written";
+
+  private final Duration stickiness;
+  private final Clock clock;
+
+  ReadYourWritesTracker(Duration stickiness, Clock clock) {
+    this.stickiness = stickiness;
+    this.clock = clock;
+  }
+
+  /** Pins the current request and the client's following requests to the primary. */
+  void recordWrite() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs)) {
+      return;
+    }
+    if (attrs.getAttribute(WRITTEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+      return;
+    }
+    attrs.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    attrs.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+    HttpServletResponse response = attrs.getResponse();
+    if (response != null && !response.isCommitted()) {
+      Cookie cookie =
+          new Cookie(COOKIE_NAME, String.valueOf(clock.millis() + stickiness.toMillis()));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+      response.addCookie(cookie);
+    }
+  }
+
+  /**
+   * @return whether reads of the current request have to go to the primary
+   */
+  boolean isPinned() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs)) {
+      return false;
+    }
+    Object pinned = attrs.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (pinned == null) {
+      pinned = hasUnexpiredCookie(attrs.getRequest());
+      attrs.setAttribute(PINNED_ATTRIBUTE, pinned, RequestAttributes.SCOPE_REQUEST);
+    }
+    return (Boolean) pinned;
+  }
+
+  private boolean hasUnexpiredCookie(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue()) > clock.millis();
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,16 @@
+package com.innowise.orderservice.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/** Periodically refreshes the replication lag used by {@link ReadWriteRoutingDataSource}. */
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+  private final ReadWriteRoutingDataSource dataSource;
+
+  @Scheduled(fixedDelayString = "${order.datasource.lag-check-interval-ms:1000}")
+  public void refresh() {
+    dataSource.refreshLag();
+  }
+}
@@ -52,18 +52,38 @@ public class CustomExceptionHandler {
   }
 
   /**
-   * Handles custom {@link UpdateException} and {@link CredentialsMismatchException} errors.
+   * Handles custom {@link UpdateException}, {@link CredentialsMismatchException} and {@link
+   * InvalidCursorException} errors.
    *
-   * @param ex the exception indicating a failed update operation or credentials mismatch
+   * @param ex the exception indicating a failed update operation, credentials mismatch or a
+   *     malformed continuation token
    * @return a {@link ResponseEntity} with status 400 (Bad Request) and a map containing the error
    *     message and a timestamp
    */
-  @ExceptionHandler({UpdateException.class, CredentialsMismatchException.class})
+  @ExceptionHandler({
+    UpdateException.class,
+    CredentialsMismatchException.class,
+    InvalidCursorException.class
+  })
   public ResponseEntity<Map<String, String>> handleUpdateException(RuntimeException ex) {
     Map<String, String> body = getGeneralBody(ex);
     return ResponseEntity.badRequest().body(body);
   }
 
+  /**
+   * Handles custom {@link IllegalStatusTransitionException} errors.
+   *
+   * @param ex the exception indicating that the order cannot move to the requested status
+   * @return a {@link ResponseEntity} with status 409 (Conflict) and a map containing the error
+   *     message and a timestamp
+   */
+  @ExceptionHandler(IllegalStatusTransitionException.class)
+  public ResponseEntity<Map<String, String>> handleIllegalStatusTransitionException(
+      IllegalStatusTransitionException ex) {
+    Map<String, String> body = getGeneralBody(ex);
+    return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+  }
+
   /**
    * Handles custom {@link RetrieveUserException} errors.
    *
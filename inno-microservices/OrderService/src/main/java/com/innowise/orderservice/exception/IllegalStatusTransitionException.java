@@ -0,0 +1,18 @@
+package com.innowise.orderservice.exception;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when an order is asked to move to a status it cannot reach from its current
+ * one, see {@link StatusEnum#canTransitionTo(StatusEnum)}.
+ */
+public class IllegalStatusTransitionException extends UpdateException {
+  private static final String MESSAGE_TEMP = "Order '%d' cannot move from %s to %s";
+  @Serial private static final long serialVersionUID = 4127809316458216537L;
+
+  public IllegalStatusTransitionException(Long id, StatusEnum current, StatusEnum target) {
+    super(MESSAGE_TEMP.formatted(id, current, target));
+  }
+}
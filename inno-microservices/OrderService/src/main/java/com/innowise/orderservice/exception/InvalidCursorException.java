@@ -0,0 +1,19 @@
+package com.innowise.orderservice.exception;
+
+import java.io.Serial;
+
+/** Exception thrown when a continuation token cannot be decoded into a scroll position. */
+public class InvalidCursorException extends RuntimeException {
+  private static final String MESSAGE_TEMP = "Invalid continuation token '%s'";
+  @Serial private static final long serialVersionUID = -5387162064910557324L;
+
+  public InvalidCursorException() {}
+
+  public InvalidCursorException(String token, Throwable cause) {
+    super(MESSAGE_TEMP.formatted(token), cause);
+  }
+
+  public InvalidCursorException(Throwable cause) {
+    super(cause);
+  }
+}
@@ -0,0 +1,22 @@
+package com.innowise.orderservice.exception;
+
+import java.io.Serial;
+
+/** Exception thrown when a batch of outbox events could not be relayed to Kafka. */
+public class OutboxRelayException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 4630173559263170215L;
+
+  public OutboxRelayException() {}
+
+  public OutboxRelayException(String message) {
+    super(message);
+  }
+
+  public OutboxRelayException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public OutboxRelayException(Throwable cause) {
+    super(cause);
+  }
+}
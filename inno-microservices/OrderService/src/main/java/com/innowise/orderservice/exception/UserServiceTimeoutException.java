@@ -0,0 +1,24 @@
+package com.innowise.orderservice.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the User Service does not answer within the adaptive timeout.
+ */
+public class UserServiceTimeoutException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 4821735502618813427L;
+
+  public UserServiceTimeoutException() {}
+
+  public UserServiceTimeoutException(String message) {
+    super(message);
+  }
+
+  public UserServiceTimeoutException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public UserServiceTimeoutException(Throwable cause) {
+    super(cause);
+  }
+}
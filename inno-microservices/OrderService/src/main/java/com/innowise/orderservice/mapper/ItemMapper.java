@@ -23,6 +23,7 @@ public interface ItemMapper {
    * @return the corresponding {@link Item} entity
    */
   @Mapping(target = "orderItems", ignore = true)
+  @Mapping(target = "updatedAt", ignore = true)
   Item toEntity(ItemDto dto);
 
   /**
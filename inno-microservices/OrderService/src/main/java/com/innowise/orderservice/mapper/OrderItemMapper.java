@@ -25,6 +25,7 @@ public interface OrderItemMapper {
    */
   @Mapping(target = "order", ignore = true)
   @Mapping(target = "item", ignore = true)
+  @Mapping(target = "unitPrice", ignore = true)
   OrderItem toEntity(OrderItemDto dto);
 
   /**
@@ -24,6 +24,9 @@ public interface OrderMapper {
    * @param dto the order DTO containing data
    * @return the corresponding {@link Order} entity
    */
+  @Mapping(target = "version", ignore = true)
+  @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "deletedAt", ignore = true)
   Order toEntity(OrderDto dto);
 
   /**
@@ -59,5 +62,8 @@ public interface OrderMapper {
    */
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "orderItems", ignore = true)
+  @Mapping(target = "version", ignore = true)
+  @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "deletedAt", ignore = true)
   void updateEntityFromDto(OrderDto dto, @MappingTarget Order target);
 }
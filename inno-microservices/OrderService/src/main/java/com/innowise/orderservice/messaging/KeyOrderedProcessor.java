@@ -0,0 +1,81 @@
+package com.innowise.orderservice.messaging;
+
+import com.innowise.orderservice.config.PaymentListenerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Processes a batch of records in parallel while keeping the order of records that share a key.
+ *
+ * <p>The batch is split into lanes by key hash. Records of one key always land in the same lane
+ * and keep their relative order, so per-order ordering within a partition is preserved while
+ * different orders are handled concurrently. Lanes run on the {@code paymentLaneExecutor}.
+ *
+ * <p>Commit contract: each lane is handled, and committed, on its own. {@link #process} returns
+ * only after every lane has finished, so the container commits offsets for the whole batch at
+ * once, but a failure in one lane does not roll back the lanes that already committed. The whole
+ * batch is redelivered, including the records of those lanes, so the handler must be idempotent;
+ * for payment events only the {@code processed_payment_events} table makes that redelivery safe.
+ */
+@Slf4j
+@Component
+public class KeyOrderedProcessor {
+
+  private final int lanes;
+  private final TaskExecutor executor;
+
+  public KeyOrderedProcessor(
+      PaymentListenerProperties properties,
+      @Qualifier("paymentLaneExecutor") TaskExecutor executor) {
+    this.lanes = Math.max(1, properties.lanes());
+    this.executor = executor;
+  }
+
+  /**
+   * Hands the records to the handler, one call per non-empty lane.
+   *
+   * @param records the records in partition order
+   * @param keyExtractor extracts the ordering key of a record
+   * @param handler processes the records of one lane in order
+   * @param <T> the record type
+   */
+  public <T> void process(List<T> records, Function<T, ?> keyExtractor, Consumer<List<T>> handler) {
+    if (lanes == 1 || records.size() < 2) {
+      handler.accept(records);
+      return;
+    }
+
+    List<List<T>> buckets = new ArrayList<>(lanes);
+    for (int i = 0; i < lanes; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    for (T record : records) {
+      Object key = keyExtractor.apply(record);
+      buckets.get(Math.floorMod(key == null ? 0 : key.hashCode(), lanes)).add(record);
+    }
+
+    CompletableFuture<?>[] futures =
+        buckets.stream()
+            .filter(bucket -> !bucket.isEmpty())
+            .map(bucket -> CompletableFuture.runAsync(() -> handler.accept(bucket), executor))
+            .toArray(CompletableFuture[]::new);
+
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
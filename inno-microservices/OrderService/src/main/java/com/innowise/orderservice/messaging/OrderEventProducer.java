@@ -5,8 +5,11 @@ import com.innowise.orderservice.messaging.event.OrderCreatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -15,8 +18,9 @@ public class OrderEventProducer {
   private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
   private final KafkaTopicProperties topicProperties;
 
-  public void publishOrderCreated(OrderCreatedEvent event) {
-    kafkaTemplate
+  public CompletableFuture<SendResult<String, OrderCreatedEvent>> publishOrderCreated(
+      OrderCreatedEvent event) {
+    return kafkaTemplate
         .send(topicProperties.created(), event.orderId().toString(), event)
         .whenComplete(
             (result, throwable) -> {
@@ -0,0 +1,58 @@
+package com.innowise.orderservice.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.exception.OutboxRelayException;
+import com.innowise.orderservice.messaging.event.OrderCreatedEvent;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Writes order events into the transactional outbox.
+ *
+ * <p>Events must be enqueued inside the transaction that performs the business change, which is
+ * enforced with {@link Propagation#MANDATORY}. Publishing to Kafka is done afterwards by {@link
+ * OutboxRelay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+  public static final String ORDER_CREATED = "OrderCreated";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueOrderCreated(OrderCreatedEvent event) {
+    try {
+      outboxEventRepository.save(
+          new OutboxEvent(
+              null,
+              event.orderId(),
+              ORDER_CREATED,
+              objectMapper.writeValueAsString(event),
+              Instant.now(),
+              null,
+              null,
+              null));
+    } catch (JsonProcessingException e) {
+      throw new OutboxRelayException(
+          "Failed to serialize order-created event for order " + event.orderId(), e);
+    }
+  }
+
+  public OrderCreatedEvent readOrderCreated(OutboxEvent outboxEvent) {
+    try {
+      return objectMapper.readValue(outboxEvent.getPayload(), OrderCreatedEvent.class);
+    } catch (JsonProcessingException e) {
+      throw new OutboxRelayException(
+          "Failed to deserialize outbox event " + outboxEvent.getId(), e);
+    }
+  }
+}
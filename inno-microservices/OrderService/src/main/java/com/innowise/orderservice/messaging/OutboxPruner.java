@@ -0,0 +1,40 @@
+package com.innowise.orderservice.messaging;
+
+import com.innowise.orderservice.config.OutboxPruneProperties;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import com.innowise.orderservice.util.BatchedRuns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically removes outbox events that were published more than {@link
+ * OutboxPruneProperties#retention()} ago, so the outbox only holds recent history.
+ *
+ * <p>Only published events are removed: events still waiting for the relay, and events parked
+ * because their payload could not be read, are kept regardless of their age.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox.prune", name = "enabled", havingValue = "true")
+public class OutboxPruner {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final OutboxPruneProperties properties;
+
+  @Scheduled(cron = "${outbox.prune.cron:0 45 * * * *}")
+  public void prune() {
+    Instant cutoff = Instant.now().minus(properties.retention());
+    int total =
+        BatchedRuns.drain(
+            () -> outboxEventRepository.pruneBatch(cutoff, properties.batchSize()),
+            properties.batchSize(),
+            properties.maxBatches());
+    log.info("Pruned {} outbox events published before {}", total, cutoff);
+  }
+}
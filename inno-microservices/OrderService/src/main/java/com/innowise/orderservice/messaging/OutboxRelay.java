@@ -0,0 +1,143 @@
+package com.innowise.orderservice.messaging;
+
+import com.innowise.orderservice.config.OutboxProperties;
+import com.innowise.orderservice.exception.OutboxRelayException;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the transactional outbox to Kafka.
+ *
+ * <p>Each run claims the next batch of unpublished events with {@code FOR UPDATE SKIP LOCKED} and
+ * reserves them for {@code claimTimeout} in a short transaction, so no row lock is held while the
+ * batch is in flight and several relays can run side by side on disjoint batches. It then sends
+ * the events, waits for Kafka to acknowledge them and marks the acknowledged ones published in a
+ * second short transaction. An event that Kafka does not acknowledge stays unpublished and is
+ * claimed again once its reservation ends: delivery is at-least-once and consumers are expected to
+ * be idempotent. An event whose payload cannot be read is parked instead of blocking the rows
+ * behind it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "outbox.relay",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class OutboxRelay {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final OrderOutbox orderOutbox;
+  private final OrderEventProducer orderEventProducer;
+  private final OutboxProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+  public void relay() {
+    try {
+      int relayed;
+      do {
+        relayed = relayBatch();
+      } while (relayed == properties.batchSize());
+    } catch (OutboxRelayException e) {
+      log.warn("Outbox relay run failed, the batch will be retried: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Claims, sends and settles the next batch of outbox events. Must not be called inside a
+   * transaction, or the claim would stay locked until Kafka answers.
+   *
+   * @return the number of events claimed
+   * @throws OutboxRelayException if Kafka did not acknowledge every event of the batch
+   */
+  public int relayBatch() {
+    List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, CompletableFuture<?>> sends = new LinkedHashMap<>();
+    List<Long> parked = new ArrayList<>();
+    for (OutboxEvent outboxEvent : batch) {
+      try {
+        sends.put(
+            outboxEvent.getId(),
+            orderEventProducer.publishOrderCreated(orderOutbox.readOrderCreated(outboxEvent)));
+      } catch (OutboxRelayException e) {
+        log.error("Parking unreadable outbox event {}: {}", outboxEvent.getId(), e.getMessage(), e);
+        parked.add(outboxEvent.getId());
+      }
+    }
+    OutboxRelayException failure = awaitAcknowledgements(sends.values());
+
+    List<Long> published =
+        sends.entrySet().stream()
+            .filter(send -> send.getValue().isDone() && !send.getValue().isCompletedExceptionally())
+            .map(Map.Entry::getKey)
+            .toList();
+    transactionTemplate.execute(status -> settle(published, parked));
+    log.debug(
+        "Relayed {} and parked {} of {} outbox events",
+        published.size(),
+        parked.size(),
+        batch.size());
+
+    if (failure != null) {
+      throw failure;
+    }
+    return batch.size();
+  }
+
+  private List<OutboxEvent> claimBatch() {
+    Instant now = Instant.now();
+    List<OutboxEvent> batch = outboxEventRepository.findClaimable(now, properties.batchSize());
+    if (!batch.isEmpty()) {
+      outboxEventRepository.claim(
+          batch.stream().map(OutboxEvent::getId).toList(), now.plus(properties.claimTimeout()));
+    }
+    return batch;
+  }
+
+  private Void settle(List<Long> published, List<Long> parked) {
+    Instant now = Instant.now();
+    if (!published.isEmpty()) {
+      outboxEventRepository.markPublished(published, now);
+    }
+    if (!parked.isEmpty()) {
+      outboxEventRepository.markFailed(parked, now);
+    }
+    return null;
+  }
+
+  private OutboxRelayException awaitAcknowledgements(Collection<CompletableFuture<?>> sends) {
+    try {
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+          .get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new OutboxRelayException("Interrupted while waiting for Kafka acknowledgements", e);
+    } catch (ExecutionException | TimeoutException e) {
+      return new OutboxRelayException("Kafka did not acknowledge the outbox batch", e);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.innowise.orderservice.messaging;
+
+import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.orderservice.service.impl.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch variant of {@link PaymentEventListener}, enabled with {@code
+ * kafka.listener.payment.batch-enabled=true}.
+ *
+ * <p>Each poll is applied with one set-based update per target status in a single transaction.
+ * Offsets are committed by the container after the listener returns, i.e. after the database
+ * commit, so a failed batch is redelivered as a whole.
+ *
+ * <p>With {@code kafka.listener.payment.lanes} above one, the batch is split by order id across
+ * {@link KeyOrderedProcessor} lanes and each lane is applied in its own transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "kafka.listener.payment",
+    name = "batch-enabled",
+    havingValue = "true")
+public class PaymentBatchEventListener {
+
+  private final OrderService orderService;
+  private final KeyOrderedProcessor keyOrderedProcessor;
+
+  @KafkaListener(
+      topics = "${kafka.topic.payment.created}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      batch = "true")
+  public void onPaymentsCreated(@Payload List<PaymentCreatedEvent> events) {
+    log.debug("Received batch of {} payment-created events", events.size());
+    keyOrderedProcessor.process(
+        events, PaymentCreatedEvent::orderId, orderService::handlePaymentEvents);
+  }
+}
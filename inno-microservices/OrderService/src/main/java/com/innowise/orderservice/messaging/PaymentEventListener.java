@@ -4,6 +4,7 @@ import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
 import com.innowise.orderservice.service.impl.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,11 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "kafka.listener.payment",
+    name = "batch-enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class PaymentEventListener {
 
   private final OrderService orderService;
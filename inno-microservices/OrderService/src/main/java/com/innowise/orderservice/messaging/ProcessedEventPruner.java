@@ -0,0 +1,41 @@
+package com.innowise.orderservice.messaging;
+
+import com.innowise.orderservice.config.ProcessedEventPruneProperties;
+import com.innowise.orderservice.repository.ProcessedPaymentEventRepository;
+import com.innowise.orderservice.util.BatchedRuns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically removes payment ids processed more than {@link
+ * ProcessedEventPruneProperties#retention()} ago, so the idempotency table does not grow forever.
+ *
+ * <p>An id is only needed while Kafka can still redeliver its event, so the retention has to
+ * exceed the retention of the payment topic. Pruning runs hourly off the consumer path, and the
+ * index on {@code processed_at} keeps each delete batch from scanning the whole table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "processed-events.prune", name = "enabled", havingValue = "true")
+public class ProcessedEventPruner {
+
+  private final ProcessedPaymentEventRepository processedPaymentEventRepository;
+  private final ProcessedEventPruneProperties properties;
+
+  @Scheduled(cron = "${processed-events.prune.cron:0 15 * * * *}")
+  public void prune() {
+    Instant cutoff = Instant.now().minus(properties.retention());
+    int total =
+        BatchedRuns.drain(
+            () -> processedPaymentEventRepository.pruneBatch(cutoff, properties.batchSize()),
+            properties.batchSize(),
+            properties.maxBatches());
+    log.info("Pruned {} processed payment events recorded before {}", total, cutoff);
+  }
+}
@@ -0,0 +1,18 @@
+package com.innowise.orderservice.messaging.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * In-process application event published when an order has been accepted for asynchronous
+ * creation and still has to be checked against the user service. The same data is kept in {@code
+ * pending_order_completions} until the order has been completed.
+ *
+ * @param orderId the ID of the persisted order
+ * @param userId the user ID given in the request
+ * @param userEmail the email the user is looked up by
+ * @param totalAmount the total cost of the order
+ * @param creationDate the creation date of the order
+ */
+public record OrderAcceptedEvent(
+    Long orderId, Long userId, String userEmail, BigDecimal totalAmount, LocalDate creationDate) {}
@@ -0,0 +1,9 @@
+package com.innowise.orderservice.messaging.event;
+
+/**
+ * In-process application event signalling that an order was created or its lines changed, so
+ * derived read models such as the search index must be rebuilt for it.
+ *
+ * @param orderId the ID of the changed order
+ */
+public record OrderChangedEvent(Long orderId) {}
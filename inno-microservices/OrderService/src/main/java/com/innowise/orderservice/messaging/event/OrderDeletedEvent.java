@@ -0,0 +1,9 @@
+package com.innowise.orderservice.messaging.event;
+
+/**
+ * In-process application event signalling that an order was soft-deleted, so derived read models
+ * such as the search index must drop it.
+ *
+ * @param orderId the ID of the deleted order
+ */
+public record OrderDeletedEvent(Long orderId) {}
@@ -0,0 +1,13 @@
+package com.innowise.orderservice.messaging.event;
+
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+
+import java.util.List;
+
+/**
+ * In-process application event carrying all status changes made by one set-based update, so
+ * listeners can apply them together instead of once per order.
+ *
+ * @param updates the new status of every moved order
+ */
+public record OrderStatusesChangedEvent(List<OrderStatusUpdate> updates) {}
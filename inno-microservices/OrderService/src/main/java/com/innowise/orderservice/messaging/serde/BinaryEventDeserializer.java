@@ -0,0 +1,45 @@
+package com.innowise.orderservice.messaging.serde;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value deserializer for {@link EventCodec} payloads.
+ *
+ * <p>Payloads that do not start with the Avro single-object marker are handed to a {@link
+ * JsonDeserializer} configured from the same {@code spring.json.*} consumer properties, so JSON
+ * records that are still on the topic after a producer switched formats keep being consumed.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+  private final JsonDeserializer<Object> jsonFallback = new JsonDeserializer<>();
+
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    jsonFallback.configure(configs, isKey);
+  }
+
+  @Override
+  public Object deserialize(String topic, byte[] data) {
+    if (EventCodec.isEncoded(data)) {
+      return EventCodec.decode(data);
+    }
+    return jsonFallback.deserialize(topic, data);
+  }
+
+  @Override
+  public Object deserialize(String topic, Headers headers, byte[] data) {
+    if (EventCodec.isEncoded(data)) {
+      return EventCodec.decode(data);
+    }
+    return jsonFallback.deserialize(topic, headers, data);
+  }
+
+  @Override
+  public void close() {
+    jsonFallback.close();
+  }
+}
@@ -1,5 +1,18 @@
 package com.innowise.orderservice.model;
 
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Order statuses and the transitions allowed between them.
+ *
+ * <p>Status changes are applied as conditional updates restricted to {@link #sources()}, so a
+ * replayed or out-of-order event cannot move an order backwards.
+ */
 public enum StatusEnum {
   PENDING,
   CONFIRMED,
@@ -8,5 +21,53 @@ public enum StatusEnum {
   DELIVERED,
   REFUNDED,
   PAYMENT_FAILED,
-  SUCCESS
+  REJECTED,
+  SUCCESS;
+
+  private static final Map<StatusEnum, Set<StatusEnum>> TRANSITIONS =
+      new EnumMap<>(StatusEnum.class);
+  private static final Set<StatusEnum> PAID = EnumSet.of(CONFIRMED, PROCESSING, SHIPPED, DELIVERED);
+
+  static {
+    TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, PAYMENT_FAILED, REJECTED));
+    TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, REFUNDED));
+    TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, REFUNDED));
+    TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+    TRANSITIONS.put(DELIVERED, EnumSet.of(REFUNDED));
+    TRANSITIONS.put(REFUNDED, EnumSet.noneOf(StatusEnum.class));
+    TRANSITIONS.put(PAYMENT_FAILED, EnumSet.noneOf(StatusEnum.class));
+    TRANSITIONS.put(REJECTED, EnumSet.noneOf(StatusEnum.class));
+    TRANSITIONS.put(SUCCESS, EnumSet.noneOf(StatusEnum.class));
+  }
+
+  /**
+   * Checks whether an order in this status may be moved to the given one.
+   *
+   * @param target the status to move to
+   * @return {@code true} if the transition is allowed
+   */
+  public boolean canTransitionTo(StatusEnum target) {
+    return TRANSITIONS.get(this).contains(target);
+  }
+
+  /**
+   * Returns the statuses from which an order may be moved to this one.
+   *
+   * @return the allowed source statuses, empty if this status cannot be reached
+   */
+  public Set<StatusEnum> sources() {
+    return Arrays.stream(values())
+        .filter(source -> source.canTransitionTo(this))
+        .collect(Collectors.toCollection(() -> EnumSet.noneOf(StatusEnum.class)));
+  }
+
+  /**
+   * Checks whether an order in this status counts as paid for, i.e. its total is part of what the
+   * user has spent.
+   *
+   * @return {@code true} if the order has been paid and not refunded
+   */
+  public boolean isPaid() {
+    return PAID.contains(this);
+  }
 }
@@ -0,0 +1,24 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+/**
+ * Outcome of a bulk status update for a single order.
+ *
+ * @param orderId the order ID
+ * @param outcome what happened to the order
+ * @param status the status the order is in afterwards, {@code null} if it does not exist
+ */
+public record BulkStatusResult(Long orderId, Outcome outcome, StatusEnum status) {
+
+  public enum Outcome {
+    /** The order was moved to the requested status. */
+    UPDATED,
+    /** The order already was in the requested status. */
+    UNCHANGED,
+    /** The order's status cannot be changed to the requested one. */
+    REJECTED,
+    /** No order with this ID exists. */
+    NOT_FOUND
+  }
+}
@@ -0,0 +1,20 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request to move many orders to one status.
+ *
+ * @param ids the IDs of the orders to move, duplicates are applied once
+ * @param status the status to move the orders to
+ */
+public record BulkStatusUpdate(
+    @NotEmpty(message = "ids must not be empty")
+        @Size(max = 1000, message = "at most 1000 orders can be updated at once")
+        List<@NotNull Long> ids,
+    @NotNull(message = "status must not be null") StatusEnum status) {}
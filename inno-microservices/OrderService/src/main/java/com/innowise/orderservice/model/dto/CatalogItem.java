@@ -0,0 +1,14 @@
+package com.innowise.orderservice.model.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Immutable catalog entry of an item as kept by the in-process item catalog.
+ *
+ * @param id the item ID
+ * @param name the item name
+ * @param price the current unit price
+ * @param updatedAt when the row was last changed in the database
+ */
+public record CatalogItem(Long id, String name, BigDecimal price, Instant updatedAt) {}
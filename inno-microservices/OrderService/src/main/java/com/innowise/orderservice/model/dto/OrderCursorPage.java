@@ -0,0 +1,12 @@
+package com.innowise.orderservice.model.dto;
+
+import java.util.List;
+
+/**
+ * A window of orders produced by keyset pagination.
+ *
+ * @param content the orders in this window, newest first
+ * @param nextCursor the opaque token to pass back to fetch the following window, or {@code null}
+ *     when this is the last one
+ */
+public record OrderCursorPage(List<OrderUserDto> content, String nextCursor) {}
@@ -0,0 +1,12 @@
+package com.innowise.orderservice.model.dto;
+
+import java.time.Instant;
+
+/**
+ * The parts of an order row needed to validate a conditional request without loading the order.
+ *
+ * @param version the version of the order row
+ * @param userEmail the email of the user owning the order
+ * @param updatedAt when the order row was last changed
+ */
+public record OrderRevision(long version, String userEmail, Instant updatedAt) {}
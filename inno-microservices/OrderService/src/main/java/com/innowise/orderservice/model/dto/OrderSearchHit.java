@@ -0,0 +1,26 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * An order as stored in the search index.
+ *
+ * @param orderId the order ID
+ * @param userId the ID of the user owning the order
+ * @param userEmail the email of the user owning the order
+ * @param status the current status of the order
+ * @param creationDate the creation date of the order
+ * @param totalAmount the order total at creation time
+ * @param itemNames the names of the ordered items, space separated
+ */
+public record OrderSearchHit(
+    Long orderId,
+    Long userId,
+    String userEmail,
+    StatusEnum status,
+    LocalDate creationDate,
+    BigDecimal totalAmount,
+    String itemNames) {}
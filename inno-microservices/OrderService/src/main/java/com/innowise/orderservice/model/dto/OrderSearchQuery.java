@@ -0,0 +1,27 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Filters of an order search. Every filter is optional; {@code null} or empty filters are ignored.
+ *
+ * @param text free text matched against item names and the user email, in web search syntax
+ * @param email the user email, matched case-insensitively
+ * @param from the earliest creation date, inclusive
+ * @param to the latest creation date, inclusive
+ * @param minAmount the lowest order total, inclusive
+ * @param maxAmount the highest order total, inclusive
+ * @param statuses the statuses to include
+ */
+public record OrderSearchQuery(
+    String text,
+    String email,
+    LocalDate from,
+    LocalDate to,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    Collection<StatusEnum> statuses) {}
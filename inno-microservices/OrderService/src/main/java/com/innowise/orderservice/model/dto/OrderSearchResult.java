@@ -0,0 +1,21 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of search hits with facet counts over all matching orders.
+ *
+ * @param content the hits of the requested page, best match first
+ * @param totalElements the number of matching orders
+ * @param statusFacets the number of matching orders per status
+ * @param monthFacets the number of matching orders per creation month, in chronological order
+ */
+public record OrderSearchResult(
+    List<OrderSearchHit> content,
+    long totalElements,
+    Map<StatusEnum, Long> statusFacets,
+    Map<YearMonth, Long> monthFacets) {}
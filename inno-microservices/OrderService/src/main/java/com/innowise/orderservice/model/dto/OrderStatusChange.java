@@ -0,0 +1,11 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+/**
+ * An order as it is after a status change, together with the status it had before.
+ *
+ * @param order the updated order and its items
+ * @param previousStatus the status of the order before the change
+ */
+public record OrderStatusChange(OrderDto order, StatusEnum previousStatus) {}
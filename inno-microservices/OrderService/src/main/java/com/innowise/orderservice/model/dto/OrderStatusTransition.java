@@ -0,0 +1,14 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+/**
+ * Outcome of a set-based status change for one order.
+ *
+ * @param orderId the order ID
+ * @param userId the ID of the user owning the order
+ * @param previousStatus the status the order had when it was locked
+ * @param moved whether the order was moved to the target status
+ */
+public record OrderStatusTransition(
+    Long orderId, Long userId, StatusEnum previousStatus, boolean moved) {}
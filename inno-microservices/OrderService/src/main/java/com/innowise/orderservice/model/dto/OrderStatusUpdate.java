@@ -0,0 +1,12 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.model.StatusEnum;
+
+/**
+ * Current status of an order as pushed to status stream subscribers.
+ *
+ * @param orderId the order ID
+ * @param userId the ID of the user owning the order
+ * @param status the status the order is in
+ */
+public record OrderStatusUpdate(Long orderId, Long userId, StatusEnum status) {}
@@ -0,0 +1,11 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+
+/**
+ * An accepted order claimed for completion from {@code pending_order_completions}.
+ *
+ * @param order the accepted order
+ * @param attempts how many times the order has been claimed, including this claim
+ */
+public record PendingCompletion(OrderAcceptedEvent order, int attempts) {}
@@ -0,0 +1,20 @@
+package com.innowise.orderservice.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aggregated order figures of a user, as shown on the "my orders" dashboard.
+ *
+ * @param userId the user ID
+ * @param orderCount the number of orders the user placed
+ * @param totalSpent the sum of the totals of the user's paid, not refunded orders
+ * @param lastOrderDate the creation date of the user's latest order, or {@code null} if none
+ */
+public record UserOrderSummary(
+    Long userId, long orderCount, BigDecimal totalSpent, LocalDate lastOrderDate) {
+
+  public static UserOrderSummary empty(Long userId) {
+    return new UserOrderSummary(userId, 0, BigDecimal.ZERO, null);
+  }
+}
@@ -0,0 +1,35 @@
+package com.innowise.orderservice.model.dto;
+
+import com.innowise.orderservice.util.ContentETags;
+
+import java.time.Instant;
+
+/**
+ * An order combined with its user, together with the revision of the order row.
+ *
+ * @param order the order and its user
+ * @param version the version of the order row
+ * @param lastModified when the order row was last changed
+ */
+public record VersionedOrder(OrderUserDto order, long version, Instant lastModified) {
+
+  /**
+   * @return the entity tag of the representation, see {@link #etag(long, UserDto)}
+   */
+  public String etag() {
+    return etag(version, order.getUserDto());
+  }
+
+  /**
+   * Returns a strong entity tag for an order representation. The order part is identified by its
+   * row version; the embedded user comes from the User Service and has no version, so the tag is a
+   * SHA-256 digest over both.
+   *
+   * @param version the version of the order row
+   * @param user the embedded user
+   * @return the quoted entity tag
+   */
+  public static String etag(long version, UserDto user) {
+    return ContentETags.of(version + ":" + user);
+  }
+}
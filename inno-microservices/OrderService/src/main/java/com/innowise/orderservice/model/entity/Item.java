@@ -12,6 +12,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +23,9 @@ import java.util.List;
  * information such as name and price, and maintains references to all order items where it has been
  * included.
  *
+ * <p>{@code updatedAt} is maintained by a database trigger on every update and drives the
+ * incremental refresh of {@link com.innowise.orderservice.service.impl.ItemCatalog}.
+ *
  * <p>This entity has a one-to-many relationship with {@link OrderItem} entities.
  *
  * @see OrderItem
@@ -45,4 +49,7 @@ public class Item {
 
   @OneToMany(mappedBy = "item")
   private List<OrderItem> orderItems = new ArrayList<>();
+
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private Instant updatedAt;
 }
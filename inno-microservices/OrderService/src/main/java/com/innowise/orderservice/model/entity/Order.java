@@ -11,10 +11,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +31,16 @@ import java.util.List;
  * <p>This entity maintains a one-to-many relationship with {@link OrderItem} entities, with cascade
  * operations and orphan removal enabled for proper lifecycle management.
  *
+ * <p>The {@code version} column is incremented by every status change, including the bulk update
+ * queries in {@code OrderRepository}, and is used for optimistic concurrency control. It also
+ * backs the {@code ETag} of the order resource. {@code updatedAt} is maintained by a database
+ * trigger on every update and backs its {@code Last-Modified}.
+ *
+ * <p>Deleting an order only sets {@code deletedAt}, and {@code OrderPurger} removes the row and its
+ * items later in small batches. The {@link SQLRestriction} hides such orders from every entity
+ * load and query, including the inherited {@code findById}, {@code existsById}, {@code count} and
+ * {@code findAllById}; native SQL has to filter on {@code deleted_at} itself.
+ *
  * @see OrderItem
  * @see StatusEnum
  */
@@ -36,6 +49,7 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "orders")
+@SQLRestriction("deleted_at IS NULL")
 public class Order {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -55,4 +69,14 @@ public class Order {
 
   @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<OrderItem> orderItems = new ArrayList<>();
+
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(name = "updated_at", insertable = false, updatable = false)
+  private Instant updatedAt;
+
+  @Column(name = "deleted_at")
+  private Instant deletedAt;
 }
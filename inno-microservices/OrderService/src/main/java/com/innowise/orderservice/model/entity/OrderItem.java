@@ -13,6 +13,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 /**
  * Represents a junction entity between orders and items.
  *
@@ -20,6 +22,9 @@ import lombok.NoArgsConstructor;
  * of the item included in that order. This entity serves as the link in the many-to-many
  * relationship between orders and items.
  *
+ * <p>The unit price is copied from the item when the order is placed, so totals of past orders
+ * do not follow later price changes.
+ *
  * @see Order
  * @see Item
  */
@@ -43,4 +48,7 @@ public class OrderItem {
 
   @Column(nullable = false)
   private Integer quantity;
+
+  @Column(name = "unit_price", nullable = false)
+  private BigDecimal unitPrice;
 }
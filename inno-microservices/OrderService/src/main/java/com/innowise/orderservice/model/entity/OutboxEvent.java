@@ -0,0 +1,52 @@
+package com.innowise.orderservice.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Represents an event waiting in the transactional outbox.
+ *
+ * <p>Outbox events are written in the same transaction as the business change they describe, so an
+ * event exists if and only if that change has been committed. The {@code OutboxRelay} later claims
+ * unpublished events, reserving them until {@link #claimedUntil}, publishes them to Kafka and
+ * stamps {@link #publishedAt}; the {@code OutboxPruner} removes them once they are older than the
+ * retention window. An event whose payload cannot be read is parked with {@link #failedAt}: it is
+ * never relayed or pruned and stays in the table for inspection.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long aggregateId;
+
+  @Column(nullable = false, length = 128)
+  private String eventType;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  private Instant publishedAt;
+
+  private Instant claimedUntil;
+
+  private Instant failedAt;
+}
@@ -1,6 +1,43 @@
 package com.innowise.orderservice.repository;
 
+import com.innowise.orderservice.model.dto.CatalogItem;
 import com.innowise.orderservice.model.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {}
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link Item} entities.
+ *
+ * <p>Besides the standard CRUD operations it reads {@link CatalogItem} projections for the
+ * in-process item catalog.
+ */
+public interface ItemRepository extends JpaRepository<Item, Long> {
+
+  /**
+   * Reads the catalog entry of a single item.
+   *
+   * @param id the ID of the item
+   * @return the catalog entry, or empty if the item does not exist
+   */
+  @Query(
+      "SELECT new com.innowise.orderservice.model.dto.CatalogItem("
+          + "i.id, i.name, i.price, i.updatedAt) FROM Item i WHERE i.id = :id")
+  Optional<CatalogItem> findCatalogItemById(@Param("id") Long id);
+
+  /**
+   * Reads the catalog entries of all items changed after the given instant; {@link Instant#EPOCH}
+   * reads the whole catalog.
+   *
+   * @param since the exclusive lower bound of {@code updatedAt}
+   * @return the changed catalog entries
+   */
+  @Query(
+      "SELECT new com.innowise.orderservice.model.dto.CatalogItem("
+          + "i.id, i.name, i.price, i.updatedAt) FROM Item i WHERE i.updatedAt > :since")
+  List<CatalogItem> findCatalogItemsUpdatedAfter(@Param("since") Instant since);
+}
@@ -0,0 +1,176 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.util.OrderCursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves finished orders from {@code orders} into the cold {@code orders_archive} and {@code
+ * order_items_archive} tables, and reads them back from there.
+ *
+ * <p>Both archive tables are range-partitioned by month of {@code creation_date}, so reads that
+ * filter by date touch only the matching partitions and old months can be detached or dropped as a
+ * whole. Keeping finished orders out of {@code orders} keeps that table and its status and user
+ * indexes sized by the live working set. Archived orders are read-only: they are mapped straight
+ * into {@link OrderDto} records the same way {@link OrderProjectionRepository} maps live ones.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private static final String FIND_ARCHIVABLE_MONTHS =
+      """
+      SELECT DISTINCT date_trunc('month', creation_date)::date
+      FROM orders
+      WHERE status = ANY(?::varchar[]) AND creation_date < ? AND deleted_at IS NULL
+      """;
+
+  private static final String CREATE_PARTITION =
+      "CREATE TABLE IF NOT EXISTS %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')";
+
+  private static final String ARCHIVE_BATCH =
+      """
+      WITH batch AS (
+          SELECT id FROM orders
+          WHERE status = ANY(?::varchar[]) AND creation_date < ? AND deleted_at IS NULL
+          ORDER BY creation_date, id
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED
+      ), archived_items AS (
+          INSERT INTO order_items_archive
+              (id, order_id, item_id, quantity, unit_price, creation_date)
+          SELECT oi.id, oi.order_id, oi.item_id, oi.quantity, oi.unit_price, o.creation_date
+          FROM order_items oi
+          JOIN orders o ON o.id = oi.order_id
+          JOIN batch b ON b.id = o.id
+      ), moved AS (
+          DELETE FROM orders o
+          USING batch b
+          WHERE o.id = b.id
+          RETURNING o.id, o.user_id, o.status, o.creation_date, o.user_email, o.version
+      )
+      INSERT INTO orders_archive (id, user_id, status, creation_date, user_email, version)
+      SELECT id, user_id, status, creation_date, user_email, version FROM moved
+      """;
+
+  private static final String SELECT_WINDOW =
+      """
+      SELECT o.id, o.user_id, o.status, o.creation_date, o.user_email,
+             oi.id AS order_item_id, oi.item_id, oi.quantity
+      FROM (SELECT id, user_id, status, creation_date, user_email
+            FROM orders_archive
+            WHERE %s
+            ORDER BY creation_date DESC, id DESC
+            LIMIT ?) o
+      LEFT JOIN order_items_archive oi
+          ON oi.order_id = o.id AND oi.creation_date = o.creation_date
+      ORDER BY o.creation_date DESC, o.id DESC, oi.id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the first days of the months that contain orders eligible for archiving.
+   *
+   * @param statuses the statuses of finished orders
+   * @param cutoff orders created before this date are eligible
+   * @return the months, in no particular order
+   */
+  public List<LocalDate> findArchivableMonths(Collection<StatusEnum> statuses, LocalDate cutoff) {
+    return jdbcTemplate.queryForList(
+        FIND_ARCHIVABLE_MONTHS, LocalDate.class, names(statuses), Date.valueOf(cutoff));
+  }
+
+  /**
+   * Creates the monthly partitions of both archive tables for the given month if they do not exist
+   * yet. Rows of a month without a partition land in the default partition, which cannot be split
+   * afterwards without moving them, so partitions are created before any order of the month is
+   * archived.
+   *
+   * @param month the first day of the month
+   */
+  public void createMonthlyPartitions(LocalDate month) {
+    LocalDate from = month.withDayOfMonth(1);
+    LocalDate to = from.plusMonths(1);
+    String suffix = from.format(PARTITION_SUFFIX);
+    for (String table : List.of("orders_archive", "order_items_archive")) {
+      jdbcTemplate.execute(CREATE_PARTITION.formatted(table, suffix, table, from, to));
+    }
+  }
+
+  /**
+   * Moves up to {@code batchSize} eligible orders, oldest first, together with their items into
+   * the archive tables in a single statement. Rows locked by concurrent transactions are skipped,
+   * so several instances can run the archival at the same time.
+   *
+   * @param statuses the statuses of finished orders
+   * @param cutoff orders created before this date are eligible
+   * @param batchSize the maximum number of orders to move
+   * @return the number of orders moved
+   */
+  public int archiveBatch(Collection<StatusEnum> statuses, LocalDate cutoff, int batchSize) {
+    return jdbcTemplate.update(ARCHIVE_BATCH, names(statuses), Date.valueOf(cutoff), batchSize);
+  }
+
+  /**
+   * Retrieves a window of archived orders, newest first, with their items, using keyset
+   * pagination over {@code (creation_date, id)} like {@link
+   * OrderProjectionRepository#findWindow(Collection, Collection, KeysetScrollPosition, int)}.
+   *
+   * @param id the ID to filter by, ignored when {@code null}
+   * @param userId the user to filter by, ignored when {@code null}
+   * @param position the position of the last order of the previous window, or the initial one
+   * @param limit the maximum number of orders in the window
+   * @return a window of order DTOs
+   */
+  public Window<OrderDto> findWindow(
+      Long id, Long userId, KeysetScrollPosition position, int limit) {
+    List<String> conditions = new ArrayList<>();
+    List<Object> arguments = new ArrayList<>();
+    if (!position.isInitial()) {
+      conditions.add("(creation_date, id) < (?, ?)");
+      arguments.add(position.getKeys().get(OrderCursorCodec.CREATION_DATE));
+      arguments.add(position.getKeys().get(OrderCursorCodec.ID));
+    }
+    if (id != null) {
+      conditions.add("id = ?");
+      arguments.add(id);
+    }
+    if (userId != null) {
+      conditions.add("user_id = ?");
+      arguments.add(userId);
+    }
+    arguments.add(limit + 1);
+
+    List<OrderDto> orders =
+        jdbcTemplate.query(
+            SELECT_WINDOW.formatted(
+                conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions)),
+            OrderProjectionRepository.orderExtractor(),
+            arguments.toArray());
+
+    boolean hasNext = orders.size() > limit;
+    List<OrderDto> content = hasNext ? orders.subList(0, limit) : orders;
+    return Window.from(
+        content,
+        index -> OrderProjectionRepository.positionOf(content.get(index)),
+        hasNext);
+  }
+
+  private static String[] names(Collection<StatusEnum> statuses) {
+    return statuses.stream().map(StatusEnum::name).toArray(String[]::new);
+  }
+}
@@ -0,0 +1,295 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderItemDto;
+import com.innowise.orderservice.model.dto.OrderStatusChange;
+import com.innowise.orderservice.model.dto.OrderStatusTransition;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+import com.innowise.orderservice.util.OrderCursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Access to orders that maps rows straight into {@link OrderDto} records.
+ *
+ * <p>A window of orders and all of its items is read with a single joined SQL statement and never
+ * passes through the persistence context, so no entities are hydrated, no dirty-checking
+ * snapshots are taken and no lazy associations can be triggered. Use it for listings that only
+ * need to render orders; use {@link OrderRepository} whenever an order has to be modified, except
+ * for plain status changes, which {@link #updateStatus(Long, StatusEnum)} and {@link
+ * #transitionStatuses(Collection, StatusEnum)} apply and read back in one statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderProjectionRepository {
+  private static final String SELECT_WINDOW =
+      """
+      SELECT o.id, o.user_id, o.status, o.creation_date, o.user_email,
+             oi.id AS order_item_id, oi.item_id, oi.quantity
+      FROM (SELECT id, user_id, status, creation_date, user_email
+            FROM orders
+            WHERE %s
+            ORDER BY creation_date DESC, id DESC
+            LIMIT :limit) o
+      LEFT JOIN order_items oi ON oi.order_id = o.id
+      ORDER BY o.creation_date DESC, o.id DESC, oi.id
+      """;
+
+  private static final String UPDATE_STATUS =
+      """
+      WITH previous AS (
+          SELECT id, status FROM orders
+          WHERE id = :id AND deleted_at IS NULL
+          FOR UPDATE
+      ), updated AS (
+          UPDATE orders o
+          SET status = :status, version = o.version + 1
+          FROM previous p
+          WHERE o.id = p.id AND %s
+          RETURNING o.id, o.user_id, o.status, o.creation_date, o.user_email,
+                    p.status AS previous_status
+      )
+      SELECT u.id, u.user_id, u.status, u.creation_date, u.user_email, u.previous_status,
+             oi.id AS order_item_id, oi.item_id, oi.quantity
+      FROM updated u
+      LEFT JOIN order_items oi ON oi.order_id = u.id
+      ORDER BY oi.id
+      """;
+
+  private static final String TRANSITION_STATUSES =
+      """
+      WITH current AS (
+          SELECT id, user_id, status FROM orders
+          WHERE id IN (:ids) AND deleted_at IS NULL
+          ORDER BY id
+          FOR UPDATE
+      ), moved AS (
+          UPDATE orders o
+          SET status = :target, version = o.version + 1
+          FROM current c
+          WHERE o.id = c.id AND %s
+          RETURNING o.id
+      )
+      SELECT c.id, c.user_id, c.status AS previous_status, m.id IS NOT NULL AS moved
+      FROM current c
+      LEFT JOIN moved m ON m.id = c.id
+      ORDER BY c.id
+      """;
+
+  private static final String LOCK_STATUSES =
+      """
+      SELECT id, user_id, status FROM orders
+      WHERE id IN (:ids) AND deleted_at IS NULL
+      ORDER BY id
+      FOR UPDATE
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Retrieves a window of orders, newest first, with their items, using keyset pagination over
+   * {@code (creation_date, id)}.
+   *
+   * <p>The window starts right after {@code position}, so its cost does not grow with its depth,
+   * and the order is always {@link OrderCursorCodec#KEYSET_SORT}. One extra order is read to tell
+   * whether a next window exists, so no count query is needed.
+   *
+   * @param ids the IDs to filter by, ignored when {@code null} or empty
+   * @param statuses the statuses to filter by, ignored when {@code null} or empty
+   * @param position the position of the last order of the previous window, or the initial one
+   * @param limit the maximum number of orders in the window
+   * @return a window of order DTOs
+   */
+  public Window<OrderDto> findWindow(
+      Collection<Long> ids,
+      Collection<StatusEnum> statuses,
+      KeysetScrollPosition position,
+      int limit) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit + 1);
+
+    List<String> conditions = new ArrayList<>();
+    conditions.add("deleted_at IS NULL");
+    if (!position.isInitial()) {
+      conditions.add("(creation_date, id) < (:creationDate, :id)");
+      parameters
+          .addValue("creationDate", position.getKeys().get(OrderCursorCodec.CREATION_DATE))
+          .addValue("id", position.getKeys().get(OrderCursorCodec.ID));
+    }
+    if (ids != null && !ids.isEmpty()) {
+      conditions.add("id IN (:ids)");
+      parameters.addValue("ids", ids);
+    }
+    if (statuses != null && !statuses.isEmpty()) {
+      conditions.add("status IN (:statuses)");
+      parameters.addValue("statuses", statuses.stream().map(StatusEnum::name).toList());
+    }
+
+    List<OrderDto> orders =
+        jdbcTemplate.query(
+            SELECT_WINDOW.formatted(String.join(" AND ", conditions)),
+            parameters,
+            orderExtractor());
+
+    boolean hasNext = orders.size() > limit;
+    List<OrderDto> content = hasNext ? orders.subList(0, limit) : orders;
+    return Window.from(content, index -> positionOf(content.get(index)), hasNext);
+  }
+
+  /**
+   * Sets the status of an order and returns the updated order with its items and previous status,
+   * in a single round trip. Like {@link #transitionStatuses(Collection, StatusEnum)}, the update is
+   * restricted to orders whose status is one of {@link StatusEnum#sources()}. The row is locked
+   * before it is read, so the previous status is the one the update replaced, and the lock is held
+   * until the surrounding transaction ends even when nothing was updated. The {@code version} is
+   * incremented as by the JPA updates; managed {@code Order} entities loaded earlier in the same
+   * transaction are not refreshed.
+   *
+   * @param id the ID of the order
+   * @param status the new status
+   * @return the change, empty if the order does not exist, is deleted or cannot move to {@code
+   *     status}
+   */
+  public Optional<OrderStatusChange> updateStatus(Long id, StatusEnum status) {
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource("id", id).addValue("status", status.name());
+    String movable = "FALSE";
+    if (!status.sources().isEmpty()) {
+      movable = "p.status IN (:sources)";
+      parameters.addValue("sources", status.sources().stream().map(StatusEnum::name).toList());
+    }
+    Map<Long, StatusEnum> previousStatuses = new HashMap<>();
+    List<OrderDto> orders =
+        jdbcTemplate.query(
+            UPDATE_STATUS.formatted(movable),
+            parameters,
+            orderExtractor(
+                (order, resultSet) ->
+                    previousStatuses.put(
+                        order.id(), StatusEnum.valueOf(resultSet.getString("previous_status")))));
+    return orders.stream()
+        .findFirst()
+        .map(order -> new OrderStatusChange(order, previousStatuses.get(order.id())));
+  }
+
+  /**
+   * Moves the given orders to {@code target} in a single statement, restricted to the orders whose
+   * status is one of {@link StatusEnum#sources()}. The orders are locked in id order before their
+   * status is read, so the returned previous statuses are the ones the update replaced. As with
+   * {@link #updateStatus(Long, StatusEnum)}, managed entities are not refreshed.
+   *
+   * @param ids the IDs of the orders
+   * @param target the status to move the orders to
+   * @return the outcome for every order found, in id order; unknown and deleted orders are absent
+   */
+  public List<OrderStatusTransition> transitionStatuses(Collection<Long> ids, StatusEnum target) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource("ids", ids).addValue("target", target.name());
+    String movable = "FALSE";
+    if (!target.sources().isEmpty()) {
+      movable = "c.status IN (:sources)";
+      parameters.addValue("sources", target.sources().stream().map(StatusEnum::name).toList());
+    }
+    return jdbcTemplate.query(
+        TRANSITION_STATUSES.formatted(movable),
+        parameters,
+        (resultSet, rowNum) ->
+            new OrderStatusTransition(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                StatusEnum.valueOf(resultSet.getString("previous_status")),
+                resultSet.getBoolean("moved")));
+  }
+
+  /**
+   * Locks the given orders and returns their current status. The locks are held until the
+   * surrounding transaction ends, so a change derived from the returned statuses cannot interleave
+   * with another one. Rows are locked in id order, which keeps concurrent callers from deadlocking.
+   *
+   * @param ids the IDs of the orders
+   * @return the statuses of the orders found, in id order
+   */
+  public List<OrderStatusUpdate> lockStatusUpdates(Collection<Long> ids) {
+    return jdbcTemplate.query(
+        LOCK_STATUSES,
+        new MapSqlParameterSource("ids", ids),
+        (resultSet, rowNum) ->
+            new OrderStatusUpdate(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                StatusEnum.valueOf(resultSet.getString("status"))));
+  }
+
+  static ScrollPosition positionOf(OrderDto order) {
+    return ScrollPosition.forward(
+        Map.of(
+            OrderCursorCodec.CREATION_DATE, order.creationDate(), OrderCursorCodec.ID, order.id()));
+  }
+
+  static ResultSetExtractor<List<OrderDto>> orderExtractor() {
+    return orderExtractor((order, resultSet) -> {});
+  }
+
+  /**
+   * Folds the joined rows, which arrive grouped by order, into one DTO per order. The first row of
+   * every order is also handed to {@code onOrder}, for columns that are not part of the DTO.
+   */
+  private static ResultSetExtractor<List<OrderDto>> orderExtractor(OrderRowCallback onOrder) {
+    return resultSet -> {
+      List<OrderDto> orders = new ArrayList<>();
+      OrderDto current = null;
+      while (resultSet.next()) {
+        long orderId = resultSet.getLong("id");
+        if (current == null || !Objects.equals(current.id(), orderId)) {
+          current =
+              new OrderDto(
+                  orderId,
+                  resultSet.getLong("user_id"),
+                  StatusEnum.valueOf(resultSet.getString("status")),
+                  resultSet.getObject("creation_date", LocalDate.class),
+                  new ArrayList<>(),
+                  resultSet.getString("user_email"));
+          orders.add(current);
+          onOrder.accept(current, resultSet);
+        }
+        long orderItemId = resultSet.getLong("order_item_id");
+        if (!resultSet.wasNull()) {
+          current
+              .orderItems()
+              .add(
+                  new OrderItemDto(
+                      orderItemId,
+                      orderId,
+                      resultSet.getLong("item_id"),
+                      resultSet.getInt("quantity")));
+        }
+      }
+      return orders;
+    };
+  }
+
+  @FunctionalInterface
+  private interface OrderRowCallback {
+    void accept(OrderDto order, ResultSet resultSet) throws SQLException;
+  }
+}
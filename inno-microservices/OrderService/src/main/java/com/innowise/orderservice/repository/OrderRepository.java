@@ -1,9 +1,13 @@
 package com.innowise.orderservice.repository;
 
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderRevision;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
 import com.innowise.orderservice.model.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,6 +15,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,7 +26,8 @@ import java.util.Optional;
  * <p>Extends {@link JpaRepository} to provide standard CRUD operations and adds custom query
  * methods for user-specific lookups and updates.
  */
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository
+    extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderStreamRepository {
 
   /**
    * Saves the given order entity.
@@ -31,14 +39,40 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
   Order save(Order entity);
 
   /**
-   * Retrieves an order by its unique identifier.
+   * Retrieves an order by its unique identifier, fetching its items and their catalog entries in
+   * the same query.
    *
    * @param id the ID of the Order
    * @return an {@link Optional} containing the order if found, otherwise empty
    */
-  @Query("SELECT o FROM Order o WHERE o.id = :id")
+  @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+  @Query("SELECT o FROM Order o WHERE o.id = :id AND o.deletedAt IS NULL")
   Optional<Order> findOrderById(@Param("id") Long id);
 
+  /**
+   * Retrieves an order by its unique identifier together with its items and their catalog entries.
+   *
+   * @param id the ID of the Order
+   * @return an {@link Optional} containing the order if found, otherwise empty
+   */
+  @Override
+  @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+  @Query("SELECT o FROM Order o WHERE o.id = :id AND o.deletedAt IS NULL")
+  Optional<Order> findById(@Param("id") Long id);
+
+  /**
+   * Retrieves the orders with the given ids together with their items and their catalog entries.
+   *
+   * <p>Used as the second phase of a paged read: the page itself is selected without joins, so the
+   * limit applies to orders rather than to order item rows.
+   *
+   * @param ids the IDs of the orders to load
+   * @return the orders found, in no particular order
+   */
+  @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+  @Query("SELECT DISTINCT o FROM Order o WHERE o.id IN :ids AND o.deletedAt IS NULL")
+  List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
   /**
    * Retrieves all orders
    *
@@ -50,22 +84,100 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
   Page<Order> findAll(Pageable pageable);
 
   /**
-   * Updates the status of an order by the given ID.
+   * Moves the given orders to the target status, but only those currently in one of the allowed
+   * source statuses. Orders in any other status, including the target itself, are left untouched,
+   * which makes replayed and out-of-order transitions no-ops.
    *
-   * @param id the ID of the order to update
-   * @param status the new status of the order
-   * @return the number of affected rows (should be {@code 1} if the order was updated)
+   * @param ids the IDs of the orders to update
+   * @param sources the statuses from which the transition is allowed
+   * @param target the new status of the orders
+   * @return the number of affected rows
    */
   @Transactional
   @Modifying(flushAutomatically = true, clearAutomatically = true)
-  @Query("UPDATE Order o SET o.status = :status WHERE o.id = :id")
-  int updateById(@Param("id") Long id, @Param("status") StatusEnum status);
+  @Query(
+      "UPDATE Order o SET o.status = :target, o.version = o.version + 1 "
+          + "WHERE o.id IN :ids AND o.status IN :sources AND o.deletedAt IS NULL")
+  int transitionStatusByIdIn(
+      @Param("ids") Collection<Long> ids,
+      @Param("sources") Collection<StatusEnum> sources,
+      @Param("target") StatusEnum target);
+
+  /**
+   * Retrieves the current status of the order with the given ID.
+   *
+   * @param id the ID of the order
+   * @return the status of the order, empty if it does not exist
+   */
+  @Query("SELECT o.status FROM Order o WHERE o.id = :id AND o.deletedAt IS NULL")
+  Optional<StatusEnum> findStatusById(@Param("id") Long id);
 
   /**
-   * Deletes the order by its ID
+   * Retrieves the version, user email and modification time of the order with the given ID,
+   * without its items.
+   *
+   * @param id the ID of the order
+   * @return the revision of the order, empty if it does not exist
+   */
+  @Query(
+      "SELECT new com.innowise.orderservice.model.dto.OrderRevision("
+          + "o.version, o.userEmail, o.updatedAt) "
+          + "FROM Order o WHERE o.id = :id AND o.deletedAt IS NULL")
+  Optional<OrderRevision> findRevisionById(@Param("id") Long id);
+
+  /**
+   * Retrieves the current status of the user's most recent orders, newest first.
+   *
+   * @param userId the ID of the user
+   * @param limit the maximum number of orders to return
+   * @return the statuses of the user's orders
+   */
+  @Query(
+      "SELECT new com.innowise.orderservice.model.dto.OrderStatusUpdate(o.id, o.userId, o.status) "
+          + "FROM Order o WHERE o.userId = :userId AND o.deletedAt IS NULL ORDER BY o.id DESC")
+  List<OrderStatusUpdate> findStatusUpdatesByUserId(@Param("userId") Long userId, Limit limit);
+
+  /**
+   * Marks the order as deleted. Its rows stay in place until {@link #purgeBatch(Instant, int)}
+   * removes them, so the cost does not depend on the number of items in the order.
    *
    * @param id the ID of the order to delete
+   * @param now the deletion time
+   * @return the number of affected rows, {@code 0} if the order does not exist or is already
+   *     deleted
    */
-  @Override
-  void deleteById(Long id);
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Order o SET o.deletedAt = :now, o.version = o.version + 1 "
+          + "WHERE o.id = :id AND o.deletedAt IS NULL")
+  int softDeleteById(@Param("id") Long id, @Param("now") Instant now);
+
+  /**
+   * Removes one batch of orders deleted before the cutoff, oldest first. Their items and search
+   * rows go with them through the cascading foreign keys. Rows locked by another purger are
+   * skipped.
+   *
+   * @param cutoff orders deleted before this instant are removed
+   * @param limit the maximum number of orders to remove
+   * @return the number of orders removed
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          WITH batch AS (
+              SELECT id FROM orders
+              WHERE deleted_at < :cutoff
+              ORDER BY deleted_at
+              LIMIT :limit
+              FOR UPDATE SKIP LOCKED
+          )
+          DELETE FROM orders o
+          USING batch b
+          WHERE o.id = b.id
+          """,
+      nativeQuery = true)
+  int purgeBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
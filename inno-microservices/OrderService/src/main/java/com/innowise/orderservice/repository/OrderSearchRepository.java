@@ -0,0 +1,205 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderSearchHit;
+import com.innowise.orderservice.model.dto.OrderSearchQuery;
+import com.innowise.orderservice.model.dto.OrderSearchResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains and queries {@code order_search}, a denormalized copy of orders with their totals and
+ * item names.
+ *
+ * <p>Totals are computed from the unit prices recorded on the order lines, not from the current
+ * item prices.
+ *
+ * <p>Free text is matched against a generated {@code tsvector} column through a GIN index; the
+ * email, date and amount filters each have a B-tree index. Facet counts for all matching orders
+ * are computed in one grouping-sets query alongside the page of hits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSearchRepository {
+  private static final String UPSERT =
+      """
+      INSERT INTO order_search
+          (order_id, user_id, user_email, status, creation_date, total_amount, item_names)
+      SELECT o.id, o.user_id, o.user_email, o.status, o.creation_date,
+             COALESCE(sum(oi.unit_price * oi.quantity), 0),
+             COALESCE(string_agg(i.name, ' ' ORDER BY i.name), '')
+      FROM orders o
+      LEFT JOIN order_items oi ON oi.order_id = o.id
+      LEFT JOIN items i ON i.id = oi.item_id
+      WHERE o.id IN (:ids) AND o.deleted_at IS NULL
+      GROUP BY o.id
+      ON CONFLICT (order_id) DO UPDATE SET
+          user_id = EXCLUDED.user_id,
+          user_email = EXCLUDED.user_email,
+          status = EXCLUDED.status,
+          creation_date = EXCLUDED.creation_date,
+          total_amount = EXCLUDED.total_amount,
+          item_names = EXCLUDED.item_names
+      """;
+
+  private static final String UPDATE_STATUSES =
+      """
+      UPDATE order_search s
+      SET status = u.status
+      FROM unnest(?::bigint[], ?::varchar[]) AS u(order_id, status)
+      WHERE s.order_id = u.order_id
+      """;
+
+  private static final String DELETE = "DELETE FROM order_search WHERE order_id = :id";
+
+  private static final String HITS =
+      """
+      SELECT order_id, user_id, user_email, status, creation_date, total_amount, item_names
+      FROM order_search
+      WHERE %s
+      ORDER BY %s creation_date DESC, order_id DESC
+      LIMIT :limit OFFSET :offset
+      """;
+
+  private static final String FACETS =
+      """
+      SELECT status, date_trunc('month', creation_date)::date AS month, count(*) AS matches
+      FROM order_search
+      WHERE %s
+      GROUP BY GROUPING SETS ((status), (date_trunc('month', creation_date)::date))
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Rebuilds the index entries of the given orders from {@code orders}, {@code order_items} and
+   * {@code items}. Must see the orders' pending changes, i.e. run after they were flushed.
+   *
+   * @param orderIds the IDs of the orders to index
+   */
+  public void upsert(Collection<Long> orderIds) {
+    if (!orderIds.isEmpty()) {
+      jdbcTemplate.update(UPSERT, new MapSqlParameterSource("ids", orderIds));
+    }
+  }
+
+  /**
+   * Updates the statuses of indexed orders in one statement.
+   *
+   * @param statuses the new status per order ID
+   */
+  public void updateStatuses(Map<Long, StatusEnum> statuses) {
+    if (statuses.isEmpty()) {
+      return;
+    }
+    Long[] ids = statuses.keySet().toArray(Long[]::new);
+    String[] names = statuses.values().stream().map(StatusEnum::name).toArray(String[]::new);
+    jdbcTemplate.getJdbcOperations().update(UPDATE_STATUSES, ids, names);
+  }
+
+  /**
+   * Removes an order from the index.
+   *
+   * @param orderId the order ID
+   */
+  public void delete(Long orderId) {
+    jdbcTemplate.update(DELETE, new MapSqlParameterSource("id", orderId));
+  }
+
+  /**
+   * Searches the index.
+   *
+   * @param query the filters to apply
+   * @param offset the number of hits to skip
+   * @param limit the maximum number of hits to return
+   * @return the hits and the facet counts of all matching orders
+   */
+  public OrderSearchResult search(OrderSearchQuery query, long offset, int limit) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource();
+    String where = where(query, parameters);
+    String rank = "";
+    if (StringUtils.hasText(query.text())) {
+      rank = "ts_rank(document, websearch_to_tsquery('simple', :text)) DESC,";
+    }
+    parameters.addValue("limit", limit).addValue("offset", offset);
+
+    List<OrderSearchHit> hits =
+        jdbcTemplate.query(
+            HITS.formatted(where, rank),
+            parameters,
+            (resultSet, rowNum) ->
+                new OrderSearchHit(
+                    resultSet.getLong("order_id"),
+                    resultSet.getLong("user_id"),
+                    resultSet.getString("user_email"),
+                    StatusEnum.valueOf(resultSet.getString("status")),
+                    resultSet.getObject("creation_date", LocalDate.class),
+                    resultSet.getBigDecimal("total_amount"),
+                    resultSet.getString("item_names")));
+
+    Map<StatusEnum, Long> statusFacets = new EnumMap<>(StatusEnum.class);
+    Map<YearMonth, Long> monthFacets = new TreeMap<>();
+    jdbcTemplate.query(
+        FACETS.formatted(where),
+        parameters,
+        resultSet -> {
+          long matches = resultSet.getLong("matches");
+          String status = resultSet.getString("status");
+          if (status != null) {
+            statusFacets.put(StatusEnum.valueOf(status), matches);
+          } else {
+            LocalDate month = resultSet.getObject("month", LocalDate.class);
+            monthFacets.put(YearMonth.from(month), matches);
+          }
+        });
+
+    long total = statusFacets.values().stream().mapToLong(Long::longValue).sum();
+    return new OrderSearchResult(hits, total, statusFacets, monthFacets);
+  }
+
+  private static String where(OrderSearchQuery query, MapSqlParameterSource parameters) {
+    List<String> conditions = new ArrayList<>();
+    conditions.add("TRUE");
+    if (StringUtils.hasText(query.text())) {
+      conditions.add("document @@ websearch_to_tsquery('simple', :text)");
+      parameters.addValue("text", query.text());
+    }
+    if (StringUtils.hasText(query.email())) {
+      conditions.add("lower(user_email) = lower(:email)");
+      parameters.addValue("email", query.email());
+    }
+    if (query.from() != null) {
+      conditions.add("creation_date >= :from");
+      parameters.addValue("from", query.from());
+    }
+    if (query.to() != null) {
+      conditions.add("creation_date <= :to");
+      parameters.addValue("to", query.to());
+    }
+    if (query.minAmount() != null) {
+      conditions.add("total_amount >= :minAmount");
+      parameters.addValue("minAmount", query.minAmount());
+    }
+    if (query.maxAmount() != null) {
+      conditions.add("total_amount <= :maxAmount");
+      parameters.addValue("maxAmount", query.maxAmount());
+    }
+    if (query.statuses() != null && !query.statuses().isEmpty()) {
+      conditions.add("status IN (:statuses)");
+      parameters.addValue("statuses", query.statuses().stream().map(StatusEnum::name).toList());
+    }
+    return String.join(" AND ", conditions);
+  }
+}
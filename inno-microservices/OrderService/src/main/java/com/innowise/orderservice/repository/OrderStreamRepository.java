@@ -0,0 +1,23 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/** Repository fragment for reading large result sets of {@link Order} entities as a stream. */
+public interface OrderStreamRepository {
+
+  /**
+   * Streams all orders matching the given specification, ordered by id.
+   *
+   * <p>Rows are read through a server-side cursor in chunks of {@code fetchSize}, so the driver
+   * never buffers the whole result. The stream must be consumed and closed inside a transaction,
+   * and the caller is responsible for clearing the persistence context as it goes.
+   *
+   * @param specification the filters to apply
+   * @param fetchSize the number of rows fetched from the database per round trip
+   * @return a stream of read-only orders
+   */
+  Stream<Order> streamAll(Specification<Order> specification, int fetchSize);
+}
@@ -0,0 +1,37 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+class OrderStreamRepositoryImpl implements OrderStreamRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Stream<Order> streamAll(Specification<Order> specification, int fetchSize) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Order> query = criteriaBuilder.createQuery(Order.class);
+    Root<Order> root = query.from(Order.class);
+
+    Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+    return entityManager
+        .createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+}
@@ -0,0 +1,102 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/** Repository interface for managing {@link OutboxEvent} entities. */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Locks the next batch of events that are unpublished, not parked and not reserved by a relay.
+   * Rows locked by another relay, and rows of transactions that have not committed yet, are
+   * skipped and picked up by a later run. Must be called inside a transaction, which should
+   * {@link #claim} the rows before it commits.
+   *
+   * @param now events whose reservation ended before this instant are claimable again
+   * @param limit the maximum number of events to return
+   * @return the events ordered by id
+   */
+  @Query(
+      value =
+          """
+          SELECT * FROM outbox_events
+          WHERE published_at IS NULL
+            AND failed_at IS NULL
+            AND (claimed_until IS NULL OR claimed_until < :now)
+          ORDER BY id
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+          """,
+      nativeQuery = true)
+  List<OutboxEvent> findClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+  /**
+   * Reserves the given events for one relay, so other relays skip them without a row lock being
+   * held while they are sent.
+   *
+   * @param ids the IDs of the events
+   * @param claimedUntil the end of the reservation
+   * @return the number of affected rows
+   */
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+  int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Instant claimedUntil);
+
+  /**
+   * Marks the given events as published.
+   *
+   * @param ids the IDs of the events
+   * @param publishedAt the publication time
+   * @return the number of affected rows
+   */
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+  int markPublished(
+      @Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+  /**
+   * Parks the given events, which are no longer relayed or pruned.
+   *
+   * @param ids the IDs of the events
+   * @param failedAt the time the events were parked
+   * @return the number of affected rows
+   */
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.failedAt = :failedAt WHERE e.id IN :ids")
+  int markFailed(@Param("ids") Collection<Long> ids, @Param("failedAt") Instant failedAt);
+
+  /**
+   * Removes one batch of events published before the cutoff, oldest first. Unpublished events are
+   * never removed.
+   *
+   * @param cutoff events published before this instant are removed
+   * @param limit the maximum number of events to remove
+   * @return the number of events removed
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          WITH batch AS (
+              SELECT id FROM outbox_events
+              WHERE published_at < :cutoff
+              ORDER BY published_at
+              LIMIT :limit
+              FOR UPDATE SKIP LOCKED
+          )
+          DELETE FROM outbox_events e
+          USING batch b
+          WHERE e.id = b.id
+          """,
+      nativeQuery = true)
+  int pruneBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
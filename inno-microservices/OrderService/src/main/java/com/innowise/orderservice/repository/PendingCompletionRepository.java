@@ -0,0 +1,137 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+import com.innowise.orderservice.model.dto.PendingCompletion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the orders accepted by {@code OrderService#acceptAsync} that have not been completed yet.
+ *
+ * <p>A row is written in the accepting transaction and removed in the transaction that completes
+ * or rejects the order, so an accepted order is never lost to a crash, a restart or a full
+ * executor. Removing the row is also what makes a completion take effect only once: a second
+ * completion of the same order finds nothing to remove.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PendingCompletionRepository {
+  private static final String ADD =
+      """
+      INSERT INTO pending_order_completions
+          (order_id, user_id, user_email, total_amount, creation_date, next_attempt_at)
+      VALUES (:orderId, :userId, :userEmail, :totalAmount, :creationDate, :nextAttemptAt)
+      """;
+
+  private static final String CLAIM_DUE =
+      """
+      WITH due AS (
+          SELECT order_id FROM pending_order_completions
+          WHERE next_attempt_at <= :now
+          ORDER BY next_attempt_at
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+      )
+      UPDATE pending_order_completions p
+      SET attempts = p.attempts + 1,
+          next_attempt_at = CAST(:now AS timestamptz)
+              + LEAST(:backoffMs * power(2, p.attempts), :maxBackoffMs) * interval '1 millisecond'
+      FROM due
+      WHERE p.order_id = due.order_id
+      RETURNING p.order_id, p.user_id, p.user_email, p.total_amount, p.creation_date, p.attempts
+      """;
+
+  private static final String RELEASE =
+      """
+      UPDATE pending_order_completions
+      SET attempts = GREATEST(attempts - 1, 0),
+          next_attempt_at = :now
+      WHERE order_id = :orderId
+      """;
+
+  private static final String REMOVE =
+      "DELETE FROM pending_order_completions WHERE order_id = :orderId";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Records an accepted order. Must be called in the transaction that persists the order.
+   *
+   * @param order the accepted order
+   * @param nextAttemptAt when the order is due for completion if nothing completes it before
+   */
+  public void add(OrderAcceptedEvent order, Instant nextAttemptAt) {
+    jdbcTemplate.update(
+        ADD,
+        new MapSqlParameterSource("orderId", order.orderId())
+            .addValue("userId", order.userId())
+            .addValue("userEmail", order.userEmail())
+            .addValue("totalAmount", order.totalAmount())
+            .addValue("creationDate", order.creationDate())
+            .addValue("nextAttemptAt", Timestamp.from(nextAttemptAt)));
+  }
+
+  /**
+   * Claims up to {@code limit} orders that are due, oldest first, counting the attempt and
+   * postponing their next one by {@code backoff}, doubled for every earlier attempt and capped at
+   * {@code maxBackoff}. Rows claimed by another instance are skipped.
+   *
+   * @param now the current time
+   * @param backoff the delay after the first attempt
+   * @param maxBackoff the longest delay between two attempts
+   * @param limit the maximum number of orders to claim
+   * @return the claimed orders
+   */
+  @Transactional
+  public List<PendingCompletion> claimDue(
+      Instant now, Duration backoff, Duration maxBackoff, int limit) {
+    return jdbcTemplate.query(
+        CLAIM_DUE,
+        new MapSqlParameterSource("now", Timestamp.from(now))
+            .addValue("backoffMs", backoff.toMillis())
+            .addValue("maxBackoffMs", maxBackoff.toMillis())
+            .addValue("limit", limit),
+        (resultSet, rowNum) ->
+            new PendingCompletion(
+                new OrderAcceptedEvent(
+                    resultSet.getLong("order_id"),
+                    resultSet.getLong("user_id"),
+                    resultSet.getString("user_email"),
+                    resultSet.getBigDecimal("total_amount"),
+                    resultSet.getObject("creation_date", LocalDate.class)),
+                resultSet.getInt("attempts")));
+  }
+
+  /**
+   * Undoes a claim that could not be handed to a worker, making the order due again without
+   * counting the attempt.
+   *
+   * @param orderId the ID of the order
+   * @param now the current time
+   */
+  @Transactional
+  public void release(Long orderId, Instant now) {
+    jdbcTemplate.update(
+        RELEASE,
+        new MapSqlParameterSource("orderId", orderId).addValue("now", Timestamp.from(now)));
+  }
+
+  /**
+   * Removes an accepted order, locking its row until the caller's transaction ends.
+   *
+   * @param orderId the ID of the order
+   * @return {@code true} if the order was still pending completion
+   */
+  public boolean remove(Long orderId) {
+    return jdbcTemplate.update(REMOVE, new MapSqlParameterSource("orderId", orderId)) > 0;
+  }
+}
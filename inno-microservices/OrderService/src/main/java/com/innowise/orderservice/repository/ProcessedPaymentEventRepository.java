@@ -0,0 +1,84 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the ids of payment events that have already been applied to orders.
+ *
+ * <p>Marking and checking is a single {@code INSERT ... ON CONFLICT DO NOTHING} executed in the
+ * caller's transaction, so a duplicate delivery costs one statement and an event is only recorded
+ * if the status change it caused is committed as well. {@code ProcessedEventPruner} removes entries
+ * once Kafka can no longer redeliver their events.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedPaymentEventRepository {
+  private static final String MARK_PROCESSED =
+      """
+      INSERT INTO processed_payment_events (payment_id, order_id)
+      SELECT * FROM unnest(?::varchar[], ?::bigint[])
+      ON CONFLICT (payment_id) DO NOTHING
+      RETURNING payment_id
+      """;
+
+  private static final String PRUNE_BATCH =
+      """
+      WITH batch AS (
+          SELECT payment_id FROM processed_payment_events
+          WHERE processed_at < ?
+          ORDER BY processed_at
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED
+      )
+      DELETE FROM processed_payment_events e
+      USING batch b
+      WHERE e.payment_id = b.payment_id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Records the given events as processed. Events without a payment id cannot be deduplicated and
+   * are never recorded, so one of them cannot fail the insert for the rest of the batch; they are
+   * absent from the result like duplicates.
+   *
+   * @param events the events to record
+   * @return the payment ids that were not recorded before, i.e. the events that still have to be
+   *     applied
+   */
+  public Set<String> markProcessed(Collection<PaymentCreatedEvent> events) {
+    List<PaymentCreatedEvent> identified =
+        events.stream().filter(event -> event.paymentId() != null).toList();
+    if (identified.isEmpty()) {
+      return Set.of();
+    }
+    String[] paymentIds =
+        identified.stream().map(PaymentCreatedEvent::paymentId).toArray(String[]::new);
+    Long[] orderIds = identified.stream().map(PaymentCreatedEvent::orderId).toArray(Long[]::new);
+    return new HashSet<>(
+        jdbcTemplate.queryForList(MARK_PROCESSED, String.class, paymentIds, orderIds));
+  }
+
+  /**
+   * Removes up to {@code limit} entries processed before {@code cutoff}, oldest first.
+   *
+   * @param cutoff entries processed before this instant are removed
+   * @param limit the maximum number of entries to remove
+   * @return the number of entries removed
+   */
+  @Transactional
+  public int pruneBatch(Instant cutoff, int limit) {
+    return jdbcTemplate.update(PRUNE_BATCH, Timestamp.from(cutoff), limit);
+  }
+}
@@ -0,0 +1,129 @@
+package com.innowise.orderservice.repository;
+
+import com.innowise.orderservice.model.dto.UserOrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Maintains {@code user_order_summary}, one row of aggregated order figures per user.
+ *
+ * <p>Every method applies a delta in the caller's transaction instead of recounting the user's
+ * orders, so the row stays consistent with the order change that caused it. Order totals are taken
+ * from the search index, which records the total at creation time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserOrderSummaryRepository {
+  private static final String FIND =
+      """
+      SELECT user_id, order_count, total_spent, last_order_date
+      FROM user_order_summary
+      WHERE user_id = :userId
+      """;
+
+  private static final String ORDER_PLACED =
+      """
+      INSERT INTO user_order_summary (user_id, order_count, total_spent, last_order_date)
+      VALUES (:userId, 1, 0, :creationDate)
+      ON CONFLICT (user_id) DO UPDATE SET
+          order_count = user_order_summary.order_count + 1,
+          last_order_date = GREATEST(user_order_summary.last_order_date, EXCLUDED.last_order_date),
+          updated_at = now()
+      """;
+
+  private static final String ADD_SPENT =
+      """
+      UPDATE user_order_summary s
+      SET total_spent = s.total_spent + :sign * paid.amount,
+          updated_at = now()
+      FROM (SELECT o.user_id, sum(os.total_amount) AS amount
+            FROM orders o
+            JOIN order_search os ON os.order_id = o.id
+            WHERE o.id IN (:orderIds)
+            GROUP BY o.user_id) paid
+      WHERE s.user_id = paid.user_id
+      """;
+
+  private static final String ORDER_REMOVED =
+      """
+      UPDATE user_order_summary
+      SET order_count = GREATEST(order_count - 1, 0),
+          total_spent = total_spent - CASE WHEN :paid
+              THEN COALESCE((SELECT total_amount FROM order_search WHERE order_id = :orderId), 0)
+              ELSE 0 END,
+          last_order_date = (SELECT max(creation_date) FROM orders
+                             WHERE user_id = :userId AND id <> :orderId
+                                 AND deleted_at IS NULL),
+          updated_at = now()
+      WHERE user_id = :userId
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * @param userId the user ID
+   * @return the user's summary, empty if the user has no orders yet
+   */
+  public Optional<UserOrderSummary> findByUserId(Long userId) {
+    return jdbcTemplate
+        .query(
+            FIND,
+            new MapSqlParameterSource("userId", userId),
+            (resultSet, rowNum) ->
+                new UserOrderSummary(
+                    resultSet.getLong("user_id"),
+                    resultSet.getLong("order_count"),
+                    resultSet.getBigDecimal("total_spent"),
+                    resultSet.getObject("last_order_date", LocalDate.class)))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Counts a new order of the user.
+   *
+   * @param userId the user ID
+   * @param creationDate the creation date of the order
+   */
+  public void recordOrderPlaced(Long userId, LocalDate creationDate) {
+    jdbcTemplate.update(
+        ORDER_PLACED,
+        new MapSqlParameterSource("userId", userId).addValue("creationDate", creationDate));
+  }
+
+  /**
+   * Adds the totals of the given orders to, or removes them from, their users' spending.
+   *
+   * @param orderIds the orders that became paid or stopped being paid
+   * @param paid {@code true} to add the totals, {@code false} to subtract them
+   */
+  public void recordPaymentChange(Collection<Long> orderIds, boolean paid) {
+    if (orderIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        ADD_SPENT,
+        new MapSqlParameterSource("orderIds", orderIds).addValue("sign", paid ? 1 : -1));
+  }
+
+  /**
+   * Removes an order from its user's figures. Must be called before the order is deleted.
+   *
+   * @param orderId the order ID
+   * @param userId the ID of the user owning the order
+   * @param paid whether the order currently counts as paid
+   */
+  public void recordOrderRemoved(Long orderId, Long userId, boolean paid) {
+    jdbcTemplate.update(
+        ORDER_REMOVED,
+        new MapSqlParameterSource("orderId", orderId)
+            .addValue("userId", userId)
+            .addValue("paid", paid));
+  }
+}
@@ -0,0 +1,118 @@
+package com.innowise.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.exception.NotFoundException;
+import com.innowise.orderservice.model.dto.CatalogItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * In-process cache of the item catalog used to price order lines without a database round trip.
+ *
+ * <p>The catalog is loaded when the application is ready. Items are not written by this service,
+ * so changes arrive from the database: the {@code items} triggers notify {@link
+ * ItemChangeListener} when any writer commits an edit, which {@linkplain #evict(Long) evicts} the
+ * entry at once. Notifications are not durable, so rows whose {@code updated_at} moved past the
+ * last seen value are also reloaded on a fixed delay as a backstop; the lookback covers
+ * transactions that committed after a later one was already read. At most {@code
+ * catalog.max-size} entries are kept, the least valuable ones are evicted, and a miss falls back
+ * to the database.
+ *
+ * <p>Lookups are counted in {@code order.item.catalog.requests} tagged with {@code result=hit} or
+ * {@code result=miss}; the hit ratio is published as {@code order.item.catalog.hit.ratio}.
+ */
+@Slf4j
+@Service
+public class ItemCatalog {
+  private static final Duration REFRESH_LOOKBACK = Duration.ofMinutes(1);
+
+  private final ItemRepository itemRepository;
+  private final Cache<Long, CatalogItem> items;
+  private final Counter hits;
+  private final Counter misses;
+  private volatile Instant watermark = Instant.EPOCH;
+
+  public ItemCatalog(
+      ItemRepository itemRepository,
+      MeterRegistry meterRegistry,
+      @Value("${catalog.max-size:10000}") long maxSize) {
+    this.itemRepository = itemRepository;
+    // eviction runs on the writing thread, which keeps the bound exact and costs little here
+    this.items = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).build();
+    this.hits = meterRegistry.counter("order.item.catalog.requests", "result", "hit");
+    this.misses = meterRegistry.counter("order.item.catalog.requests", "result", "miss");
+    Gauge.builder("order.item.catalog.size", items, Cache::estimatedSize).register(meterRegistry);
+    Gauge.builder("order.item.catalog.hit.ratio", this, ItemCatalog::hitRatio)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the catalog entry of the given item.
+   *
+   * @param id the ID of the item
+   * @return the catalog entry
+   * @throws NotFoundException if the item does not exist
+   */
+  public CatalogItem get(Long id) {
+    CatalogItem item = items.getIfPresent(id);
+    if (item != null) {
+      hits.increment();
+      return item;
+    }
+    misses.increment();
+    CatalogItem loaded =
+        itemRepository.findCatalogItemById(id).orElseThrow(() -> new NotFoundException(id));
+    items.put(id, loaded);
+    return loaded;
+  }
+
+  /**
+   * Drops the entry of the given item, so the next lookup reads it from the database.
+   *
+   * @param id the ID of the item
+   */
+  public void evict(Long id) {
+    items.invalidate(id);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void warmUp() {
+    items.invalidateAll();
+    watermark = Instant.EPOCH;
+    refresh();
+    log.info("Item catalog warmed up with {} items", items.estimatedSize());
+  }
+
+  @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:5000}")
+  @Transactional(readOnly = true)
+  public void refresh() {
+    Instant since = watermark.equals(Instant.EPOCH) ? watermark : watermark.minus(REFRESH_LOOKBACK);
+    List<CatalogItem> changed = itemRepository.findCatalogItemsUpdatedAfter(since);
+    for (CatalogItem item : changed) {
+      items.put(item.id(), item);
+      if (item.updatedAt().isAfter(watermark)) {
+        watermark = item.updatedAt();
+      }
+    }
+  }
+
+  private double hitRatio() {
+    double total = hits.count() + misses.count();
+    return total == 0 ? 0 : hits.count() / total;
+  }
+}
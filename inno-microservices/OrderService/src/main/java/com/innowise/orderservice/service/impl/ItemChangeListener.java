@@ -0,0 +1,113 @@
+package com.innowise.orderservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Evicts {@link ItemCatalog} entries as soon as their item changes, using PostgreSQL {@code
+ * LISTEN}/{@code NOTIFY}.
+ *
+ * <p>The {@code items_notify_changed} trigger sends the ID of every updated or deleted item on the
+ * {@value #CHANNEL} channel. PostgreSQL delivers it when the writing transaction commits, whoever
+ * the writer is, and drops it on rollback. One connection of the primary pool stays subscribed on a
+ * virtual thread. When it is lost the listener reconnects after {@code
+ * catalog.notifications.reconnect-delay-ms} and refreshes the catalog, since notifications sent in
+ * between are gone; the scheduled {@link ItemCatalog#refresh()} covers the same gap.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    prefix = "catalog.notifications",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ItemChangeListener implements SmartLifecycle {
+  static final String CHANNEL = "item_changed";
+
+  private final DataSource dataSource;
+  private final ItemCatalog itemCatalog;
+  private final int pollTimeoutMs;
+  private final long reconnectDelayMs;
+  private volatile boolean running;
+  private Thread thread;
+
+  public ItemChangeListener(
+      DataSource dataSource,
+      ItemCatalog itemCatalog,
+      @Value("${catalog.notifications.poll-timeout-ms:1000}") int pollTimeoutMs,
+      @Value("${catalog.notifications.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+    this.dataSource = dataSource;
+    this.itemCatalog = itemCatalog;
+    this.pollTimeoutMs = pollTimeoutMs;
+    this.reconnectDelayMs = reconnectDelayMs;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    thread = Thread.ofVirtual().name("item-change-listener").start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    thread.interrupt();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    boolean reconnected = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        subscribe(connection);
+        if (reconnected) {
+          itemCatalog.refresh();
+        }
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] received = notifications.getNotifications(pollTimeoutMs);
+          if (received != null) {
+            for (PGNotification notification : received) {
+              itemCatalog.evict(Long.valueOf(notification.getParameter()));
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Item change notifications lost, reconnecting: {}", e.getMessage(), e);
+        reconnected = true;
+        try {
+          Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  private static void subscribe(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LISTEN " + CHANNEL);
+    }
+    if (!connection.getAutoCommit()) {
+      // LISTEN only takes effect once its transaction commits
+      connection.commit();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.ArchiveProperties;
+import com.innowise.orderservice.repository.OrderArchiveRepository;
+import com.innowise.orderservice.util.BatchedRuns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Periodically moves finished orders older than {@link ArchiveProperties#olderThan()} out of the
+ * live {@code orders} table into the partitioned archive.
+ *
+ * <p>The monthly partitions an archived order lands in are created up front, then the orders are
+ * moved with a delete-returning-insert per batch, so an order is either live or archived, never
+ * both or neither.
+ *
+ * <p>Archiving is visible to clients: an archived order disappears from every live order endpoint,
+ * including lookups by id, and can only be read through {@code GET /api/v1/orders/archived}. It is
+ * read-only from then on. The job is disabled unless {@code order.archive.enabled} is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.archive", name = "enabled", havingValue = "true")
+public class OrderArchiver {
+
+  private final OrderArchiveRepository orderArchiveRepository;
+  private final ArchiveProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+  public void archive() {
+    LocalDate cutoff = LocalDate.now().minus(properties.olderThan());
+    orderArchiveRepository
+        .findArchivableMonths(properties.statuses(), cutoff)
+        .forEach(orderArchiveRepository::createMonthlyPartitions);
+
+    int total =
+        BatchedRuns.drain(
+            () -> archiveBatch(cutoff), properties.batchSize(), properties.maxBatches());
+    log.info("Archived {} orders created before {}", total, cutoff);
+  }
+
+  private int archiveBatch(LocalDate cutoff) {
+    Integer moved =
+        transactionTemplate.execute(
+            status ->
+                orderArchiveRepository.archiveBatch(
+                    properties.statuses(), cutoff, properties.batchSize()));
+    return moved == null ? 0 : moved;
+  }
+}
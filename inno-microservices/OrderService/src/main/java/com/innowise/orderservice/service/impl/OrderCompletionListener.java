@@ -0,0 +1,93 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.AsyncOrderProperties;
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+import com.innowise.orderservice.model.dto.PendingCompletion;
+import com.innowise.orderservice.repository.PendingCompletionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Completes asynchronously accepted orders on the bounded completion executor.
+ *
+ * <p>An accepted order is handed to the executor as soon as the accepting transaction has
+ * committed. Whatever that does not complete, because the executor is full, the user service is
+ * unavailable or the instance went down, is still in {@code pending_order_completions} and is
+ * picked up by {@link #sweep()} once {@link AsyncOrderProperties#sweepAfter()} has passed. The
+ * sweep retries an order with exponential backoff and rejects it after {@link
+ * AsyncOrderProperties#maxAttempts()} attempts, so no order stays {@code PENDING} for good. The
+ * user service is only ever called from the executor.
+ */
+@Slf4j
+@Component
+public class OrderCompletionListener {
+
+  private final OrderService orderService;
+  private final PendingCompletionRepository pendingCompletionRepository;
+  private final TaskExecutor executor;
+  private final AsyncOrderProperties properties;
+
+  public OrderCompletionListener(
+      OrderService orderService,
+      PendingCompletionRepository pendingCompletionRepository,
+      @Qualifier("orderCompletionExecutor") TaskExecutor executor,
+      AsyncOrderProperties properties) {
+    this.orderService = orderService;
+    this.pendingCompletionRepository = pendingCompletionRepository;
+    this.executor = executor;
+    this.properties = properties;
+  }
+
+  @TransactionalEventListener
+  public void onOrderAccepted(OrderAcceptedEvent event) {
+    try {
+      executor.execute(() -> complete(event));
+    } catch (TaskRejectedException e) {
+      log.debug("Completion executor is full, order {} is left to the sweep", event.orderId());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${order.async.sweep-interval-ms:5000}")
+  public void sweep() {
+    Instant now = Instant.now();
+    List<PendingCompletion> due =
+        pendingCompletionRepository.claimDue(
+            now, properties.retryBackoff(), properties.maxBackoff(), properties.sweepBatchSize());
+    for (PendingCompletion pending : due) {
+      OrderAcceptedEvent event = pending.order();
+      if (pending.attempts() > properties.maxAttempts()) {
+        log.error(
+            "Rejecting order {}: its user could not be checked in {} attempts",
+            event.orderId(),
+            properties.maxAttempts());
+        orderService.abandonAccepted(event);
+        continue;
+      }
+      try {
+        executor.execute(() -> complete(event));
+      } catch (TaskRejectedException e) {
+        pendingCompletionRepository.release(event.orderId(), now);
+      }
+    }
+  }
+
+  private void complete(OrderAcceptedEvent event) {
+    try {
+      orderService.completeAccepted(
+          event, orderService.findUserByEmail(event.userEmail()).orElse(null));
+    } catch (RuntimeException e) {
+      log.warn(
+          "Failed to complete accepted order {}, the sweep will retry it: {}",
+          event.orderId(),
+          e.getMessage());
+    }
+  }
+}
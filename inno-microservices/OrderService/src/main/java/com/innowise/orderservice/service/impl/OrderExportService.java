@@ -0,0 +1,183 @@
+package com.innowise.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innowise.orderservice.config.OrderExportProperties;
+import com.innowise.orderservice.mapper.OrderMapper;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports orders as newline-delimited JSON for reporting.
+ *
+ * <p>Orders are read through a server-side cursor and written in chunks: the items of each chunk
+ * are loaded with one fetch-join, the chunk is written and the persistence context is cleared.
+ * Memory use therefore depends on the chunk size only, not on the size of the export. Orders are
+ * exported as stored, without calls to the User Service.
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+  private static final int FETCH_SIZE = 500;
+  private static final int CHUNK_SIZE = 500;
+  private static final int SEND_BUFFER_SIZE = 64 * 1024;
+  private static final byte NEW_LINE = '\n';
+
+  private final OrderRepository orderRepository;
+  private final OrderMapper orderMapper;
+  private final ObjectMapper objectMapper;
+  private final AsyncTaskExecutor taskExecutor;
+  private final TransactionTemplate readOnlyTransaction;
+  private final OrderExportProperties properties;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  public OrderExportService(
+      OrderRepository orderRepository,
+      OrderMapper orderMapper,
+      ObjectMapper objectMapper,
+      @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+      PlatformTransactionManager transactionManager,
+      OrderExportProperties properties) {
+    this.orderRepository = orderRepository;
+    this.orderMapper = orderMapper;
+    this.objectMapper = objectMapper;
+    this.taskExecutor = taskExecutor;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.properties = properties;
+  }
+
+  /**
+   * Starts exporting every order matching the specification on the application task executor and
+   * returns the emitter the lines are sent through.
+   *
+   * <p>The emitter times out after {@link OrderExportProperties#timeout()}, so the long timeout
+   * applies to this request only. A timed-out export stops at its next write.
+   *
+   * @param specification the filters to apply
+   * @return the emitter to hand to Spring MVC as the response body
+   */
+  public ResponseBodyEmitter export(Specification<Order> specification) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(properties.timeout().toMillis());
+    taskExecutor.execute(
+        () -> {
+          try {
+            readOnlyTransaction.executeWithoutResult(status -> sendTo(emitter, specification));
+            emitter.complete();
+          } catch (RuntimeException e) {
+            log.warn("Order export stopped: {}", e.getMessage());
+            emitter.completeWithError(e);
+          }
+        });
+    return emitter;
+  }
+
+  /**
+   * Writes every order matching the specification to the stream, one JSON object per line.
+   *
+   * <p>The server-side cursor only lives as long as a transaction, so this must be called inside
+   * one. {@link #export(Specification)} opens a read-only transaction on the executor thread;
+   * {@code @Transactional} here would not, because that call does not go through the proxy.
+   *
+   * @param specification the filters to apply
+   * @param outputStream the stream to write to; it is flushed but not closed
+   * @throws IOException if writing to the stream fails
+   */
+  public void exportBySpecification(Specification<Order> specification, OutputStream outputStream)
+      throws IOException {
+    ObjectWriter writer = objectMapper.writerFor(OrderDto.class);
+    long exported = 0;
+
+    try (Stream<Order> orders = orderRepository.streamAll(specification, FETCH_SIZE)) {
+      Iterator<Order> iterator = orders.iterator();
+      List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+      while (iterator.hasNext()) {
+        chunk.add(iterator.next());
+        if (chunk.size() == CHUNK_SIZE) {
+          exported += writeChunk(chunk, writer, outputStream);
+        }
+      }
+      exported += writeChunk(chunk, writer, outputStream);
+    }
+
+    outputStream.flush();
+    log.debug("Exported {} orders", exported);
+  }
+
+  private void sendTo(ResponseBodyEmitter emitter, Specification<Order> specification) {
+    try (OutputStream outputStream =
+        new BufferedOutputStream(new EmitterOutputStream(emitter), SEND_BUFFER_SIZE)) {
+      exportBySpecification(specification, outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private int writeChunk(List<Order> chunk, ObjectWriter writer, OutputStream outputStream)
+      throws IOException {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> ids = chunk.stream().map(Order::getId).toList();
+    Map<Long, Order> withItems =
+        orderRepository.findWithItemsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+    for (Order order : chunk) {
+      outputStream.write(
+          writer.writeValueAsBytes(
+              orderMapper.toDto(withItems.getOrDefault(order.getId(), order))));
+      outputStream.write(NEW_LINE);
+    }
+
+    int written = chunk.size();
+    chunk.clear();
+    entityManager.clear();
+    return written;
+  }
+
+  /** Sends every write to the emitter as one chunk of the response. */
+  @RequiredArgsConstructor
+  private static final class EmitterOutputStream extends OutputStream {
+    private final ResponseBodyEmitter emitter;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      emitter.send(
+          Arrays.copyOfRange(bytes, offset, offset + length), MediaType.APPLICATION_NDJSON);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.PurgeProperties;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.util.BatchedRuns;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Periodically removes orders that were soft-deleted more than {@link PurgeProperties#olderThan()}
+ * ago, together with their items and search index entries.
+ *
+ * <p>It runs every few minutes during quiet hours only, so a large backlog left by a bulk delete
+ * is worked off over the night instead of competing with live traffic for locks and I/O.
+ *
+ * <p>Disabled unless {@code order.purge.enabled} is {@code true}: deleting rows is irreversible,
+ * so each deployment opts in explicitly.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "order.purge",
+    name = "enabled",
+    havingValue = "true")
+public class OrderPurger {
+
+  private final OrderRepository orderRepository;
+  private final PurgeProperties properties;
+
+  @Scheduled(cron = "${order.purge.cron:0 */10 1-5 * * *}")
+  public void purge() {
+    Instant cutoff = Instant.now().minus(properties.olderThan());
+    int total =
+        BatchedRuns.drain(
+            () -> orderRepository.purgeBatch(cutoff, properties.batchSize()),
+            properties.batchSize(),
+            properties.maxBatches());
+    log.info("Purged {} orders deleted before {}", total, cutoff);
+  }
+}
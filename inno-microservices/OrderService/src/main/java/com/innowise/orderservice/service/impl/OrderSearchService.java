@@ -0,0 +1,119 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.messaging.event.OrderChangedEvent;
+import com.innowise.orderservice.messaging.event.OrderDeletedEvent;
+import com.innowise.orderservice.messaging.event.OrderStatusesChangedEvent;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderSearchQuery;
+import com.innowise.orderservice.model.dto.OrderSearchResult;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+import com.innowise.orderservice.repository.OrderSearchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the order search index in step with orders and answers support searches from it.
+ *
+ * <p>The index is updated from the order events published by {@link OrderService}, just before
+ * the publishing transaction commits, so an order and its index entry are always committed
+ * together. Soft-deleted orders are removed from the index in the deleting transaction; archived
+ * and purged orders leave it through a cascading foreign key.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderSearchService {
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final OrderSearchRepository orderSearchRepository;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * Searches orders.
+   *
+   * @param query the filters to apply
+   * @param pageable the page to return; the size is clamped to {@code [1, 100]}
+   * @return the matching orders of the page and facet counts of all matching orders
+   */
+  @Transactional(readOnly = true)
+  public OrderSearchResult search(OrderSearchQuery query, Pageable pageable) {
+    int size = Math.clamp(pageable.getPageSize(), 1, MAX_PAGE_SIZE);
+    return orderSearchRepository.search(query, (long) pageable.getPageNumber() * size, size);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onOrderChanged(OrderChangedEvent event) {
+    entityManager.flush();
+    orderSearchRepository.upsert(List.of(event.orderId()));
+  }
+
+  /**
+   * Collects the status change; all changes of a transaction are written to the index in one
+   * statement just before it commits. Changes published outside a transaction are ignored.
+   *
+   * @param update the status change
+   */
+  @EventListener
+  public void onStatusChanged(OrderStatusUpdate update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      pendingStatuses().statuses.put(update.orderId(), update.status());
+    }
+  }
+
+  /**
+   * Collects the status changes of a set-based update, see {@link #onStatusChanged}.
+   *
+   * @param event the status changes
+   */
+  @EventListener
+  public void onStatusesChanged(OrderStatusesChangedEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      event
+          .updates()
+          .forEach(update -> pendingStatuses().statuses.put(update.orderId(), update.status()));
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onOrderDeleted(OrderDeletedEvent event) {
+    orderSearchRepository.delete(event.orderId());
+  }
+
+  /**
+   * Looks the collector up among the synchronizations rather than binding it as a resource, so a
+   * nested {@code REQUIRES_NEW} transaction, which suspends the synchronizations, gets its own.
+   */
+  private PendingStatuses pendingStatuses() {
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof PendingStatuses pending) {
+        return pending;
+      }
+    }
+    PendingStatuses pending = new PendingStatuses();
+    TransactionSynchronizationManager.registerSynchronization(pending);
+    return pending;
+  }
+
+  private final class PendingStatuses implements TransactionSynchronization {
+    private final Map<Long, StatusEnum> statuses = new LinkedHashMap<>();
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      orderSearchRepository.updateStatuses(statuses);
+    }
+  }
+}
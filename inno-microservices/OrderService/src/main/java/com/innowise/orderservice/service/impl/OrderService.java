@@ -1,50 +1,94 @@
 package com.innowise.orderservice.service.impl;
 
-import com.innowise.orderservice.client.UserServiceClient;
+import com.innowise.orderservice.client.ResilientUserServiceClient;
+import com.innowise.orderservice.config.AsyncOrderProperties;
 import com.innowise.orderservice.exception.CircuitBreakerOpenException;
 import com.innowise.orderservice.exception.CredentialsMismatchException;
+import com.innowise.orderservice.exception.IllegalStatusTransitionException;
 import com.innowise.orderservice.exception.NotFoundException;
 import com.innowise.orderservice.exception.RetrieveUserException;
 import com.innowise.orderservice.exception.UpdateException;
+import com.innowise.orderservice.exception.UserServiceTimeoutException;
 import com.innowise.orderservice.mapper.OrderMapper;
-import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.messaging.OrderOutbox;
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+import com.innowise.orderservice.messaging.event.OrderChangedEvent;
 import com.innowise.orderservice.messaging.event.OrderCreatedEvent;
+import com.innowise.orderservice.messaging.event.OrderDeletedEvent;
+import com.innowise.orderservice.messaging.event.OrderStatusesChangedEvent;
 import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.BulkStatusResult;
+import com.innowise.orderservice.model.dto.CatalogItem;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
 import com.innowise.orderservice.model.dto.OrderDto;
 import com.innowise.orderservice.model.dto.OrderItemDto;
+import com.innowise.orderservice.model.dto.OrderRevision;
+import com.innowise.orderservice.model.dto.OrderStatusChange;
+import com.innowise.orderservice.model.dto.OrderStatusTransition;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
 import com.innowise.orderservice.model.dto.OrderUserDto;
 import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.model.dto.UserOrderSummary;
+import com.innowise.orderservice.model.dto.VersionedOrder;
 import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
 import com.innowise.orderservice.model.entity.OrderItem;
 import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderArchiveRepository;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.repository.PendingCompletionRepository;
+import com.innowise.orderservice.repository.ProcessedPaymentEventRepository;
+import com.innowise.orderservice.repository.UserOrderSummaryRepository;
 import com.innowise.orderservice.service.CrudService;
+import com.innowise.orderservice.util.OrderCursorCodec;
 import com.innowise.orderservice.util.OrderSpecifications;
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
+  static final int MAX_SCROLL_SIZE = 100;
+
   private final OrderRepository orderRepository;
+  private final OrderProjectionRepository orderProjectionRepository;
+  private final OrderArchiveRepository orderArchiveRepository;
   private final ItemRepository itemRepository;
+  private final ItemCatalog itemCatalog;
   private final OrderMapper orderMapper;
-  private final UserServiceClient userServiceClient;
-  private final OrderEventProducer orderEventProducer;
+  private final ResilientUserServiceClient userServiceClient;
+  private final OrderOutbox orderOutbox;
+  private final ProcessedPaymentEventRepository processedPaymentEventRepository;
+  private final UserOrderSummaryRepository userOrderSummaryRepository;
+  private final PendingCompletionRepository pendingCompletionRepository;
+  private final AsyncOrderProperties asyncOrderProperties;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   @Override
@@ -60,15 +104,119 @@ public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
     BigDecimal totalAmount = countTotalCost(dto, entity);
 
     Order saved = orderRepository.save(entity);
+    userOrderSummaryRepository.recordOrderPlaced(saved.getUserId(), saved.getCreationDate());
 
-    orderEventProducer.publishOrderCreated(
+    orderOutbox.enqueueOrderCreated(
         new OrderCreatedEvent(saved.getId(), saved.getUserId(), totalAmount, Instant.now()));
+    eventPublisher.publishEvent(new OrderChangedEvent(saved.getId()));
 
     OrderDto savedDto = orderMapper.toDto(saved);
     orderUserDto.setOrderDto(savedDto);
     return orderUserDto;
   }
 
+  /**
+   * Persists a new order as {@link StatusEnum#PENDING} without waiting for the user service.
+   *
+   * <p>Item lookups and pricing happen synchronously, so unknown items are still rejected with the
+   * request. The user check, the user's order count and the order-created event are deferred to
+   * {@link #completeAccepted(OrderAcceptedEvent, UserDto)}. The order is recorded in {@link
+   * PendingCompletionRepository} in the same transaction, so it is completed even if the process
+   * dies before {@link OrderCompletionListener} gets to it.
+   *
+   * @param dto the order to create
+   * @return the persisted order
+   */
+  @Transactional
+  public OrderDto acceptAsync(OrderDto dto) {
+    Order entity = orderMapper.toEntity(dto);
+    entity.setStatus(StatusEnum.PENDING);
+    BigDecimal totalAmount = countTotalCost(dto, entity);
+
+    Order saved = orderRepository.save(entity);
+    OrderAcceptedEvent accepted =
+        new OrderAcceptedEvent(
+            saved.getId(),
+            saved.getUserId(),
+            saved.getUserEmail(),
+            totalAmount,
+            saved.getCreationDate());
+    pendingCompletionRepository.add(
+        accepted, Instant.now().plus(asyncOrderProperties.sweepAfter()));
+
+    eventPublisher.publishEvent(new OrderChangedEvent(saved.getId()));
+    eventPublisher.publishEvent(accepted);
+    return orderMapper.toDto(saved);
+  }
+
+  /**
+   * Looks up the user of an accepted order. Kept apart from {@link
+   * #completeAccepted(OrderAcceptedEvent, UserDto)} so that no transaction is open during the
+   * remote call.
+   *
+   * @param email the email of the user
+   * @return the user, empty if the user service does not know the email
+   * @throws RuntimeException any other failure to reach the user service, such as an open circuit
+   *     breaker, a full bulkhead, a timeout or a 5xx, as is
+   */
+  public Optional<UserDto> findUserByEmail(String email) {
+    try {
+      return userServiceClient.getUserByEmail("email", email).stream().findFirst();
+    } catch (FeignException.NotFound e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Finishes an order accepted by {@link #acceptAsync(OrderDto)} once its user has been looked up:
+   * counts the order for the user and enqueues the order-created event, or moves the order to
+   * {@link StatusEnum#REJECTED} if the user does not exist or has a different id. This mirrors the
+   * checks {@link #create(OrderDto)} makes before responding.
+   *
+   * <p>The order is removed from {@link PendingCompletionRepository} in the same transaction, and
+   * nothing happens if it is no longer there, so an order completed twice, or deleted in the
+   * meantime, takes effect at most once.
+   *
+   * @param event the accepted order
+   * @param user the user found by the order's email, or {@code null} if there is none
+   */
+  @Transactional
+  public void completeAccepted(OrderAcceptedEvent event, UserDto user) {
+    if (!claimPendingCompletion(event)) {
+      return;
+    }
+    if (user == null) {
+      log.warn("Rejecting order {}: user '{}' not found", event.orderId(), event.userEmail());
+    } else if (Objects.equals(user.id(), event.userId())) {
+      userOrderSummaryRepository.recordOrderPlaced(event.userId(), event.creationDate());
+      orderOutbox.enqueueOrderCreated(
+          new OrderCreatedEvent(
+              event.orderId(), event.userId(), event.totalAmount(), Instant.now()));
+      return;
+    } else {
+      log.warn(
+          "Rejecting order {}: userId {} does not match user {} of '{}'",
+          event.orderId(),
+          event.userId(),
+          user.id(),
+          event.userEmail());
+    }
+    reject(event);
+  }
+
+  /**
+   * Moves an accepted order whose user could not be checked within the allowed attempts to {@link
+   * StatusEnum#REJECTED}, unless it has been completed or deleted in the meantime.
+   *
+   * @param event the accepted order
+   */
+  @Transactional
+  public void abandonAccepted(OrderAcceptedEvent event) {
+    if (claimPendingCompletion(event)) {
+      reject(event);
+    }
+  }
+
   @Transactional(readOnly = true)
   @Override
   public OrderUserDto findById(Long id) {
@@ -77,73 +225,431 @@ public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
             orderRepository.findById(id).orElseThrow(() -> new NotFoundException(id))));
   }
 
+  /**
+   * Retrieves an order combined with its user, along with the version and modification time of
+   * the order row for conditional requests.
+   *
+   * <p>The entity tag is computed first, from the row version and the user, without loading the
+   * order or its items. If {@code unchanged} accepts it together with the modification time, the
+   * client's copy is current and nothing else is read. The user is fetched once either way.
+   *
+   * @param id the order ID
+   * @param unchanged tells whether the client already holds the representation with the given
+   *     entity tag and modification time
+   * @return the order and its revision, empty if the client's copy is current
+   * @throws NotFoundException if the order does not exist
+   */
+  @Transactional(readOnly = true)
+  public Optional<VersionedOrder> findVersionedById(
+      Long id, BiPredicate<String, Instant> unchanged) {
+    OrderRevision revision =
+        orderRepository.findRevisionById(id).orElseThrow(() -> new NotFoundException(id));
+    UserDto user = fetchUser(revision.userEmail());
+    if (unchanged.test(VersionedOrder.etag(revision.version(), user), revision.updatedAt())) {
+      return Optional.empty();
+    }
+    Order order = orderRepository.findById(id).orElseThrow(() -> new NotFoundException(id));
+    return Optional.of(
+        new VersionedOrder(
+            new OrderUserDto(orderMapper.toDto(order), user),
+            order.getVersion(),
+            order.getUpdatedAt()));
+  }
+
   @Transactional(readOnly = true)
   @Override
   public Page<OrderUserDto> findAll(Pageable pageable) {
     return findBySpecification(OrderSpecifications.all(), pageable);
   }
 
+  /**
+   * Retrieves a page of orders matching the given specification.
+   *
+   * <p>The page is loaded in two phases: the orders of the page first, then their items and
+   * catalog entries with a single fetch-join over the ids of that page. This keeps the number of
+   * queries per page constant instead of growing with the number of orders and items.
+   *
+   * @param specification the filters to apply
+   * @param pageable the pagination information
+   * @return a page of orders combined with their users
+   */
+  @Transactional(readOnly = true)
   public Page<OrderUserDto> findBySpecification(
       Specification<Order> specification, Pageable pageable) {
-    return orderRepository
-        .findAll(specification, pageable)
+    Page<Order> page = orderRepository.findAll(specification, pageable);
+    Map<Long, Order> withItems = fetchOrderItems(page.getContent());
+    return page.map(order -> withItems.getOrDefault(order.getId(), order))
         .map(orderMapper::toDto)
         .map(this::combineWithUser);
   }
 
+  /**
+   * Retrieves a window of orders, newest first, through the projection read path.
+   *
+   * <p>Orders are mapped from a single joined SQL statement by {@link OrderProjectionRepository}
+   * instead of being hydrated as managed entities. As with {@link
+   * #scrollBySpecification(Specification, String, int)}, windows are read by keyset over {@code
+   * (creation_date, id)}, so no count query is issued and deep windows cost no more than the first.
+   *
+   * @param ids the IDs to filter by, ignored when {@code null} or empty
+   * @param statuses the statuses to filter by, ignored when {@code null} or empty
+   * @param cursor the continuation token of the previous window, or {@code null} for the first one
+   * @param size the maximum number of orders in the window, clamped to {@code [1, 100]}
+   * @return the window of orders combined with their users and the token for the next one
+   */
+  @Transactional(readOnly = true)
+  public OrderCursorPage findProjected(
+      Collection<Long> ids, Collection<StatusEnum> statuses, String cursor, int size) {
+    Window<OrderDto> window =
+        orderProjectionRepository.findWindow(
+            ids, statuses, OrderCursorCodec.decode(cursor), Math.clamp(size, 1, MAX_SCROLL_SIZE));
+    List<OrderUserDto> content = window.getContent().stream().map(this::combineWithUser).toList();
+    return new OrderCursorPage(content, OrderCursorCodec.nextCursor(window));
+  }
+
+  /**
+   * Retrieves a window of archived orders, newest first, combined with their users.
+   *
+   * <p>Finished orders moved out of {@code orders} by {@link OrderArchiver} are no longer returned
+   * by any other read; this is the only way to list them. Paging works as in {@link
+   * #findProjected(Collection, Collection, String, int)}.
+   *
+   * @param userId the user to filter by, ignored when {@code null}
+   * @param cursor the continuation token of the previous window, or {@code null} for the first one
+   * @param size the maximum number of orders in the window, clamped to {@code [1, 100]}
+   * @return the window of archived orders combined with their users and the token for the next one
+   */
+  @Transactional(readOnly = true)
+  public OrderCursorPage findArchived(Long userId, String cursor, int size) {
+    Window<OrderDto> window =
+        orderArchiveRepository.findWindow(
+            null, userId, OrderCursorCodec.decode(cursor), Math.clamp(size, 1, MAX_SCROLL_SIZE));
+    List<OrderUserDto> content = window.getContent().stream().map(this::combineWithUser).toList();
+    return new OrderCursorPage(content, OrderCursorCodec.nextCursor(window));
+  }
+
+  /**
+   * Retrieves an archived order combined with its user.
+   *
+   * @param id the order ID
+   * @return the archived order
+   * @throws NotFoundException if no archived order has the given ID
+   */
+  @Transactional(readOnly = true)
+  public OrderUserDto findArchivedById(Long id) {
+    OrderDto order =
+        orderArchiveRepository.findWindow(id, null, ScrollPosition.keyset(), 1).stream()
+            .findFirst()
+            .orElseThrow(() -> new NotFoundException(id));
+    return combineWithUser(order);
+  }
+
+  /**
+   * Retrieves a window of orders using keyset pagination over {@code (creation_date, id)}.
+   *
+   * <p>Unlike {@link #findBySpecification(Specification, Pageable)} no count query is issued and
+   * the cost of a window does not grow with its depth.
+   *
+   * @param specification the filters to apply
+   * @param cursor the continuation token of the previous window, or {@code null} for the first one
+   * @param size the maximum number of orders in the window, clamped to {@code [1, 100]}
+   * @return the window and the token for the next one
+   */
+  @Transactional(readOnly = true)
+  public OrderCursorPage scrollBySpecification(
+      Specification<Order> specification, String cursor, int size) {
+    Window<Order> window =
+        orderRepository.findBy(
+            specification,
+            query ->
+                query
+                    .sortBy(OrderCursorCodec.KEYSET_SORT)
+                    .limit(Math.clamp(size, 1, MAX_SCROLL_SIZE))
+                    .scroll(OrderCursorCodec.decode(cursor)));
+
+    Map<Long, Order> withItems = fetchOrderItems(window.getContent());
+    List<OrderUserDto> content =
+        window.getContent().stream()
+            .map(order -> withItems.getOrDefault(order.getId(), order))
+            .map(orderMapper::toDto)
+            .map(this::combineWithUser)
+            .toList();
+    return new OrderCursorPage(content, OrderCursorCodec.nextCursor(window));
+  }
+
   @Transactional
   @Override
   public OrderUserDto updateById(Long id, OrderDto dto) {
-    if (!orderRepository.existsById(id)) {
-      throw new UpdateException(id, new NotFoundException(id));
+    return updateById(id, dto, true);
+  }
+
+  /**
+   * Sets the status of an order.
+   *
+   * <p>The update and the read of the updated order, its items and its previous status are a
+   * single {@code UPDATE ... RETURNING} statement issued by {@link OrderProjectionRepository},
+   * which only moves the order along {@link StatusEnum#canTransitionTo(StatusEnum)}. Only when
+   * nothing was updated is the order's current status read, under the lock that statement took, to
+   * tell a missing order from a refused transition. Setting the status the order already has
+   * changes nothing and returns the order as it is, so the request can be repeated safely.
+   *
+   * @param id the order ID
+   * @param dto the order carrying the new status
+   * @param includeUser whether to fetch the user from the User Service for the response; when
+   *     {@code false} the returned user is {@code null} and no remote call is made
+   * @return the updated order, combined with its user if requested
+   * @throws UpdateException if the order does not exist or is deleted
+   * @throws IllegalStatusTransitionException if the order cannot move to the requested status
+   */
+  @Transactional
+  public OrderUserDto updateById(Long id, OrderDto dto, boolean includeUser) {
+    OrderDto updatedDto =
+        orderProjectionRepository
+            .updateStatus(id, dto.status())
+            .map(this::recordStatusChange)
+            .orElseGet(() -> unchangedOrder(id, dto.status()));
+    return includeUser ? combineWithUser(updatedDto) : new OrderUserDto(updatedDto, null);
+  }
+
+  /**
+   * Soft-deletes an order: it is marked as deleted, dropped from the user's summary and the search
+   * index, and hidden from every read. Neither its items nor the order entity are loaded, and the
+   * rows are removed later by {@link OrderPurger}. The order is locked before its status is read,
+   * so a concurrent status change cannot slip in between and leave the summary off. An accepted
+   * order that has not been completed yet was never counted, so it is only dropped from the
+   * pending completions.
+   *
+   * @param id the order ID
+   * @throws NotFoundException if the order does not exist or is already deleted
+   */
+  @Transactional
+  @Override
+  public void deleteById(Long id) {
+    OrderStatusUpdate order =
+        orderProjectionRepository.lockStatusUpdates(List.of(id)).stream()
+            .findFirst()
+            .orElseThrow(() -> new NotFoundException(id));
+    if (!pendingCompletionRepository.remove(id)) {
+      userOrderSummaryRepository.recordOrderRemoved(id, order.userId(), order.status().isPaid());
+    }
+    if (orderRepository.softDeleteById(id, Instant.now()) == 0) {
+      throw new NotFoundException(id);
+    }
+    eventPublisher.publishEvent(new OrderDeletedEvent(id));
+  }
+
+  /**
+   * Retrieves the order figures of a user from the {@code user_order_summary} projection, which
+   * {@link #create(OrderDto)}, {@link #completeAccepted(OrderAcceptedEvent, UserDto)}, {@link
+   * #updateById(Long, OrderDto)}, {@link #deleteById(Long)} and the payment handlers keep up to
+   * date. Orders moved to the archive stay counted.
+   *
+   * @param userId the user ID
+   * @return the user's summary, all zeros if the user has no orders
+   */
+  @Transactional(readOnly = true)
+  public UserOrderSummary findSummaryByUserId(Long userId) {
+    return userOrderSummaryRepository
+        .findByUserId(userId)
+        .orElseGet(() -> UserOrderSummary.empty(userId));
+  }
+
+  /**
+   * Applies a single payment event to its order.
+   *
+   * <p>The event id is recorded first; a duplicate delivery stops there, and an event without an
+   * id, which could not be deduplicated, is skipped with a warning. The status change is a
+   * conditional update restricted to the statuses allowed by {@link StatusEnum#sources()}, so an
+   * order that has already left {@link StatusEnum#PENDING} is left untouched.
+   *
+   * @param event the payment event
+   * @throws NotFoundException if the order does not exist
+   */
+  @Transactional
+  public void handlePaymentEvent(PaymentCreatedEvent event) {
+    if (!hasPaymentId(event)) {
+      return;
+    }
+    if (processedPaymentEventRepository.markProcessed(List.of(event)).isEmpty()) {
+      log.debug("Payment event {} has already been processed", event.paymentId());
+      return;
     }
 
-    int updated = orderRepository.updateById(id, dto.status());
+    StatusEnum targetStatus = mapPaymentStatus(event.status());
+    int updated =
+        orderRepository.transitionStatusByIdIn(
+            List.of(event.orderId()), targetStatus.sources(), targetStatus);
 
     if (updated == 0) {
-      throw new UpdateException(id);
+      if (!orderRepository.existsById(event.orderId())) {
+        log.warn(
+            "Order {} not found while handling payment event {}",
+            event.orderId(),
+            event.paymentId());
+        throw new NotFoundException(event.orderId());
+      }
+      log.debug(
+          "Order {} cannot move to {}, payment event {} ignored",
+          event.orderId(),
+          targetStatus,
+          event.paymentId());
+      return;
     }
 
-    OrderDto updatedDto =
-        orderMapper.toDto(
-            orderRepository.findOrderById(id).orElseThrow(() -> new NotFoundException(id)));
-    return combineWithUser(updatedDto);
+    log.debug(
+        "Order {} status updated to {} based on payment {}",
+        event.orderId(),
+        targetStatus,
+        event.paymentId());
+    if (targetStatus.isPaid()) {
+      userOrderSummaryRepository.recordPaymentChange(List.of(event.orderId()), true);
+    }
+    eventPublisher.publishEvent(
+        new OrderStatusUpdate(event.orderId(), event.userId(), targetStatus));
   }
 
+  /**
+   * Applies a batch of payment events with one set-based update per target status.
+   *
+   * <p>Events that have already been processed are dropped first, as are events without a payment
+   * id, which are logged instead of failing the whole batch. Since payment transitions all
+   * start from {@link StatusEnum#PENDING}, only the first remaining event of an order can take
+   * effect, exactly as if the events were applied one by one. Events for unknown orders or orders
+   * that have already moved on are skipped. The user order summary is updated for every order that
+   * was actually moved, and one {@link OrderStatusesChangedEvent} is published per target status.
+   *
+   * @param events the payment events in the order they were consumed
+   */
   @Transactional
-  @Override
-  public void deleteById(Long id) {
-    orderRepository.findOrderById(id).orElseThrow(() -> new NotFoundException(id));
-    orderRepository.deleteById(id);
+  public void handlePaymentEvents(List<PaymentCreatedEvent> events) {
+    Set<String> fresh =
+        processedPaymentEventRepository.markProcessed(
+            events.stream().filter(OrderService::hasPaymentId).toList());
+
+    Map<Long, StatusEnum> firstStatuses = new LinkedHashMap<>();
+    events.stream()
+        .filter(event -> fresh.contains(event.paymentId()))
+        .forEach(
+            event -> firstStatuses.putIfAbsent(event.orderId(), mapPaymentStatus(event.status())));
+
+    Map<StatusEnum, List<Long>> idsByStatus =
+        firstStatuses.entrySet().stream()
+            .collect(
+                Collectors.groupingBy(
+                    Map.Entry::getValue,
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+    idsByStatus.forEach(
+        (status, ids) -> {
+          List<OrderStatusTransition> moved = transitionInBulk(ids, status);
+          log.debug(
+              "{} of {} orders updated to {} from payment batch", moved.size(), ids.size(), status);
+        });
   }
 
+  /**
+   * Moves many orders to one status with a single set-based update restricted to {@link
+   * StatusEnum#sources()}, without loading the orders or calling the user service.
+   *
+   * <p>Locking the orders, reading their current statuses and moving the ones the state machine
+   * allows is one {@code UPDATE ... RETURNING} statement, see {@link
+   * OrderProjectionRepository#transitionStatuses(Collection, StatusEnum)}. The user order summary
+   * is adjusted from the statuses that statement replaced, and all changes are published as one
+   * {@link OrderStatusesChangedEvent}.
+   *
+   * @param ids the IDs of the orders, duplicates are applied once
+   * @param target the status to move the orders to
+   * @return the outcome for every distinct ID, in the order the IDs were given
+   */
   @Transactional
-  public void handlePaymentEvent(PaymentCreatedEvent event) {
-    orderRepository
-        .findById(event.orderId())
-        .ifPresentOrElse(
-            order -> {
-              StatusEnum targetStatus = mapPaymentStatus(event.status());
-              if (order.getStatus() != targetStatus) {
-                int updated = orderRepository.updateById(order.getId(), targetStatus);
-                if (updated == 0) {
-                  log.error("Update failed for Order with ID {}", order.getId());
-                  throw new UpdateException(order.getId());
-                }
-                log.debug(
-                    "Order {} status updated to {} based on payment {}",
-                    order.getId(),
-                    targetStatus,
-                    event.paymentId());
-              }
-            },
-            () -> {
-              log.warn(
-                  "Order {} not found while handling payment event {}",
-                  event.orderId(),
-                  event.paymentId());
-              throw new NotFoundException(event.orderId());
-            });
+  public List<BulkStatusResult> updateStatuses(List<Long> ids, StatusEnum target) {
+    List<Long> distinctIds = ids.stream().distinct().toList();
+    Map<Long, OrderStatusTransition> transitions =
+        orderProjectionRepository.transitionStatuses(distinctIds, target).stream()
+            .collect(Collectors.toMap(OrderStatusTransition::orderId, Function.identity()));
+    List<OrderStatusTransition> moved =
+        transitions.values().stream().filter(OrderStatusTransition::moved).toList();
+    log.debug("{} of {} orders updated to {} in bulk", moved.size(), distinctIds.size(), target);
+    recordTransitions(moved, target);
+    return distinctIds.stream()
+        .map(id -> bulkStatusResult(id, transitions.get(id), target))
+        .toList();
+  }
+
+  private List<OrderStatusTransition> transitionInBulk(List<Long> ids, StatusEnum target) {
+    List<OrderStatusTransition> moved =
+        orderProjectionRepository.transitionStatuses(ids, target).stream()
+            .filter(OrderStatusTransition::moved)
+            .toList();
+    recordTransitions(moved, target);
+    return moved;
+  }
+
+  /**
+   * Adjusts the user order summary for the moved orders whose paid state flipped and publishes the
+   * changes as one event.
+   */
+  private void recordTransitions(List<OrderStatusTransition> moved, StatusEnum target) {
+    if (moved.isEmpty()) {
+      return;
+    }
+    List<Long> flipped =
+        moved.stream()
+            .filter(transition -> transition.previousStatus().isPaid() != target.isPaid())
+            .map(OrderStatusTransition::orderId)
+            .toList();
+    if (!flipped.isEmpty()) {
+      userOrderSummaryRepository.recordPaymentChange(flipped, target.isPaid());
+    }
+    eventPublisher.publishEvent(
+        new OrderStatusesChangedEvent(
+            moved.stream()
+                .map(
+                    transition ->
+                        new OrderStatusUpdate(transition.orderId(), transition.userId(), target))
+                .toList()));
+  }
+
+  private static BulkStatusResult bulkStatusResult(
+      Long id, OrderStatusTransition transition, StatusEnum target) {
+    if (transition == null) {
+      return new BulkStatusResult(id, BulkStatusResult.Outcome.NOT_FOUND, null);
+    }
+    if (transition.moved()) {
+      return new BulkStatusResult(id, BulkStatusResult.Outcome.UPDATED, target);
+    }
+    BulkStatusResult.Outcome outcome =
+        transition.previousStatus() == target
+            ? BulkStatusResult.Outcome.UNCHANGED
+            : BulkStatusResult.Outcome.REJECTED;
+    return new BulkStatusResult(id, outcome, transition.previousStatus());
+  }
+
+  private OrderDto recordStatusChange(OrderStatusChange change) {
+    OrderDto updatedDto = change.order();
+    Long id = updatedDto.id();
+    if (change.previousStatus().isPaid() != updatedDto.status().isPaid()) {
+      userOrderSummaryRepository.recordPaymentChange(List.of(id), updatedDto.status().isPaid());
+    }
+    eventPublisher.publishEvent(
+        new OrderStatusUpdate(updatedDto.id(), updatedDto.userId(), updatedDto.status()));
+    return updatedDto;
+  }
+
+  private OrderDto unchangedOrder(Long id, StatusEnum target) {
+    StatusEnum current =
+        orderProjectionRepository.lockStatusUpdates(List.of(id)).stream()
+            .findFirst()
+            .map(OrderStatusUpdate::status)
+            .orElseThrow(() -> new UpdateException(id, new NotFoundException(id)));
+    if (current != target) {
+      throw new IllegalStatusTransitionException(id, current, target);
+    }
+    return orderProjectionRepository
+        .findWindow(List.of(id), null, ScrollPosition.keyset(), 1)
+        .stream()
+        .findFirst()
+        .orElseThrow(() -> new UpdateException(id, new NotFoundException(id)));
   }
 
   private OrderUserDto combineWithUser(OrderDto orderDto) {
@@ -151,6 +657,19 @@ public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
     return new OrderUserDto(orderDto, userDto);
   }
 
+  /**
+   * Loads the items of the given orders in one query. Orders deleted between the two phases are
+   * simply absent from the result and keep their lazy collections.
+   */
+  private Map<Long, Order> fetchOrderItems(List<Order> orders) {
+    if (orders.isEmpty()) {
+      return Map.of();
+    }
+    List<Long> ids = orders.stream().map(Order::getId).toList();
+    return orderRepository.findWithItemsByIdIn(ids).stream()
+        .collect(Collectors.toMap(Order::getId, Function.identity()));
+  }
+
   private BigDecimal countTotalCost(OrderDto dto, Order entity) {
     List<OrderItem> orderItems = entity.getOrderItems();
     if (orderItems == null || orderItems.isEmpty()) {
@@ -163,14 +682,13 @@ public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
       OrderItem orderItem = orderItems.get(index);
       OrderItemDto orderItemDto = dto.orderItems().get(index);
 
-      Item item =
-          itemRepository
-              .findById(orderItemDto.itemId())
-              .orElseThrow(() -> new NotFoundException(orderItemDto.itemId()));
+      CatalogItem catalogItem = itemCatalog.get(orderItemDto.itemId());
+      Item item = itemRepository.getReferenceById(catalogItem.id());
 
       bindOrderAndItem(entity, orderItem, item);
+      orderItem.setUnitPrice(catalogItem.price());
 
-      total = total.add(item.getPrice().multiply(BigDecimal.valueOf(orderItemDto.quantity())));
+      total = total.add(catalogItem.price().multiply(BigDecimal.valueOf(orderItemDto.quantity())));
     }
 
     return total;
@@ -187,12 +705,48 @@ public class OrderService implements CrudService<OrderDto, OrderUserDto, Long> {
         : StatusEnum.PAYMENT_FAILED;
   }
 
+  private static boolean hasPaymentId(PaymentCreatedEvent event) {
+    if (event.paymentId() != null) {
+      return true;
+    }
+    log.warn("Payment event without a payment id for order {} skipped", event.orderId());
+    return false;
+  }
+
+  /**
+   * Locks the accepted order, then removes it from the pending completions. Both completion and
+   * {@link #deleteById(Long)} lock the order before the pending row, so they cannot deadlock.
+   */
+  private boolean claimPendingCompletion(OrderAcceptedEvent event) {
+    orderProjectionRepository.lockStatusUpdates(List.of(event.orderId()));
+    if (pendingCompletionRepository.remove(event.orderId())) {
+      return true;
+    }
+    log.debug("Order {} has already been completed or deleted", event.orderId());
+    return false;
+  }
+
+  private void reject(OrderAcceptedEvent event) {
+    int updated =
+        orderRepository.transitionStatusByIdIn(
+            List.of(event.orderId()), StatusEnum.REJECTED.sources(), StatusEnum.REJECTED);
+    if (updated > 0) {
+      eventPublisher.publishEvent(
+          new OrderStatusUpdate(event.orderId(), event.userId(), StatusEnum.REJECTED));
+    }
+  }
+
   private UserDto fetchUser(String email) {
     try {
       return userServiceClient.getUserByEmail("email", email).getFirst();
     } catch (CircuitBreakerOpenException e) {
       throw new RetrieveUserException(
           "User Service is currently unavailable. Please try again later.", e);
+    } catch (BulkheadFullException e) {
+      throw new RetrieveUserException(
+          "Too many concurrent requests to User Service. Please try again later.", e);
+    } catch (UserServiceTimeoutException e) {
+      throw new RetrieveUserException(e.getMessage(), e);
     } catch (FeignException.NotFound notFound) {
       throw new RetrieveUserException("User with email '%s' not found".formatted(email));
     } catch (FeignException e) {
@@ -0,0 +1,228 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.config.OrderStreamProperties;
+import com.innowise.orderservice.messaging.event.OrderStatusesChangedEvent;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+import com.innowise.orderservice.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory fan-out of order status changes to Server-Sent Events subscribers.
+ *
+ * <p>Status changes are published by {@link OrderService} and delivered here after their
+ * transaction commits. Each subscriber keeps its own buffer of undelivered updates keyed by order,
+ * so a newer status replaces an older one that has not been sent yet. The buffer is drained on a
+ * small sender pool; a slow client never blocks the publishing thread. A subscriber whose buffer
+ * outgrows {@link OrderStreamProperties#bufferSize()} is disconnected. When it reconnects it gets
+ * the current state again.
+ *
+ * <p>Subscriptions live in this instance only. Each instance consumes payment events for its own
+ * partitions, so a client is only notified of changes applied by the instance it is connected to.
+ */
+@Slf4j
+@Component
+public class OrderStatusHub {
+  private static final String EVENT_NAME = "order-status";
+
+  private final OrderRepository orderRepository;
+  private final OrderStreamProperties properties;
+  private final ExecutorService sender;
+  private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+  public OrderStatusHub(OrderRepository orderRepository, OrderStreamProperties properties) {
+    this.orderRepository = orderRepository;
+    this.properties = properties;
+    int threads = Math.max(1, properties.senderThreads());
+    this.sender = Executors.newFixedThreadPool(threads, senderThreadFactory());
+  }
+
+  /**
+   * Opens a status stream for the user's orders.
+   *
+   * @param userId the ID of the user
+   * @return the emitter to return from the controller
+   */
+  public SseEmitter subscribe(Long userId) {
+    return register(userId, new SseEmitter(properties.timeout().toMillis()));
+  }
+
+  /**
+   * Attaches the emitter to the user's updates and queues the current status of the user's most
+   * recent orders. The subscriber is registered before the current state is read, so no change
+   * committed in between is lost; an update that arrives first is kept over the replayed status.
+   *
+   * @param userId the ID of the user
+   * @param emitter the emitter to send events to
+   * @return the given emitter
+   */
+  public SseEmitter register(Long userId, SseEmitter emitter) {
+    Subscriber subscriber = new Subscriber(userId, emitter);
+    subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(error -> subscriber.close());
+
+    subscriber.replay(
+        orderRepository.findStatusUpdatesByUserId(userId, Limit.of(properties.replayLimit())));
+    return emitter;
+  }
+
+  /**
+   * Queues the update for every subscriber of the order's user.
+   *
+   * @param update the committed status change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(OrderStatusUpdate update) {
+    Set<Subscriber> targets = subscribers.get(update.userId());
+    if (targets != null) {
+      targets.forEach(subscriber -> subscriber.offer(update));
+    }
+  }
+
+  /**
+   * Queues every update of a set-based status change.
+   *
+   * @param event the committed status changes
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusesChanged(OrderStatusesChangedEvent event) {
+    event.updates().forEach(this::onStatusChanged);
+  }
+
+  /**
+   * @return the number of open subscriptions
+   */
+  public int subscriberCount() {
+    return subscribers.values().stream().mapToInt(Set::size).sum();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    subscribers.values().forEach(set -> set.forEach(Subscriber::complete));
+    sender.shutdown();
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribers.computeIfPresent(
+        subscriber.userId,
+        (id, set) -> {
+          set.remove(subscriber);
+          return set.isEmpty() ? null : set;
+        });
+  }
+
+  private static ThreadFactory senderThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "order-status-sender-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private final class Subscriber {
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final LinkedHashMap<Long, OrderStatusUpdate> pending = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private Subscriber(Long userId, SseEmitter emitter) {
+      this.userId = userId;
+      this.emitter = emitter;
+    }
+
+    /** Queues the replayed statuses, oldest order first, without overriding newer updates. */
+    void replay(List<OrderStatusUpdate> current) {
+      synchronized (pending) {
+        current.reversed().forEach(update -> pending.putIfAbsent(update.orderId(), update));
+      }
+      schedule();
+    }
+
+    void offer(OrderStatusUpdate update) {
+      boolean overflow;
+      synchronized (pending) {
+        pending.remove(update.orderId());
+        pending.put(update.orderId(), update);
+        overflow = pending.size() > properties.bufferSize();
+      }
+      if (overflow) {
+        log.warn("Status stream of user {} is too slow, disconnecting", userId);
+        complete();
+        return;
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (!closed && draining.compareAndSet(false, true)) {
+        sender.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        OrderStatusUpdate next;
+        while (!closed && (next = poll()) != null) {
+          emitter.send(SseEmitter.event().name(EVENT_NAME).data(next));
+        }
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Status stream of user {} closed: {}", userId, e.getMessage());
+        close();
+      } finally {
+        draining.set(false);
+      }
+      if (hasPending()) {
+        schedule();
+      }
+    }
+
+    private OrderStatusUpdate poll() {
+      synchronized (pending) {
+        Iterator<OrderStatusUpdate> iterator = pending.values().iterator();
+        if (!iterator.hasNext()) {
+          return null;
+        }
+        OrderStatusUpdate next = iterator.next();
+        iterator.remove();
+        return next;
+      }
+    }
+
+    private boolean hasPending() {
+      synchronized (pending) {
+        return !pending.isEmpty();
+      }
+    }
+
+    void complete() {
+      close();
+      emitter.complete();
+    }
+
+    void close() {
+      closed = true;
+      remove(this);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.innowise.orderservice.service.impl;
+
+import com.innowise.orderservice.client.ReactiveUserServiceClient;
+import com.innowise.orderservice.config.ReactiveUserServiceProperties;
+import com.innowise.orderservice.exception.NotFoundException;
+import com.innowise.orderservice.exception.RetrieveUserException;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderUserDto;
+import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
+import com.innowise.orderservice.util.OrderCursorCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order reads that enrich orders with their users without holding a thread per lookup.
+ *
+ * <p>Orders are read through {@link OrderProjectionRepository} in a read-only transaction on the
+ * bounded elastic scheduler, since JDBC blocks; that part is short. The User Service lookups, which
+ * dominate the latency, go through {@link ReactiveUserServiceClient}, and every distinct email of a
+ * window is looked up only once. Returned to a Spring MVC controller, the request thread is
+ * released as soon as the order query is submitted.
+ *
+ * <p>Unlike the blocking path, a window is returned even if some of its users cannot be retrieved:
+ * those orders come without a user, and the failure is logged. A single order still fails with
+ * the error of its lookup, since without the user there is nothing to combine.
+ */
+@Slf4j
+@Service
+public class ReactiveOrderService {
+  private final OrderProjectionRepository orderProjectionRepository;
+  private final ReactiveUserServiceClient userServiceClient;
+  private final ReactiveUserServiceProperties properties;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public ReactiveOrderService(
+      OrderProjectionRepository orderProjectionRepository,
+      ReactiveUserServiceClient userServiceClient,
+      ReactiveUserServiceProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.orderProjectionRepository = orderProjectionRepository;
+    this.userServiceClient = userServiceClient;
+    this.properties = properties;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Retrieves an order combined with its user.
+   *
+   * @param id the order ID
+   * @return the order, or an error with {@link NotFoundException} if it does not exist
+   */
+  public Mono<OrderUserDto> findById(Long id) {
+    return readWindow(List.of(id), null, null, 1)
+        .flatMap(
+            window ->
+                window.isEmpty()
+                    ? Mono.error(new NotFoundException(id))
+                    : Mono.just(window.getContent().getFirst()))
+        .flatMap(
+            order ->
+                userServiceClient
+                    .getUserByEmail(order.userEmail())
+                    .map(user -> new OrderUserDto(order, user)));
+  }
+
+  /**
+   * Retrieves a window of orders, newest first, combined with their users; see {@link
+   * OrderService#findProjected(Collection, Collection, String, int)}.
+   *
+   * @param ids the IDs to filter by, ignored when {@code null} or empty
+   * @param statuses the statuses to filter by, ignored when {@code null} or empty
+   * @param cursor the continuation token of the previous window, or {@code null} for the first one
+   * @param size the maximum number of orders in the window, clamped to {@code [1, 100]}
+   * @return the window of orders combined with their users and the token for the next one; orders
+   *     whose user could not be retrieved have no user
+   */
+  public Mono<OrderCursorPage> findProjected(
+      Collection<Long> ids, Collection<StatusEnum> statuses, String cursor, int size) {
+    return readWindow(ids, statuses, cursor, Math.clamp(size, 1, OrderService.MAX_SCROLL_SIZE))
+        .flatMap(this::combineWithUsers);
+  }
+
+  private Mono<Window<OrderDto>> readWindow(
+      Collection<Long> ids, Collection<StatusEnum> statuses, String cursor, int limit) {
+    return Mono.fromCallable(
+            () ->
+                readOnlyTransaction.execute(
+                    status ->
+                        orderProjectionRepository.findWindow(
+                            ids, statuses, OrderCursorCodec.decode(cursor), limit)))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private Mono<OrderCursorPage> combineWithUsers(Window<OrderDto> orders) {
+    return Flux.fromIterable(orders.getContent())
+        .map(OrderDto::userEmail)
+        .distinct()
+        .flatMap(
+            email ->
+                userServiceClient
+                    .getUserByEmail(email)
+                    .map(user -> Map.entry(email, user))
+                    .onErrorResume(
+                        RetrieveUserException.class,
+                        e -> {
+                          log.warn("Returning orders of {} without user: {}", email, e.toString());
+                          return Mono.empty();
+                        }),
+            properties.concurrency())
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .map(
+            users ->
+                new OrderCursorPage(
+                    orders.getContent().stream().map(order -> combine(order, users)).toList(),
+                    OrderCursorCodec.nextCursor(orders)));
+  }
+
+  private static OrderUserDto combine(OrderDto order, Map<String, UserDto> users) {
+    return new OrderUserDto(order, users.get(order.userEmail()));
+  }
+}
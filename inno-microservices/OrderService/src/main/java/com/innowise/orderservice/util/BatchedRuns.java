@@ -0,0 +1,34 @@
+package com.innowise.orderservice.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Drives the scheduled maintenance jobs that work through a table in fixed-size batches, so each
+ * job only states what one batch does.
+ */
+@UtilityClass
+public class BatchedRuns {
+
+  /**
+   * Runs batches until one comes back short, meaning the backlog is drained, or until {@code
+   * maxBatches} batches have run.
+   *
+   * @param batch processes at most {@code batchSize} rows and returns how many it processed
+   * @param batchSize the row limit of one batch
+   * @param maxBatches the number of batches after which the run stops
+   * @return the number of rows processed by the run
+   */
+  public int drain(IntSupplier batch, int batchSize, int maxBatches) {
+    int total = 0;
+    for (int run = 0; run < maxBatches; run++) {
+      int processed = batch.getAsInt();
+      total += processed;
+      if (processed < batchSize) {
+        break;
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,58 @@
+package com.innowise.orderservice.util;
+
+import com.innowise.orderservice.exception.InvalidCursorException;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Encodes keyset scroll positions over {@code (creation_date, id)} into opaque continuation tokens
+ * and back.
+ *
+ * <p>The token is the URL-safe Base64 form of {@code creationDate|id} of the last order returned,
+ * so clients cannot rely on its structure.
+ */
+@UtilityClass
+public class OrderCursorCodec {
+  public static final String CREATION_DATE = "creationDate";
+  public static final String ID = "id";
+  public static final Sort KEYSET_SORT =
+      Sort.by(Sort.Order.desc(CREATION_DATE), Sort.Order.desc(ID));
+
+  private static final String SEPARATOR = "|";
+
+  public String encode(ScrollPosition position) {
+    Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+    String raw = keys.get(CREATION_DATE) + SEPARATOR + keys.get(ID);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns the token of the window after the given one, or {@code null} if it is the last. */
+  public String nextCursor(Window<?> window) {
+    return window.hasNext() ? encode(window.positionAt(window.size() - 1)) : null;
+  }
+
+  public KeysetScrollPosition decode(String token) {
+    if (token == null || token.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      LocalDate creationDate = LocalDate.parse(raw.substring(0, separator));
+      Long id = Long.valueOf(raw.substring(separator + 1));
+      return ScrollPosition.forward(Map.of(CREATION_DATE, creationDate, ID, id));
+    } catch (RuntimeException e) {
+      throw new InvalidCursorException(token, e);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.innowise.orderservice.model.entity.Order;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.Collection;
 
 @UtilityClass
@@ -24,7 +25,28 @@ public class OrderSpecifications {
     return (root, query, criteriaBuilder) -> root.get("status").in(statuses);
   }
 
+  public Specification<Order> hasCreationDateBetween(LocalDate from, LocalDate to) {
+    if (from == null && to == null) {
+      return null;
+    }
+    if (to == null) {
+      return (root, query, criteriaBuilder) ->
+          criteriaBuilder.greaterThanOrEqualTo(root.get("creationDate"), from);
+    }
+    if (from == null) {
+      return (root, query, criteriaBuilder) ->
+          criteriaBuilder.lessThanOrEqualTo(root.get("creationDate"), to);
+    }
+    return (root, query, criteriaBuilder) ->
+        criteriaBuilder.between(root.get("creationDate"), from, to);
+  }
+
+  /** Excludes soft-deleted orders; every order listing should include it. */
+  public Specification<Order> isNotDeleted() {
+    return (root, query, criteriaBuilder) -> criteriaBuilder.isNull(root.get("deletedAt"));
+  }
+
   public Specification<Order> all() {
-    return Specification.unrestricted();
+    return isNotDeleted();
   }
 }
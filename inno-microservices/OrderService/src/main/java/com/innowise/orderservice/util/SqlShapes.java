@@ -0,0 +1,71 @@
+package com.innowise.orderservice.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape: literals become placeholders, whitespace is collapsed and
+ * IN lists of any length look the same. Statements that differ only in their values therefore end
+ * up under one shape, which keeps the number of metric tags bounded.
+ */
+@UtilityClass
+public class SqlShapes {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL =
+      Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST =
+      Pattern.compile("(?i)\\bin ?\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+  /**
+   * Returns the shape of a statement.
+   *
+   * @param sql the statement as sent to the driver
+   * @param maxLength the length the shape is cut at, a hash of the whole shape keeps cut shapes
+   *     apart
+   * @return the shape of the statement
+   */
+  public String of(String sql, int maxLength) {
+    String shape = normalize(sql);
+    if (shape.length() <= maxLength) {
+      return shape;
+    }
+    return shape.substring(0, maxLength) + "...#%08x".formatted(shape.hashCode());
+  }
+
+  /**
+   * Returns the statement with its literals replaced by placeholders and its whitespace collapsed.
+   *
+   * @param sql the statement as sent to the driver
+   * @return the statement without literal values
+   */
+  public String normalize(String sql) {
+    String shape = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    return IN_LIST.matcher(shape).replaceAll("in (?)");
+  }
+
+  /**
+   * Returns the kind of a statement, its leading keyword in lower case.
+   *
+   * @param sql the statement as sent to the driver
+   * @return {@code select}, {@code insert}, {@code update}, {@code delete}, {@code with} or {@code
+   *     other}
+   */
+  public String type(String sql) {
+    String trimmed = sql.stripLeading();
+    int end = 0;
+    while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+      end++;
+    }
+    String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    return switch (keyword) {
+      case "select", "insert", "update", "delete", "with" -> keyword;
+      default -> "other";
+    };
+  }
+}
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE TABLE IF NOT EXISTS user_order_summary
+(
+    user_id         BIGINT PRIMARY KEY,
+    order_count     BIGINT         NOT NULL DEFAULT 0,
+    total_spent     NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    last_order_date DATE,
+    updated_at      TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+--changeset voodzz:2
+INSERT INTO user_order_summary (user_id, order_count, total_spent, last_order_date)
+SELECT o.user_id,
+       count(*),
+       COALESCE(sum(os.total_amount)
+                FILTER (WHERE o.status IN ('CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED')), 0),
+       max(o.creation_date)
+FROM orders o
+         LEFT JOIN order_search os ON os.order_id = o.id
+GROUP BY o.user_id
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+--changeset voodzz:2 splitStatements:false
+CREATE OR REPLACE FUNCTION orders_touch_updated_at() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset voodzz:3
+CREATE TRIGGER orders_touch_updated_at
+    BEFORE UPDATE ON orders
+    FOR EACH ROW
+EXECUTE FUNCTION orders_touch_updated_at();
@@ -0,0 +1,8 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS orders_deleted_at_idx ON orders (deleted_at)
+    WHERE deleted_at IS NOT NULL;
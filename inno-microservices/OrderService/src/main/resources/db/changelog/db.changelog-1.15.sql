@@ -0,0 +1,18 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS unit_price NUMERIC(10, 2);
+
+--changeset voodzz:2
+-- the price paid was never recorded for existing lines, the current price is the best estimate
+UPDATE order_items oi
+SET unit_price = i.price
+FROM items i
+WHERE i.id = oi.item_id
+  AND oi.unit_price IS NULL;
+
+--changeset voodzz:3
+ALTER TABLE order_items ALTER COLUMN unit_price SET NOT NULL;
+
+--changeset voodzz:4
+ALTER TABLE order_items_archive ADD COLUMN IF NOT EXISTS unit_price NUMERIC(10, 2);
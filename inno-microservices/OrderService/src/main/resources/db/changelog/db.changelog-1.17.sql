@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+-- the archivable statuses are configurable (order.archive.statuses), so the index must not
+-- hardcode them; status leads so any configured set is a few range scans
+DROP INDEX IF EXISTS orders_archivable_idx;
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS orders_archivable_idx ON orders (status, creation_date, id);
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE INDEX IF NOT EXISTS processed_payment_events_processed_at_idx
+    ON processed_payment_events (processed_at);
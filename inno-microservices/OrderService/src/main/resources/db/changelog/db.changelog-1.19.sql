@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE TABLE IF NOT EXISTS pending_order_completions
+(
+    order_id        BIGINT         PRIMARY KEY REFERENCES orders (id) ON DELETE CASCADE,
+    user_id         BIGINT         NOT NULL,
+    user_email      VARCHAR(256),
+    total_amount    NUMERIC(12, 2) NOT NULL,
+    creation_date   DATE           NOT NULL,
+    attempts        INT            NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ    NOT NULL
+);
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS pending_order_completions_next_attempt_at_idx
+    ON pending_order_completions (next_attempt_at);
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset voodzz:1 splitStatements:false
+CREATE OR REPLACE FUNCTION items_notify_changed() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM pg_notify('item_changed', OLD.id::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset voodzz:2
+CREATE TRIGGER items_notify_changed
+    AFTER UPDATE OR DELETE ON items
+    FOR EACH ROW
+EXECUTE FUNCTION items_notify_changed();
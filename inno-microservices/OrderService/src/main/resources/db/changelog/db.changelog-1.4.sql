@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    id            BIGSERIAL PRIMARY KEY,
+    aggregate_id  BIGINT       NOT NULL,
+    event_type    VARCHAR(128) NOT NULL,
+    payload       TEXT         NOT NULL,
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    published_at  TIMESTAMPTZ,
+    claimed_until TIMESTAMPTZ,
+    failed_at     TIMESTAMPTZ
+);
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS outbox_events_unpublished_idx ON outbox_events (id)
+    WHERE published_at IS NULL AND failed_at IS NULL;
+
+--changeset voodzz:3
+CREATE INDEX IF NOT EXISTS outbox_events_published_at_idx ON outbox_events (published_at)
+    WHERE published_at IS NOT NULL;
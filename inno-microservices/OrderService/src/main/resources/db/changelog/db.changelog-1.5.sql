@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE INDEX IF NOT EXISTS orders_creation_date_id_idx ON orders (creation_date DESC, id DESC);
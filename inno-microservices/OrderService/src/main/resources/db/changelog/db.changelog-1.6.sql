@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+--changeset voodzz:2
+CREATE TABLE IF NOT EXISTS processed_payment_events
+(
+    payment_id   VARCHAR(64) PRIMARY KEY,
+    order_id     BIGINT      NOT NULL,
+    processed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
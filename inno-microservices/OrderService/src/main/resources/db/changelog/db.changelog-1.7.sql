@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+ALTER TABLE items ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS items_updated_at_idx ON items (updated_at);
+
+--changeset voodzz:3 splitStatements:false
+CREATE OR REPLACE FUNCTION items_touch_updated_at() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset voodzz:4
+CREATE TRIGGER items_touch_updated_at
+    BEFORE UPDATE ON items
+    FOR EACH ROW
+EXECUTE FUNCTION items_touch_updated_at();
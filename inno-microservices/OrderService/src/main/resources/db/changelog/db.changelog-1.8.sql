@@ -0,0 +1,41 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE TABLE IF NOT EXISTS orders_archive
+(
+    id            BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    status        VARCHAR(64)  NOT NULL,
+    creation_date DATE         NOT NULL,
+    user_email    VARCHAR(256),
+    version       BIGINT       NOT NULL,
+    archived_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, creation_date)
+) PARTITION BY RANGE (creation_date);
+
+--changeset voodzz:2
+CREATE TABLE IF NOT EXISTS orders_archive_default PARTITION OF orders_archive DEFAULT;
+
+--changeset voodzz:3
+CREATE TABLE IF NOT EXISTS order_items_archive
+(
+    id            BIGINT NOT NULL,
+    order_id      BIGINT NOT NULL,
+    item_id       BIGINT NOT NULL,
+    quantity      INT    NOT NULL,
+    creation_date DATE   NOT NULL,
+    PRIMARY KEY (id, creation_date)
+) PARTITION BY RANGE (creation_date);
+
+--changeset voodzz:4
+CREATE TABLE IF NOT EXISTS order_items_archive_default PARTITION OF order_items_archive DEFAULT;
+
+--changeset voodzz:5
+CREATE INDEX IF NOT EXISTS orders_archive_user_id_idx ON orders_archive (user_id);
+
+--changeset voodzz:6
+CREATE INDEX IF NOT EXISTS order_items_archive_order_id_idx ON order_items_archive (order_id);
+
+--changeset voodzz:7
+CREATE INDEX IF NOT EXISTS orders_archivable_idx ON orders (creation_date, id)
+    WHERE status IN ('DELIVERED', 'REFUNDED');
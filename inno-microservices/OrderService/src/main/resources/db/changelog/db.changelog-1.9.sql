@@ -0,0 +1,43 @@
+--liquibase formatted sql
+
+--changeset voodzz:1
+CREATE TABLE IF NOT EXISTS order_search
+(
+    order_id      BIGINT PRIMARY KEY REFERENCES orders (id) ON DELETE CASCADE,
+    user_id       BIGINT         NOT NULL,
+    user_email    VARCHAR(256),
+    status        VARCHAR(64)    NOT NULL,
+    creation_date DATE           NOT NULL,
+    total_amount  NUMERIC(12, 2) NOT NULL,
+    item_names    TEXT           NOT NULL DEFAULT '',
+    document      TSVECTOR GENERATED ALWAYS AS (
+        to_tsvector('simple', coalesce(user_email, '') || ' ' || item_names)) STORED
+);
+
+--changeset voodzz:2
+CREATE INDEX IF NOT EXISTS order_search_document_idx ON order_search USING GIN (document);
+
+--changeset voodzz:3
+CREATE INDEX IF NOT EXISTS order_search_user_email_idx ON order_search (lower(user_email));
+
+--changeset voodzz:4
+CREATE INDEX IF NOT EXISTS order_search_creation_date_idx ON order_search (creation_date);
+
+--changeset voodzz:5
+CREATE INDEX IF NOT EXISTS order_search_total_amount_idx ON order_search (total_amount);
+
+--changeset voodzz:6
+INSERT INTO order_search (order_id, user_id, user_email, status, creation_date, total_amount,
+                          item_names)
+SELECT o.id,
+       o.user_id,
+       o.user_email,
+       o.status,
+       o.creation_date,
+       COALESCE(sum(i.price * oi.quantity), 0),
+       COALESCE(string_agg(i.name, ' ' ORDER BY i.name), '')
+FROM orders o
+         LEFT JOIN order_items oi ON oi.order_id = o.id
+         LEFT JOIN items i ON i.id = oi.item_id
+GROUP BY o.id
+ON CONFLICT (order_id) DO NOTHING;
@@ -0,0 +1,70 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.impl.ItemCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Changes an item price behind the service's back with the catalog poll effectively disabled, so
+ * only the database notification can bring the new price into the catalog.
+ */
+@SpringBootTest
+@Testcontainers
+public class ItemChangeNotificationIntegrationTests {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+    registry.add("catalog.refresh-interval-ms", () -> "3600000");
+    registry.add("catalog.notifications.poll-timeout-ms", () -> "100");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private ItemCatalog itemCatalog;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void priceChange_ShouldReachCatalogWithoutWaitingForRefresh() {
+    Item item = itemRepository.save(new Item(null, "notified-item", BigDecimal.TEN, null, null));
+    assertThat(itemCatalog.get(item.getId()).price()).isEqualByComparingTo("10");
+
+    jdbcTemplate.update("UPDATE items SET price = 12 WHERE id = ?", item.getId());
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () -> assertThat(itemCatalog.get(item.getId()).price()).isEqualByComparingTo("12"));
+  }
+}
@@ -0,0 +1,171 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderItemDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderArchiveRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@Transactional
+public class OrderArchiveIntegrationTests {
+
+  private static final Set<StatusEnum> FINISHED = Set.of(StatusEnum.DELIVERED, StatusEnum.REFUNDED);
+  private static final LocalDate CUTOFF = LocalDate.of(2024, 6, 1);
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private OrderArchiveRepository orderArchiveRepository;
+
+  @Autowired private OrderRepository orderRepository;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private Item item;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    item = itemRepository.save(new Item(null, "archived-item", BigDecimal.TEN, null, null));
+  }
+
+  @Test
+  void archiveBatch_ShouldMoveOnlyOldFinishedOrdersWithTheirItems() {
+    Long oldDelivered = saveOrder(StatusEnum.DELIVERED, LocalDate.of(2024, 1, 15));
+    Long oldRefunded = saveOrder(StatusEnum.REFUNDED, LocalDate.of(2024, 2, 3));
+    Long oldPending = saveOrder(StatusEnum.PENDING, LocalDate.of(2024, 1, 20));
+    Long recentDelivered = saveOrder(StatusEnum.DELIVERED, LocalDate.of(2024, 7, 1));
+
+    orderArchiveRepository
+        .findArchivableMonths(FINISHED, CUTOFF)
+        .forEach(orderArchiveRepository::createMonthlyPartitions);
+    int moved = orderArchiveRepository.archiveBatch(FINISHED, CUTOFF, 10);
+    entityManager.clear();
+
+    assertThat(moved).isEqualTo(2);
+    assertThat(orderRepository.findAll())
+        .extracting(Order::getId)
+        .containsExactlyInAnyOrder(oldPending, recentDelivered);
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM orders_archive", Long.class))
+        .containsExactlyInAnyOrder(oldDelivered, oldRefunded);
+    assertThat(jdbcTemplate.queryForList("SELECT order_id FROM order_items_archive", Long.class))
+        .containsExactlyInAnyOrder(oldDelivered, oldRefunded);
+    assertThat(count("SELECT count(*) FROM orders_archive_p2024_01")).isEqualTo(1);
+    assertThat(count("SELECT count(*) FROM order_items_archive_p2024_02")).isEqualTo(1);
+    assertThat(count("SELECT count(*) FROM orders_archive_default")).isZero();
+  }
+
+  @Test
+  void archiveBatch_ShouldMoveOldestOrdersFirst_UpToBatchSize() {
+    Long oldest = saveOrder(StatusEnum.DELIVERED, LocalDate.of(2024, 1, 1));
+    saveOrder(StatusEnum.DELIVERED, LocalDate.of(2024, 3, 1));
+
+    orderArchiveRepository
+        .findArchivableMonths(FINISHED, CUTOFF)
+        .forEach(orderArchiveRepository::createMonthlyPartitions);
+    int moved = orderArchiveRepository.archiveBatch(FINISHED, CUTOFF, 1);
+
+    assertThat(moved).isEqualTo(1);
+    assertThat(jdbcTemplate.queryForList("SELECT id FROM orders_archive", Long.class))
+        .containsExactly(oldest);
+  }
+
+  @Test
+  void findWindow_ShouldReadArchivedOrdersOfUserWithItems_NewestFirst() {
+    Long older = saveOrder(StatusEnum.DELIVERED, LocalDate.of(2024, 1, 15));
+    Long newer = saveOrder(StatusEnum.REFUNDED, LocalDate.of(2024, 2, 3));
+
+    orderArchiveRepository
+        .findArchivableMonths(FINISHED, CUTOFF)
+        .forEach(orderArchiveRepository::createMonthlyPartitions);
+    orderArchiveRepository.archiveBatch(FINISHED, CUTOFF, 10);
+
+    Window<OrderDto> first =
+        orderArchiveRepository.findWindow(null, 1L, ScrollPosition.keyset(), 1);
+    Window<OrderDto> second =
+        orderArchiveRepository.findWindow(
+            null, 1L, (KeysetScrollPosition) first.positionAt(0), 1);
+
+    assertThat(first.getContent()).extracting(OrderDto::id).containsExactly(newer);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(first.getContent().getFirst().orderItems())
+        .extracting(OrderItemDto::itemId)
+        .containsExactly(item.getId());
+    assertThat(second.getContent()).extracting(OrderDto::id).containsExactly(older);
+    assertThat(second.hasNext()).isFalse();
+    assertThat(orderArchiveRepository.findWindow(null, 2L, ScrollPosition.keyset(), 10))
+        .isEmpty();
+  }
+
+  private Long saveOrder(StatusEnum status, LocalDate creationDate) {
+    Order order =
+        new Order(
+            null,
+            1L,
+            status,
+            creationDate,
+            "john.doe@example.com",
+            new ArrayList<>(),
+            null,
+            null,
+            null);
+    order.getOrderItems().add(new OrderItem(null, order, item, 1, item.getPrice()));
+    Long id = orderRepository.save(order).getId();
+    entityManager.flush();
+    return id;
+  }
+
+  private int count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Integer.class);
+  }
+}
@@ -0,0 +1,217 @@
+package com.innowise.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.OrderCompletionListener;
+import com.innowise.orderservice.service.impl.OrderService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs accepted-order completion with the single completion thread busy and no queue, so the
+ * completion is rejected after commit and left to the sweep, which is triggered by hand.
+ */
+@SpringBootTest
+@Testcontainers
+public class OrderCompletionIntegrationTests {
+
+  private static final int USER_SERVICE_PORT = 8093;
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:" + USER_SERVICE_PORT);
+    registry.add("outbox.relay.enabled", () -> "false");
+    registry.add("order.async.core-pool-size", () -> "1");
+    registry.add("order.async.max-pool-size", () -> "1");
+    registry.add("order.async.queue-capacity", () -> "0");
+    registry.add("order.async.sweep-after", () -> "0s");
+    registry.add("order.async.sweep-interval-ms", () -> "3600000");
+  }
+
+  private static WireMockServer wireMockServer;
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private OrderService orderService;
+
+  @Autowired private OrderRepository orderRepository;
+
+  @Autowired private OrderCompletionListener orderCompletionListener;
+
+  @Autowired private ThreadPoolTaskExecutor orderCompletionExecutor;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeAll
+  static void initialize() {
+    wireMockServer = new WireMockServer(options().port(USER_SERVICE_PORT));
+    wireMockServer.start();
+    configureFor("localhost", USER_SERVICE_PORT);
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    orderRepository.deleteAll();
+    jdbcTemplate.update("DELETE FROM outbox_events");
+    jdbcTemplate.update("DELETE FROM user_order_summary");
+    stubFor(
+        get(urlMatching("/api/v1/users\\?filter=email&email=.+"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        objectMapper.writeValueAsString(
+                            List.of(
+                                new UserDto(
+                                    1L,
+                                    "John",
+                                    "Doe",
+                                    LocalDate.of(1990, 1, 1),
+                                    "john.doe@example.com"))))));
+    CountDownLatch busy = new CountDownLatch(1);
+    orderCompletionExecutor.execute(
+        () -> {
+          busy.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    busy.await();
+  }
+
+  @AfterEach
+  void afterEach() {
+    release.countDown();
+    wireMockServer.resetMappings();
+  }
+
+  @AfterAll
+  static void destroy() {
+    wireMockServer.stop();
+  }
+
+  @Test
+  void acceptAsync_ShouldKeepOrderPendingCompletion_WhenExecutorIsSaturated() {
+    Long orderId = accept(1L);
+
+    assertThat(pendingCompletions()).isEqualTo(1);
+    assertThat(outboxEvents()).isZero();
+    assertThat(orderRepository.findStatusById(orderId)).contains(StatusEnum.PENDING);
+  }
+
+  @Test
+  void sweep_ShouldCountOrderAndEnqueueOrderCreated_WhenUserMatches() {
+    Long orderId = accept(1L);
+    releaseExecutor();
+
+    orderCompletionListener.sweep();
+
+    await().atMost(Duration.ofSeconds(10)).until(() -> pendingCompletions() == 0);
+    assertThat(outboxEvents()).isEqualTo(1);
+    assertThat(orderCount(1L)).isEqualTo(1);
+    assertThat(orderRepository.findStatusById(orderId)).contains(StatusEnum.PENDING);
+  }
+
+  @Test
+  void sweep_ShouldRejectOrderWithoutCountingIt_WhenUserDoesNotMatch() {
+    Long orderId = accept(2L);
+    releaseExecutor();
+
+    orderCompletionListener.sweep();
+
+    await().atMost(Duration.ofSeconds(10)).until(() -> pendingCompletions() == 0);
+    assertThat(outboxEvents()).isZero();
+    assertThat(orderCount(2L)).isZero();
+    assertThat(orderRepository.findStatusById(orderId)).contains(StatusEnum.REJECTED);
+  }
+
+  private void releaseExecutor() {
+    release.countDown();
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> orderCompletionExecutor.getActiveCount() == 0);
+  }
+
+  private Long accept(Long userId) {
+    return transactionTemplate.execute(
+        status ->
+            orderService
+                .acceptAsync(
+                    new OrderDto(
+                        null,
+                        userId,
+                        StatusEnum.PENDING,
+                        LocalDate.now(),
+                        List.of(),
+                        "john.doe@example.com"))
+                .id());
+  }
+
+  private int outboxEvents() {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Integer.class);
+  }
+
+  private int pendingCompletions() {
+    return jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM pending_order_completions", Integer.class);
+  }
+
+  private int orderCount(Long userId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COALESCE(sum(order_count), 0) FROM user_order_summary WHERE user_id = ?",
+        Integer.class,
+        userId);
+  }
+}
@@ -0,0 +1,308 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the create-order and list-order workloads on pgjdbc defaults and with the driver
+ * settings of the {@code perf} profile, and sweeps the pool size under a fixed number of concurrent
+ * clients. Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ *
+ * <p>The workloads issue the statements Hibernate sends for these use cases, an order insert
+ * followed by one insert per line, since IDENTITY ids rule out JDBC batching, and a newest-first
+ * read of a user's orders with their lines, straight through JDBC so that only the driver and pool
+ * settings differ between runs. Each side is measured twice, alternating, and its better round
+ * counts, which keeps warm-up and neighbour noise from deciding the comparison.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+public class OrderDatabaseBenchmarkTests {
+
+  private static final String PROFILE = "application-perf.properties";
+  private static final String DRIVER_PROPERTIES =
+      "spring.datasource.hikari.data-source-properties.";
+  private static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+  private static final int CLIENTS = 32;
+  private static final int USERS = 50;
+  private static final int ITEMS = 100;
+  private static final int LINES_PER_ORDER = 10;
+  private static final Duration WARMUP = Duration.ofSeconds(5);
+  private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+  private static final int ROUNDS = 2;
+  private static final double TOLERANCE = 0.05;
+  private static final List<Integer> POOL_SIZES = List.of(4, 8, 16, 32);
+
+  private static final String INSERT_ORDER =
+      "INSERT INTO orders (user_id, status, creation_date, user_email) VALUES (?, ?, ?, ?)";
+  private static final String INSERT_LINE =
+      "INSERT INTO order_items (order_id, item_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+  private static final String LIST_ORDERS =
+      """
+      SELECT o.id, o.user_id, o.status, o.creation_date, o.user_email,
+             oi.id, oi.item_id, oi.quantity
+      FROM orders o
+      LEFT JOIN order_items oi ON oi.order_id = o.id
+      WHERE o.user_id = ?
+      ORDER BY o.creation_date DESC, o.id DESC
+      LIMIT 200
+      """;
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8092");
+    registry.add("outbox.relay.enabled", () -> "false");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  private final Properties profile = loadProfile();
+  private final List<Long> itemIds = new ArrayList<>();
+
+  @BeforeEach
+  void seedItems() throws SQLException {
+    try (HikariDataSource dataSource = dataSource("seed", 1, false);
+        Connection connection = dataSource.getConnection();
+        PreparedStatement insert =
+            connection.prepareStatement(
+                "INSERT INTO items (name, price) VALUES (?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+      for (int i = 0; i < ITEMS; i++) {
+        insert.setString(1, "Item " + i);
+        insert.setBigDecimal(2, BigDecimal.valueOf(10 + i));
+        insert.addBatch();
+      }
+      insert.executeBatch();
+      try (ResultSet keys = insert.getGeneratedKeys()) {
+        while (keys.next()) {
+          itemIds.add(keys.getLong(1));
+        }
+      }
+    }
+  }
+
+  @Test
+  void perfProfile_ShouldNotBeSlowerThanDefaults() throws Exception {
+    int poolSize = profilePoolSize();
+    double defaultCreates = 0;
+    double tunedCreates = 0;
+    double defaultLists = 0;
+    double tunedLists = 0;
+    try (HikariDataSource defaults = dataSource("defaults", poolSize, false);
+        HikariDataSource tuned = dataSource("perf", poolSize, true)) {
+      for (int round = 0; round < ROUNDS; round++) {
+        defaultCreates = Math.max(defaultCreates, throughput(defaults, this::createOrder, CLIENTS));
+        tunedCreates = Math.max(tunedCreates, throughput(tuned, this::createOrder, CLIENTS));
+        defaultLists = Math.max(defaultLists, throughput(defaults, this::listOrders, CLIENTS));
+        tunedLists = Math.max(tunedLists, throughput(tuned, this::listOrders, CLIENTS));
+      }
+    }
+
+    log.info("create-order: defaults {} ops/s, perf {} ops/s", defaultCreates, tunedCreates);
+    log.info("list-order:   defaults {} ops/s, perf {} ops/s", defaultLists, tunedLists);
+    assertThat(tunedCreates)
+        .as("create-order ops/s of the perf profile")
+        .isGreaterThanOrEqualTo(defaultCreates * (1 - TOLERANCE));
+    assertThat(tunedLists)
+        .as("list-order ops/s of the perf profile")
+        .isGreaterThanOrEqualTo(defaultLists * (1 - TOLERANCE));
+  }
+
+  @Test
+  void poolSweep_ShouldFindProfilePoolSizeAtTheKnee() throws Exception {
+    int poolSize = profilePoolSize();
+    assertThat(POOL_SIZES).as("sizes swept").contains(poolSize);
+    try (HikariDataSource seed = dataSource("seed", 4, true)) {
+      throughput(seed, this::createOrder, 4);
+    }
+
+    Map<Integer, Double> throughputBySize = new LinkedHashMap<>();
+    for (int size : POOL_SIZES) {
+      try (HikariDataSource dataSource = dataSource("pool-" + size, size, true)) {
+        throughputBySize.put(size, throughput(dataSource, this::listOrders, CLIENTS));
+      }
+      log.info("pool size {}: {} list-order ops/s", size, throughputBySize.get(size));
+    }
+
+    double best =
+        throughputBySize.values().stream().mapToDouble(Double::doubleValue).max().orElseThrow();
+    int knee =
+        throughputBySize.entrySet().stream()
+            .filter(entry -> entry.getValue() >= best * (1 - TOLERANCE))
+            .mapToInt(Map.Entry::getKey)
+            .min()
+            .orElseThrow();
+    log.info("smallest pool within 5% of the best throughput for {} clients: {}", CLIENTS, knee);
+
+    assertThat(throughputBySize.get(poolSize))
+        .as("list-order ops/s of the profile pool size %d", poolSize)
+        .isGreaterThanOrEqualTo(best * (1 - TOLERANCE));
+    assertThat(POOL_SIZES.indexOf(poolSize))
+        .as("sweep steps of the profile pool size %d above the knee %d", poolSize, knee)
+        .isLessThanOrEqualTo(POOL_SIZES.indexOf(knee) + 1);
+  }
+
+  private void createOrder(Connection connection, ThreadLocalRandom random) throws SQLException {
+    long userId = random.nextLong(1, USERS + 1);
+    long orderId;
+    try (PreparedStatement order =
+        connection.prepareStatement(INSERT_ORDER, Statement.RETURN_GENERATED_KEYS)) {
+      order.setLong(1, userId);
+      order.setString(2, "PENDING");
+      order.setObject(3, LocalDate.now());
+      order.setString(4, "user" + userId + "@example.com");
+      order.executeUpdate();
+      try (ResultSet keys = order.getGeneratedKeys()) {
+        keys.next();
+        orderId = keys.getLong(1);
+      }
+    }
+    try (PreparedStatement line = connection.prepareStatement(INSERT_LINE)) {
+      for (int i = 0; i < LINES_PER_ORDER; i++) {
+        line.setLong(1, orderId);
+        int item = random.nextInt(itemIds.size());
+        line.setLong(2, itemIds.get(item));
+        line.setInt(3, random.nextInt(1, 5));
+        line.setBigDecimal(4, BigDecimal.valueOf(10 + item));
+        line.executeUpdate();
+      }
+    }
+  }
+
+  private void listOrders(Connection connection, ThreadLocalRandom random) throws SQLException {
+    try (PreparedStatement list = connection.prepareStatement(LIST_ORDERS)) {
+      list.setLong(1, random.nextLong(1, USERS + 1));
+      try (ResultSet rows = list.executeQuery()) {
+        while (rows.next()) {
+          rows.getLong(1);
+          rows.getLong(7);
+        }
+      }
+    }
+  }
+
+  /** Runs the workload from the given number of clients and returns the operations per second. */
+  private double throughput(HikariDataSource dataSource, Workload workload, int clients)
+      throws Exception {
+    run(dataSource, workload, clients, WARMUP);
+    long operations = run(dataSource, workload, clients, MEASUREMENT);
+    return Math.round(operations * 1e9 / MEASUREMENT.toNanos());
+  }
+
+  private long run(HikariDataSource dataSource, Workload workload, int clients, Duration duration)
+      throws Exception {
+    long deadline = System.nanoTime() + duration.toNanos();
+    List<Future<Long>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+      for (int i = 0; i < clients; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  long operations = 0;
+                  ThreadLocalRandom random = ThreadLocalRandom.current();
+                  while (System.nanoTime() < deadline) {
+                    try (Connection connection = dataSource.getConnection()) {
+                      connection.setAutoCommit(false);
+                      workload.run(connection, random);
+                      connection.commit();
+                    }
+                    operations++;
+                  }
+                  return operations;
+                }));
+      }
+    }
+    long operations = 0;
+    for (Future<Long> result : results) {
+      operations += result.get();
+    }
+    return operations;
+  }
+
+  /**
+   * Creates a pool on the test database, with the pgjdbc properties of the {@code perf} profile
+   * when {@code tuned} is set and on driver defaults otherwise.
+   */
+  private HikariDataSource dataSource(String name, int poolSize, boolean tuned) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(name);
+    dataSource.setJdbcUrl(postgres.getJdbcUrl());
+    dataSource.setUsername(postgres.getUsername());
+    dataSource.setPassword(postgres.getPassword());
+    dataSource.setMaximumPoolSize(poolSize);
+    if (tuned) {
+      profile.stringPropertyNames().stream()
+          .filter(key -> key.startsWith(DRIVER_PROPERTIES))
+          .forEach(
+              key ->
+                  dataSource.addDataSourceProperty(
+                      key.substring(DRIVER_PROPERTIES.length()), profile.getProperty(key)));
+    }
+    return dataSource;
+  }
+
+  /** Returns the pool size of the profile, the default of its {@code ${DB_POOL_SIZE:n}}. */
+  private int profilePoolSize() {
+    String value = profile.getProperty(POOL_SIZE);
+    return Integer.parseInt(value.replaceAll("\\$\\{\\w+:(\\d+)}", "$1"));
+  }
+
+  private static Properties loadProfile() {
+    try {
+      return PropertiesLoaderUtils.loadProperties(new ClassPathResource(PROFILE));
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read " + PROFILE, e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Workload {
+    void run(Connection connection, ThreadLocalRandom random) throws SQLException;
+  }
+}
@@ -3,14 +3,20 @@ package com.innowise.orderservice.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import com.innowise.orderservice.exception.NotFoundException;
 import com.innowise.orderservice.mapper.OrderMapper;
 import com.innowise.orderservice.messaging.OrderEventProducer;
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.BulkStatusResult;
 import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderStatusChange;
 import com.innowise.orderservice.model.dto.UserDto;
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.OrderExportService;
 import com.innowise.orderservice.service.impl.OrderService;
+import com.innowise.orderservice.util.OrderSpecifications;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -18,6 +24,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -26,6 +35,9 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -56,6 +68,7 @@ public class OrderIntegrationTests {
     registry.add("spring.datasource.username", postgres::getUsername);
     registry.add("spring.datasource.password", postgres::getPassword);
     registry.add("userservice.url", () -> "http://localhost:8089");
+    registry.add("outbox.relay.enabled", () -> "false");
   }
 
   private static WireMockServer wireMockServer;
@@ -64,12 +77,18 @@ public class OrderIntegrationTests {
 
   @Autowired private OrderService orderService;
 
+  @Autowired private OrderExportService orderExportService;
+
   @Autowired private OrderRepository orderRepository;
 
   @Autowired private OrderMapper orderMapper;
 
+  @Autowired private OrderProjectionRepository orderProjectionRepository;
+
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   private UserDto testUser;
   private OrderDto testOrderDto;
 
@@ -209,6 +228,9 @@ public class OrderIntegrationTests {
             StatusEnum.CONFIRMED,
             LocalDate.now().minusDays(1),
             testUserFriend.email(),
+            null,
+            null,
+            null,
             null);
 
     orderRepository.saveAll(List.of(orderMapper.toEntity(testOrderDto), anotherTestOrder));
@@ -220,6 +242,150 @@ public class OrderIntegrationTests {
     assertThat(list.getFirst()).isNotNull();
   }
 
+  @Test
+  void findWindow_ShouldMapOrdersWithoutHydratingEntities() {
+    Order older = orderRepository.save(orderMapper.toEntity(testOrderDto));
+    var newerDto =
+        new OrderDto(
+            null,
+            1L,
+            StatusEnum.CONFIRMED,
+            LocalDate.now(),
+            List.of(),
+            "john.doe@example.com");
+    Order newer = orderRepository.save(orderMapper.toEntity(newerDto));
+
+    var firstWindow = orderProjectionRepository.findWindow(null, null, ScrollPosition.keyset(), 1);
+    var secondWindow =
+        orderProjectionRepository.findWindow(
+            null, null, (KeysetScrollPosition) firstWindow.positionAt(0), 1);
+    var filtered =
+        orderProjectionRepository.findWindow(
+            null, List.of(StatusEnum.PENDING), ScrollPosition.keyset(), 10);
+
+    assertThat(firstWindow.getContent()).extracting(OrderDto::id).containsExactly(newer.getId());
+    assertThat(firstWindow.hasNext()).isTrue();
+    assertThat(secondWindow.getContent()).extracting(OrderDto::id).containsExactly(older.getId());
+    assertThat(secondWindow.hasNext()).isFalse();
+    assertThat(filtered.getContent()).extracting(OrderDto::id).containsExactly(older.getId());
+    assertThat(filtered.getContent().getFirst().orderItems()).isEmpty();
+    assertThat(filtered.hasNext()).isFalse();
+  }
+
+  @Test
+  void exportBySpecification_ShouldWriteOneLinePerMatchingOrder() throws Exception {
+    Order pending = orderRepository.save(orderMapper.toEntity(testOrderDto));
+    orderRepository.save(
+        new Order(
+            null,
+            1L,
+            StatusEnum.DELIVERED,
+            LocalDate.now().minusDays(1),
+            "john.doe@example.com",
+            null,
+            null,
+            null,
+            null));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    orderExportService.exportBySpecification(
+        OrderSpecifications.hasStatusIn(List.of(StatusEnum.PENDING)), outputStream);
+
+    List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(1);
+    OrderDto exported = objectMapper.readValue(lines.getFirst(), OrderDto.class);
+    assertThat(exported.id()).isEqualTo(pending.getId());
+    assertThat(exported.status()).isEqualTo(StatusEnum.PENDING);
+  }
+
+  @Test
+  void updateStatuses_ShouldMoveOnlyOrdersAllowedByStateMachine() {
+    Order confirmed = orderRepository.save(order(StatusEnum.CONFIRMED));
+    Order delivered = orderRepository.save(order(StatusEnum.DELIVERED));
+
+    List<BulkStatusResult> results =
+        orderService.updateStatuses(
+            List.of(confirmed.getId(), delivered.getId(), -1L), StatusEnum.PROCESSING);
+
+    assertThat(results)
+        .extracting(BulkStatusResult::outcome)
+        .containsExactly(
+            BulkStatusResult.Outcome.UPDATED,
+            BulkStatusResult.Outcome.REJECTED,
+            BulkStatusResult.Outcome.NOT_FOUND);
+    assertThat(orderRepository.findStatusById(confirmed.getId())).contains(StatusEnum.PROCESSING);
+    assertThat(orderRepository.findStatusById(delivered.getId())).contains(StatusEnum.DELIVERED);
+  }
+
+  @Test
+  void updateStatus_ShouldReturnUpdatedOrderAndPreviousStatus() {
+    Order pending = orderRepository.save(order(StatusEnum.PENDING));
+    Order deleted = orderRepository.save(order(StatusEnum.PENDING));
+    orderRepository.softDeleteById(deleted.getId(), Instant.now());
+
+    OrderStatusChange change =
+        orderProjectionRepository.updateStatus(pending.getId(), StatusEnum.CONFIRMED).orElseThrow();
+
+    assertThat(change.previousStatus()).isEqualTo(StatusEnum.PENDING);
+    assertThat(change.order().id()).isEqualTo(pending.getId());
+    assertThat(change.order().status()).isEqualTo(StatusEnum.CONFIRMED);
+    assertThat(change.order().userEmail()).isEqualTo("john.doe@example.com");
+    assertThat(orderRepository.findStatusById(pending.getId())).contains(StatusEnum.CONFIRMED);
+    assertThat(orderProjectionRepository.updateStatus(deleted.getId(), StatusEnum.CONFIRMED))
+        .isEmpty();
+  }
+
+  @Test
+  void updateStatus_ShouldNotMoveOrder_WhenTransitionIsNotAllowed() {
+    Order delivered = orderRepository.save(order(StatusEnum.DELIVERED));
+
+    assertThat(orderProjectionRepository.updateStatus(delivered.getId(), StatusEnum.PENDING))
+        .isEmpty();
+    assertThat(orderRepository.findStatusById(delivered.getId())).contains(StatusEnum.DELIVERED);
+  }
+
+  @Test
+  void deleteById_ShouldHideOrderUntilPurged() {
+    Order deleted = orderRepository.save(order(StatusEnum.PENDING));
+    Order kept = orderRepository.save(order(StatusEnum.PENDING));
+
+    orderService.deleteById(deleted.getId());
+
+    assertThat(orderRepository.findOrderById(deleted.getId())).isEmpty();
+    assertThat(orderRepository.findAll(OrderSpecifications.all()))
+        .extracting(Order::getId)
+        .containsExactly(kept.getId());
+    assertThat(orderRepository.existsById(deleted.getId())).isFalse();
+    assertThat(orderRepository.count()).isEqualTo(1);
+    assertThat(orderRepository.findAllById(List.of(deleted.getId(), kept.getId())))
+        .extracting(Order::getId)
+        .containsExactly(kept.getId());
+    assertThat(countOrderRows(deleted.getId())).isEqualTo(1);
+    assertThrows(NotFoundException.class, () -> orderService.deleteById(deleted.getId()));
+
+    assertThat(orderRepository.purgeBatch(Instant.now().plusSeconds(1), 10)).isEqualTo(1);
+    assertThat(countOrderRows(deleted.getId())).isZero();
+    assertThat(orderRepository.existsById(kept.getId())).isTrue();
+  }
+
+  private Integer countOrderRows(Long id) {
+    return jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM orders WHERE id = ?", Integer.class, id);
+  }
+
+  private static Order order(StatusEnum status) {
+    return new Order(
+        null,
+        1L,
+        status,
+        LocalDate.now().minusDays(1),
+        "john.doe@example.com",
+        null,
+        null,
+        null,
+        null);
+  }
+
   private void setupUserServiceMock(String email, UserDto user, int statusCode) throws Exception {
     if (statusCode == 200 && user != null) {
       stubFor(
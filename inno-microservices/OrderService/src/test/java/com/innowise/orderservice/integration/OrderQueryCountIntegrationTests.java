@@ -0,0 +1,203 @@
+package com.innowise.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderItemDto;
+import com.innowise.orderservice.model.dto.OrderUserDto;
+import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.ItemCatalog;
+import com.innowise.orderservice.service.impl.OrderService;
+import com.innowise.orderservice.util.OrderSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts the number of SQL statements issued per order read and write, so that lazy-loading N+1
+ * patterns and per-line catalog lookups are caught as soon as they are reintroduced.
+ */
+@SpringBootTest
+@Testcontainers
+@Transactional
+public class OrderQueryCountIntegrationTests {
+
+  private static final int ORDERS = 8;
+  private static final int ITEMS_PER_ORDER = 3;
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+    registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+  }
+
+  private static WireMockServer wireMockServer;
+
+  private List<Item> items;
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private OrderService orderService;
+
+  @Autowired private OrderRepository orderRepository;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private ItemCatalog itemCatalog;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private Statistics statistics;
+
+  @BeforeAll
+  static void initialize() {
+    wireMockServer = new WireMockServer(options().port(8091));
+    wireMockServer.start();
+    configureFor("localhost", 8091);
+  }
+
+  @AfterAll
+  static void destroy() {
+    wireMockServer.stop();
+    wireMockServer.shutdown();
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    UserDto user = new UserDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@example.com");
+    stubFor(
+        get(urlMatching("/api/v1/users\\?filter=email&email=.+"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(objectMapper.writeValueAsString(List.of(user)))));
+
+    orderRepository.deleteAll();
+    items = new ArrayList<>();
+    for (int index = 0; index < ITEMS_PER_ORDER; ++index) {
+      items.add(itemRepository.save(new Item(null, "item-" + index, BigDecimal.TEN, null, null)));
+    }
+    for (int index = 0; index < ORDERS; ++index) {
+      Order order =
+          new Order(
+              null,
+              user.id(),
+              StatusEnum.PENDING,
+              LocalDate.now().minusDays(index),
+              user.email(),
+              new ArrayList<>(),
+              null,
+              null,
+              null);
+      items.forEach(
+          item -> order.getOrderItems().add(new OrderItem(null, order, item, 1, item.getPrice())));
+      orderRepository.save(order);
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void findBySpecification_ShouldUseConstantNumberOfQueriesPerPage() {
+    Page<OrderUserDto> page =
+        orderService.findBySpecification(OrderSpecifications.all(), PageRequest.of(0, 20));
+
+    assertThat(page.getContent()).hasSize(ORDERS);
+    assertThat(page.getContent())
+        .allSatisfy(order -> assertThat(order.getOrderDto().orderItems()).hasSize(ITEMS_PER_ORDER));
+    // one statement for the page of orders and one for their items and catalog entries
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void findById_ShouldLoadOrderWithItemsInSingleQuery() {
+    Long id = orderRepository.findAll().getFirst().getId();
+    entityManager.clear();
+    statistics.clear();
+
+    OrderUserDto order = orderService.findById(id);
+
+    assertThat(order.getOrderDto().orderItems()).hasSize(ITEMS_PER_ORDER);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void create_ShouldOnlyIssueInserts_WhenItemsAreCached() {
+    itemCatalog.warmUp();
+    statistics.clear();
+    List<OrderItemDto> orderItems =
+        items.stream().map(item -> new OrderItemDto(null, null, item.getId(), 2)).toList();
+
+    orderService.create(
+        new OrderDto(
+            null,
+            1L,
+            StatusEnum.PENDING,
+            LocalDate.now(),
+            orderItems,
+            "john.doe@example.com"));
+    entityManager.flush();
+
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getQueryExecutionCount()).isZero();
+    // the order, its lines and the outbox event
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEMS_PER_ORDER + 2);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(ITEMS_PER_ORDER + 2);
+  }
+}
@@ -0,0 +1,196 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.messaging.event.OrderChangedEvent;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderSearchHit;
+import com.innowise.orderservice.model.dto.OrderSearchQuery;
+import com.innowise.orderservice.model.dto.OrderSearchResult;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.OrderSearchService;
+import com.innowise.orderservice.service.impl.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@SpringBootTest
+@Testcontainers
+public class OrderSearchIntegrationTests {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private OrderSearchService orderSearchService;
+
+  @Autowired private OrderService orderService;
+
+  @Autowired private OrderRepository orderRepository;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private Item pen;
+  private Item notebook;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    itemRepository.deleteAll();
+    pen = itemRepository.save(new Item(null, "Fountain pen", new BigDecimal("12.50"), null, null));
+    notebook = itemRepository.save(new Item(null, "Notebook", new BigDecimal("4.00"), null, null));
+  }
+
+  @Test
+  void search_ShouldMatchItemNamesAndReturnFacets() {
+    Long penOrder = placeOrder("ann@test.com", LocalDate.of(2025, 1, 10), pen, 2);
+    Long bothOrder = placeOrder("bob@test.com", LocalDate.of(2025, 2, 3), pen, 1);
+    placeOrder("bob@test.com", LocalDate.of(2025, 2, 5), notebook, 1);
+
+    OrderSearchResult result = search(query("pen", null, null, null, null));
+
+    assertThat(result.content())
+        .extracting(OrderSearchHit::orderId)
+        .containsExactlyInAnyOrder(penOrder, bothOrder);
+    assertThat(result.totalElements()).isEqualTo(2);
+    assertThat(result.statusFacets()).containsEntry(StatusEnum.PENDING, 2L);
+    assertThat(result.monthFacets())
+        .containsExactly(
+            entry(YearMonth.of(2025, 1), 1L),
+            entry(YearMonth.of(2025, 2), 1L));
+  }
+
+  @Test
+  void search_ShouldFilterByEmailDateRangeAndAmount() {
+    placeOrder("ann@test.com", LocalDate.of(2025, 1, 10), pen, 2);
+    Long match = placeOrder("Bob@Test.com", LocalDate.of(2025, 2, 3), notebook, 3);
+    placeOrder("bob@test.com", LocalDate.of(2025, 3, 1), notebook, 3);
+    placeOrder("bob@test.com", LocalDate.of(2025, 2, 4), notebook, 1);
+
+    OrderSearchResult result =
+        search(
+            query(
+                null,
+                "bob@test.com",
+                LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 2, 28),
+                new BigDecimal("10.00")));
+
+    assertThat(result.content()).extracting(OrderSearchHit::orderId).containsExactly(match);
+    assertThat(result.content().getFirst().totalAmount()).isEqualByComparingTo("12.00");
+  }
+
+  @Test
+  void index_ShouldFollowStatusChangesAndDeletes() {
+    Long orderId = placeOrder("ann@test.com", LocalDate.of(2025, 1, 10), pen, 1);
+
+    orderService.updateStatuses(List.of(orderId), StatusEnum.CONFIRMED);
+    assertThat(search(query("pen", null, null, null, null)).statusFacets())
+        .containsExactly(entry(StatusEnum.CONFIRMED, 1L));
+
+    orderRepository.deleteById(orderId);
+    assertThat(search(query("pen", null, null, null, null)).totalElements()).isZero();
+  }
+
+  @Test
+  void index_ShouldApplyAllStatusChangesOfTransaction() {
+    Long first = placeOrder("ann@test.com", LocalDate.of(2025, 1, 10), pen, 1);
+    Long second = placeOrder("bob@test.com", LocalDate.of(2025, 1, 11), pen, 1);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          eventPublisher.publishEvent(new OrderStatusUpdate(first, 1L, StatusEnum.CONFIRMED));
+          eventPublisher.publishEvent(new OrderStatusUpdate(second, 1L, StatusEnum.CONFIRMED));
+          eventPublisher.publishEvent(new OrderStatusUpdate(first, 1L, StatusEnum.DELIVERED));
+        });
+
+    assertThat(search(query("pen", null, null, null, null)).statusFacets())
+        .containsOnly(entry(StatusEnum.DELIVERED, 1L), entry(StatusEnum.CONFIRMED, 1L));
+  }
+
+  @Test
+  void index_ShouldKeepTotalsAtPriceOfOrderTime() {
+    Long orderId = placeOrder("ann@test.com", LocalDate.of(2025, 1, 10), pen, 2);
+    pen.setPrice(new BigDecimal("20.00"));
+    itemRepository.save(pen);
+
+    transactionTemplate.executeWithoutResult(
+        status -> eventPublisher.publishEvent(new OrderChangedEvent(orderId)));
+
+    assertThat(search(query("pen", null, null, null, null)).content())
+        .extracting(OrderSearchHit::totalAmount)
+        .singleElement()
+        .satisfies(total -> assertThat(total).isEqualByComparingTo("25.00"));
+  }
+
+  private Long placeOrder(String email, LocalDate creationDate, Item item, int quantity) {
+    return transactionTemplate.execute(
+        status -> {
+          Order order =
+              new Order(
+                  null,
+                  1L,
+                  StatusEnum.PENDING,
+                  creationDate,
+                  email,
+                  new ArrayList<>(),
+                  null,
+                  null,
+                  null);
+          order.getOrderItems().add(new OrderItem(null, order, item, quantity, item.getPrice()));
+          Long id = orderRepository.save(order).getId();
+          eventPublisher.publishEvent(new OrderChangedEvent(id));
+          return id;
+        });
+  }
+
+  private OrderSearchResult search(OrderSearchQuery query) {
+    return orderSearchService.search(query, PageRequest.of(0, 20));
+  }
+
+  private static OrderSearchQuery query(
+      String text, String email, LocalDate from, LocalDate to, BigDecimal minAmount) {
+    return new OrderSearchQuery(text, email, from, to, minAmount, null, List.of());
+  }
+}
@@ -42,7 +42,6 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
-import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.KafkaContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -94,6 +93,7 @@ class OrderServiceKafkaIntegrationTests {
     registry.add("spring.kafka.producer.properties.spring.json.add.type.headers", () -> "false");
     registry.add("kafka.topic.order.created", () -> "queuing.orderservice.order");
     registry.add("kafka.topic.payment.created", () -> "queuing.paymentservice.payment");
+    registry.add("outbox.relay.poll-interval-ms", () -> "100");
   }
 
   private static WireMockServer wireMockServer;
@@ -207,7 +207,6 @@ class OrderServiceKafkaIntegrationTests {
   }
 
   @Test
-  @Transactional
   void createOrder_ShouldPublishOrderCreatedEvent() throws Exception {
     setupUserServiceMock(testUser, 200);
 
@@ -217,7 +216,7 @@ class OrderServiceKafkaIntegrationTests {
     assertThat(result.getOrderDto().status()).isEqualTo(StatusEnum.PENDING);
 
     var captor = org.mockito.ArgumentCaptor.forClass(OrderCreatedEvent.class);
-    org.mockito.Mockito.verify(orderEventProducer, org.mockito.Mockito.timeout(5_000))
+    org.mockito.Mockito.verify(orderEventProducer, org.mockito.Mockito.timeout(10_000))
         .publishOrderCreated(captor.capture());
 
     OrderCreatedEvent event = captor.getValue();
@@ -340,14 +339,47 @@ class OrderServiceKafkaIntegrationTests {
   }
 
   @Test
-  @Transactional
+  void handlePaymentEvent_ShouldNotRevertConfirmedOrder_WhenLateFailureArrives() throws Exception {
+    setupUserServiceMock(testUser, 200);
+
+    Long orderId = orderService.create(testOrderDto).getOrderDto().id();
+
+    PaymentCreatedEvent success =
+        new PaymentCreatedEvent(
+            "payment-321", orderId, testUser.id(), "SUCCESS", Instant.now(), BigDecimal.TEN);
+    PaymentCreatedEvent lateFailure =
+        new PaymentCreatedEvent(
+            "payment-654", orderId, testUser.id(), "FAILED", Instant.now(), BigDecimal.TEN);
+
+    paymentEventKafkaTemplate
+        .send("queuing.paymentservice.payment", orderId.toString(), success)
+        .get(5, TimeUnit.SECONDS);
+    paymentEventKafkaTemplate
+        .send("queuing.paymentservice.payment", orderId.toString(), success)
+        .get(5, TimeUnit.SECONDS);
+    paymentEventKafkaTemplate
+        .send("queuing.paymentservice.payment", orderId.toString(), lateFailure)
+        .get(5, TimeUnit.SECONDS);
+
+    await()
+        .atMost(15, TimeUnit.SECONDS)
+        .pollInterval(Duration.ofMillis(500))
+        .untilAsserted(
+            () -> {
+              Order updatedOrder = orderRepository.findById(orderId).orElseThrow();
+              assertThat(updatedOrder.getStatus()).isEqualTo(StatusEnum.CONFIRMED);
+              assertThat(updatedOrder.getVersion()).isEqualTo(1L);
+            });
+  }
+
+  @Test
   void createOrder_ShouldPublishEventWithCorrectTotalAmount() throws Exception {
     setupUserServiceMock(testUser, 200);
 
     var result = orderService.create(testOrderDto);
 
     var captor = org.mockito.ArgumentCaptor.forClass(OrderCreatedEvent.class);
-    org.mockito.Mockito.verify(orderEventProducer, org.mockito.Mockito.timeout(5_000))
+    org.mockito.Mockito.verify(orderEventProducer, org.mockito.Mockito.timeout(10_000))
         .publishOrderCreated(captor.capture());
 
     OrderCreatedEvent event = captor.getValue();
@@ -0,0 +1,213 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.datasource.ReadWriteRoutingDataSource;
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.repository.ItemRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs against a real streaming-replication pair: the replica is cloned from the primary with
+ * {@code pg_basebackup} and follows it as a hot standby.
+ */
+@SpringBootTest
+@Testcontainers
+public class ReplicaRoutingIntegrationTests {
+
+  private static final String IN_RECOVERY = "SELECT pg_is_in_recovery()";
+
+  static Network network = Network.newNetwork();
+
+  @Container
+  static PostgreSQLContainer<?> primary =
+      new PostgreSQLContainer<>("postgres:18")
+          .withNetwork(network)
+          .withNetworkAliases("primary")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test")
+          .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4")
+          .withCopyToContainer(
+              Transferable.of(
+                  "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n"),
+              "/docker-entrypoint-initdb.d/10-replication.sh");
+
+  @Container
+  static GenericContainer<?> replica =
+      new GenericContainer<>("postgres:18")
+          .dependsOn(primary)
+          .withNetwork(network)
+          .withEnv("PGPASSWORD", "test")
+          .withExposedPorts(5432)
+          .withCreateContainerCmdModifier(
+              cmd ->
+                  cmd.withEntrypoint(
+                      "bash",
+                      "-c",
+                      "until pg_basebackup -h primary -U test -D \"$PGDATA\" -R -X stream; do "
+                          + "rm -rf \"$PGDATA\"/*; sleep 1; done; "
+                          + "exec docker-entrypoint.sh postgres -c hot_standby=on"))
+          .waitingFor(
+              Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                  .withStartupTimeout(Duration.ofMinutes(2)));
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", primary::getJdbcUrl);
+    registry.add("spring.datasource.username", primary::getUsername);
+    registry.add("spring.datasource.password", primary::getPassword);
+    registry.add("order.datasource.replicas[0].url", ReplicaRoutingIntegrationTests::replicaUrl);
+    registry.add("order.datasource.max-lag", () -> "1s");
+    registry.add("order.datasource.lag-check-interval-ms", () -> "200");
+    registry.add(
+        "spring.jpa.properties.hibernate.connection.handling_mode",
+        () -> "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private ReadWriteRoutingDataSource routingDataSource;
+
+  private TransactionTemplate readOnly;
+  private TransactionTemplate readWrite;
+
+  @BeforeEach
+  void setUp() {
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    readWrite = new TransactionTemplate(transactionManager);
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .until(() -> routingDataSource.replicationLag().containsKey("replica-0"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void readOnlyTransaction_ShouldRunOnReplica() {
+    assertThat(inRecovery(readOnly)).isTrue();
+  }
+
+  @Test
+  void readWriteTransaction_ShouldRunOnPrimary() {
+    assertThat(inRecovery(readWrite)).isFalse();
+  }
+
+  @Test
+  void readOnlyTransaction_ShouldStayOnPrimary_AfterClientWrote() {
+    MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+    bindRequest(new MockHttpServletRequest(), writeResponse);
+    readWrite.executeWithoutResult(
+        status -> itemRepository.save(new Item(null, "sticky", BigDecimal.ONE, null, null)));
+
+    assertThat(inRecovery(readOnly)).isFalse();
+    Cookie cookie = writeResponse.getCookie("order-primary-until");
+    assertThat(cookie).isNotNull();
+
+    MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+    nextRequest.setCookies(cookie);
+    bindRequest(nextRequest, new MockHttpServletResponse());
+    assertThat(inRecovery(readOnly)).isFalse();
+
+    bindRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    assertThat(inRecovery(readOnly)).isTrue();
+  }
+
+  @Test
+  void readOnlyTransaction_ShouldFallBackToPrimary_WhenReplicaLags() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(replicaUrl(), "test", "test")) {
+      connection.createStatement().execute("SELECT pg_wal_replay_pause()");
+      try {
+        readWrite.executeWithoutResult(
+            status -> itemRepository.save(new Item(null, "lagging", BigDecimal.ONE, null, null)));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> !inRecovery(readOnly));
+      } finally {
+        connection.createStatement().execute("SELECT pg_wal_replay_resume()");
+      }
+    }
+
+    await().atMost(Duration.ofSeconds(10)).until(() -> inRecovery(readOnly));
+  }
+
+  @Test
+  void readOnlyTransaction_ShouldFallBackToPrimary_WhenWalReceiverStopped() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(replicaUrl(), "test", "test");
+        Statement statement = connection.createStatement()) {
+      ResultSet conninfo = statement.executeQuery("SHOW primary_conninfo");
+      conninfo.next();
+      String primaryConninfo = conninfo.getString(1);
+      statement.execute("ALTER SYSTEM SET primary_conninfo = ''");
+      statement.execute("SELECT pg_reload_conf()");
+      try {
+        await().atMost(Duration.ofSeconds(10)).until(() -> !inRecovery(readOnly));
+      } finally {
+        statement.execute(
+            "ALTER SYSTEM SET primary_conninfo = '%s'"
+                .formatted(primaryConninfo.replace("'", "''")));
+        statement.execute("SELECT pg_reload_conf()");
+      }
+    }
+
+    await().atMost(Duration.ofSeconds(10)).until(() -> inRecovery(readOnly));
+  }
+
+  private boolean inRecovery(TransactionTemplate template) {
+    return Boolean.TRUE.equals(
+        template.execute(status -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+  }
+
+  private static void bindRequest(
+      MockHttpServletRequest request, MockHttpServletResponse response) {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+  }
+
+  private static String replicaUrl() {
+    return "jdbc:postgresql://%s:%d/testdb"
+        .formatted(replica.getHost(), replica.getMappedPort(5432));
+  }
+}
@@ -0,0 +1,192 @@
+package com.innowise.orderservice.integration;
+
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.messaging.event.OrderChangedEvent;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.UserOrderSummary;
+import com.innowise.orderservice.model.entity.Item;
+import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.repository.UserOrderSummaryRepository;
+import com.innowise.orderservice.service.impl.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers
+public class UserOrderSummaryIntegrationTests {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:18")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("userservice.url", () -> "http://localhost:8091");
+    registry.add("outbox.relay.enabled", () -> "false");
+  }
+
+  @MockitoBean private OrderEventProducer orderEventProducer;
+
+  @Autowired private UserOrderSummaryRepository userOrderSummaryRepository;
+
+  @Autowired private OrderRepository orderRepository;
+
+  @Autowired private OrderProjectionRepository orderProjectionRepository;
+
+  @Autowired private OrderService orderService;
+
+  @Autowired private ItemRepository itemRepository;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Item pen;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository.deleteAll();
+    itemRepository.deleteAll();
+    jdbcTemplate.update("DELETE FROM user_order_summary");
+    pen = itemRepository.save(new Item(null, "Fountain pen", new BigDecimal("12.50"), null, null));
+  }
+
+  @Test
+  void summary_ShouldCountOrdersAndKeepLatestDate() {
+    placeOrder(LocalDate.of(2025, 2, 3), 1);
+    placeOrder(LocalDate.of(2025, 1, 10), 1);
+
+    assertThat(summary())
+        .isEqualTo(new UserOrderSummary(1L, 2, new BigDecimal("0.00"), LocalDate.of(2025, 2, 3)));
+  }
+
+  @Test
+  void summary_ShouldFollowPaymentsAndRefunds() {
+    Long first = placeOrder(LocalDate.of(2025, 1, 10), 2);
+    Long second = placeOrder(LocalDate.of(2025, 1, 11), 1);
+
+    userOrderSummaryRepository.recordPaymentChange(List.of(first, second), true);
+    assertThat(summary().totalSpent()).isEqualByComparingTo("37.50");
+
+    userOrderSummaryRepository.recordPaymentChange(List.of(second), false);
+    assertThat(summary().totalSpent()).isEqualByComparingTo("25.00");
+  }
+
+  @Test
+  void summary_ShouldDropRemovedOrderAndRecomputeLatestDate() {
+    placeOrder(LocalDate.of(2025, 1, 10), 1);
+    Long latest = placeOrder(LocalDate.of(2025, 2, 3), 2);
+    userOrderSummaryRepository.recordPaymentChange(List.of(latest), true);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          userOrderSummaryRepository.recordOrderRemoved(latest, 1L, true);
+          orderRepository.deleteById(latest);
+        });
+
+    assertThat(summary())
+        .isEqualTo(new UserOrderSummary(1L, 1, new BigDecimal("0.00"), LocalDate.of(2025, 1, 10)));
+  }
+
+  @Test
+  void deleteById_ShouldWaitForConcurrentStatusChange_BeforeReadingStatus() throws Exception {
+    Long id = placeOrder(LocalDate.of(2025, 1, 10), 2);
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> payment =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      orderProjectionRepository.lockStatusUpdates(List.of(id));
+                      jdbcTemplate.update(
+                          "UPDATE orders SET status = 'CONFIRMED' WHERE id = ?", id);
+                      userOrderSummaryRepository.recordPaymentChange(List.of(id), true);
+                      locked.countDown();
+                      await(release);
+                    }));
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<Void> deletion =
+        CompletableFuture.runAsync(() -> orderService.deleteById(id));
+    assertThatThrownBy(() -> deletion.get(300, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    release.countDown();
+    payment.get(5, TimeUnit.SECONDS);
+    deletion.get(5, TimeUnit.SECONDS);
+
+    assertThat(summary().orderCount()).isZero();
+    assertThat(summary().totalSpent()).isEqualByComparingTo("0.00");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private UserOrderSummary summary() {
+    return userOrderSummaryRepository.findByUserId(1L).orElseThrow();
+  }
+
+  private Long placeOrder(LocalDate creationDate, int quantity) {
+    return transactionTemplate.execute(
+        status -> {
+          Order order =
+              new Order(
+                  null,
+                  1L,
+                  StatusEnum.PENDING,
+                  creationDate,
+                  "ann@test.com",
+                  new ArrayList<>(),
+                  null,
+                  null,
+                  null);
+          order.getOrderItems().add(new OrderItem(null, order, pen, quantity, pen.getPrice()));
+          Long id = orderRepository.save(order).getId();
+          userOrderSummaryRepository.recordOrderPlaced(1L, creationDate);
+          eventPublisher.publishEvent(new OrderChangedEvent(id));
+          return id;
+        });
+  }
+}
@@ -0,0 +1,145 @@
+package com.innowise.orderservice.unit.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.orderservice.client.ReactiveUserServiceClient;
+import com.innowise.orderservice.config.ReactiveUserServiceProperties;
+import com.innowise.orderservice.config.UserServiceResilienceConfig;
+import com.innowise.orderservice.exception.RetrieveUserException;
+import com.innowise.orderservice.model.dto.UserDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReactiveUserServiceClientTests {
+
+  private static WireMockServer wireMockServer;
+
+  private Bulkhead bulkhead;
+  private CircuitBreaker circuitBreaker;
+  private ReactiveUserServiceClient client;
+
+  @BeforeAll
+  static void initialize() {
+    wireMockServer = new WireMockServer(options().dynamicPort());
+    wireMockServer.start();
+  }
+
+  @AfterAll
+  static void destroy() {
+    wireMockServer.stop();
+  }
+
+  @BeforeEach
+  void setUp() {
+    wireMockServer.resetAll();
+    ReactiveUserServiceProperties properties =
+        new ReactiveUserServiceProperties(Duration.ofMillis(300), Duration.ofMillis(500), 4, 1);
+    bulkhead = new UserServiceResilienceConfig().reactiveUserServiceBulkhead(properties);
+    circuitBreaker = CircuitBreaker.ofDefaults(UserServiceResilienceConfig.USER_SERVICE);
+    client =
+        new ReactiveUserServiceClient(
+            WebClient.builder(),
+            properties,
+            bulkhead,
+            circuitBreaker,
+            wireMockServer.baseUrl(),
+            "test-secret");
+  }
+
+  @Test
+  void getUserByEmail_ShouldReturnFirstUser_AndSendInternalSecret() {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo("/api/v1/users"))
+            .withQueryParam("filter", equalTo("email"))
+            .withQueryParam("email", equalTo("john+doe@example.com"))
+            .willReturn(
+                aResponse()
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        """
+                        [{"id":1,"name":"John","surname":"Doe","birthDate":"1990-01-01",\
+                        "email":"john+doe@example.com"}]
+                        """)));
+
+    UserDto user = client.getUserByEmail("john+doe@example.com").block();
+
+    assertThat(user)
+        .isEqualTo(
+            new UserDto(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "john+doe@example.com"));
+    wireMockServer.verify(
+        getRequestedFor(urlPathEqualTo("/api/v1/users"))
+            .withHeader("X-Internal-Secret", equalTo("test-secret")));
+  }
+
+  @Test
+  void getUserByEmail_ShouldFailWithNotFoundMessage_WhenUserServiceReturns404() {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo("/api/v1/users")).willReturn(aResponse().withStatus(404)));
+
+    assertThatThrownBy(() -> client.getUserByEmail("ghost@example.com").block())
+        .isInstanceOf(RetrieveUserException.class)
+        .hasMessage("User with email 'ghost@example.com' not found");
+  }
+
+  @Test
+  void getUserByEmail_ShouldFailWithRetrieveUserException_WhenUserServiceIsTooSlow() {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo("/api/v1/users"))
+            .willReturn(aResponse().withFixedDelay(2000).withBody("[]")));
+
+    assertThatThrownBy(() -> client.getUserByEmail("slow@example.com").block())
+        .isInstanceOf(RetrieveUserException.class);
+  }
+
+  @Test
+  void getUserByEmail_ShouldFailFast_WhenCircuitBreakerIsOpen() {
+    circuitBreaker.transitionToOpenState();
+
+    assertThatThrownBy(() -> client.getUserByEmail("john@example.com").block())
+        .isInstanceOf(RetrieveUserException.class)
+        .hasMessage("User Service is currently unavailable. Please try again later.");
+    wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/api/v1/users")));
+  }
+
+  @Test
+  void getUserByEmail_ShouldBeRejected_WhenBulkheadIsFull() {
+    bulkhead.acquirePermission();
+
+    assertThatThrownBy(() -> client.getUserByEmail("john@example.com").block())
+        .isInstanceOf(RetrieveUserException.class)
+        .hasMessage("Too many concurrent requests to User Service. Please try again later.");
+    wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/api/v1/users")));
+  }
+
+  @Test
+  void getUserByEmail_ShouldReleaseBulkheadSlot_AfterLookup() {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo("/api/v1/users")).willReturn(aResponse().withStatus(500)));
+
+    assertThatThrownBy(() -> client.getUserByEmail("john@example.com").block())
+        .isInstanceOf(RetrieveUserException.class);
+    assertThatThrownBy(() -> client.getUserByEmail("john@example.com").block())
+        .isInstanceOf(RetrieveUserException.class)
+        .hasMessageStartingWith("Communication error with User Service");
+
+    assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(2);
+    wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/api/v1/users")));
+  }
+}
@@ -0,0 +1,174 @@
+package com.innowise.orderservice.unit.client;
+
+import com.innowise.orderservice.client.ResilientUserServiceClient;
+import com.innowise.orderservice.client.UserServiceClient;
+import com.innowise.orderservice.config.UserServiceCallProperties;
+import com.innowise.orderservice.config.UserServiceResilienceConfig;
+import com.innowise.orderservice.exception.UserServiceTimeoutException;
+import com.innowise.orderservice.model.dto.UserDto;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResilientUserServiceClientTests {
+
+  private static final UserDto USER = new UserDto(100L, "John", "Doe", null, "test@example.com");
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private SimpleMeterRegistry meterRegistry;
+  private ResilientUserServiceClient client;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    if (client != null) {
+      client.shutdown();
+    }
+  }
+
+  @Test
+  void timeout_ShouldUseUpperBound_UntilEnoughLatenciesAreKnown() {
+    client = client((filter, email) -> List.of(USER), properties(3, false, 10, Duration.ZERO));
+
+    assertThat(client.timeout()).isEqualTo(Duration.ofSeconds(2));
+    client.getUserByEmail("email", USER.email());
+    client.getUserByEmail("email", USER.email());
+    client.getUserByEmail("email", USER.email());
+
+    assertThat(client.timeout()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void getUserByEmail_ShouldThrowTimeoutException_WhenUserServiceIsTooSlow() {
+    client =
+        client(
+            (filter, email) -> awaitRelease(),
+            new UserServiceCallProperties(
+                16,
+                100,
+                Duration.ofMillis(10),
+                Duration.ofMillis(50),
+                2.0,
+                false,
+                Duration.ofMillis(10),
+                10,
+                Duration.ZERO));
+
+    assertThatThrownBy(() -> client.getUserByEmail("email", USER.email()))
+        .isInstanceOf(UserServiceTimeoutException.class)
+        .hasMessageContaining("50 ms");
+  }
+
+  @Test
+  void getUserByEmail_ShouldReturnHedgedAnswer_WhenFirstCallIsSlow() {
+    AtomicInteger calls = new AtomicInteger();
+    client =
+        client(
+            (filter, email) -> calls.incrementAndGet() == 4 ? awaitRelease() : List.of(USER),
+            properties(3, true, 10, Duration.ZERO));
+    for (int i = 0; i < 3; i++) {
+      client.getUserByEmail("email", USER.email());
+    }
+
+    assertThat(client.getUserByEmail("email", USER.email())).containsExactly(USER);
+    assertThat(meterRegistry.counter("order.userservice.hedges", "result", "fired").count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.counter("order.userservice.hedges", "result", "won").count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void getUserByEmail_ShouldNotHedge_WhenHedgingIsDisabled() {
+    client = client((filter, email) -> List.of(USER), properties(1, false, 10, Duration.ZERO));
+
+    client.getUserByEmail("email", USER.email());
+    client.getUserByEmail("email", USER.email());
+
+    assertThat(meterRegistry.counter("order.userservice.hedges", "result", "fired").count())
+        .isZero();
+  }
+
+  @Test
+  void getUserByEmail_ShouldPropagateFailureOfUserService() {
+    client =
+        client(
+            (filter, email) -> {
+              throw new IllegalArgumentException("boom");
+            },
+            properties(3, true, 10, Duration.ZERO));
+
+    assertThatThrownBy(() -> client.getUserByEmail("email", USER.email()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("boom");
+  }
+
+  @Test
+  void getUserByEmail_ShouldRejectCall_WhenBulkheadIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    client =
+        client(
+            (filter, email) -> {
+              started.countDown();
+              return awaitRelease();
+            },
+            properties(3, false, 1, Duration.ZERO));
+    CompletableFuture<List<UserDto>> blocked =
+        CompletableFuture.supplyAsync(() -> client.getUserByEmail("email", USER.email()));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> client.getUserByEmail("email", USER.email()))
+        .isInstanceOf(BulkheadFullException.class);
+
+    release.countDown();
+    assertThat(blocked.get(5, TimeUnit.SECONDS)).containsExactly(USER);
+  }
+
+  private ResilientUserServiceClient client(
+      UserServiceClient delegate, UserServiceCallProperties properties) {
+    return new ResilientUserServiceClient(
+        delegate,
+        properties,
+        new UserServiceResilienceConfig().userServiceBulkhead(properties),
+        meterRegistry);
+  }
+
+  private static UserServiceCallProperties properties(
+      int minSamples, boolean hedging, int maxConcurrentCalls, Duration maxWait) {
+    return new UserServiceCallProperties(
+        16,
+        minSamples,
+        Duration.ofMillis(500),
+        Duration.ofSeconds(2),
+        2.0,
+        hedging,
+        Duration.ofMillis(10),
+        maxConcurrentCalls,
+        maxWait);
+  }
+
+  private List<UserDto> awaitRelease() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return List.of(USER);
+  }
+}
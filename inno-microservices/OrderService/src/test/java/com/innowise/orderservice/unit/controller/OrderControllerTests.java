@@ -2,11 +2,24 @@ package com.innowise.orderservice.unit.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innowise.orderservice.controller.OrderController;
+import com.innowise.orderservice.exception.NotFoundException;
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.BulkStatusResult;
+import com.innowise.orderservice.model.dto.BulkStatusUpdate;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
 import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderSearchHit;
+import com.innowise.orderservice.model.dto.OrderSearchQuery;
+import com.innowise.orderservice.model.dto.OrderSearchResult;
 import com.innowise.orderservice.model.dto.OrderUserDto;
 import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.model.dto.UserOrderSummary;
+import com.innowise.orderservice.model.dto.VersionedOrder;
+import com.innowise.orderservice.service.impl.OrderExportService;
+import com.innowise.orderservice.service.impl.OrderSearchService;
 import com.innowise.orderservice.service.impl.OrderService;
+import com.innowise.orderservice.service.impl.OrderStatusHub;
+import com.innowise.orderservice.service.impl.ReactiveOrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,29 +32,49 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
-
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiPredicate;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
 public class OrderControllerTests {
+  private static final Instant UPDATED_AT = Instant.parse("2025-01-01T10:00:00Z");
 
   @Autowired private MockMvc mockMvc;
 
@@ -49,6 +82,14 @@ public class OrderControllerTests {
 
   @MockitoBean private OrderService orderService;
 
+  @MockitoBean private OrderExportService orderExportService;
+
+  @MockitoBean private OrderStatusHub orderStatusHub;
+
+  @MockitoBean private OrderSearchService orderSearchService;
+
+  @MockitoBean private ReactiveOrderService reactiveOrderService;
+
   private OrderDto testOrderDto;
   private OrderUserDto testOrderUserDto;
   private UserDto testUserDto;
@@ -78,24 +119,129 @@ public class OrderControllerTests {
     verify(orderService, times(1)).create(any(OrderDto.class));
   }
 
+  @Test
+  void createAsync_ShouldReturnAcceptedWithStatusLocation() throws Exception {
+    when(orderService.acceptAsync(any(OrderDto.class))).thenReturn(testOrderDto);
+
+    mockMvc
+        .perform(
+            post("/api/v1/orders/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrderDto)))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "http://localhost/api/v1/orders/1"))
+        .andExpect(jsonPath("$.id").value(testOrderDto.id()))
+        .andExpect(jsonPath("$.status").value("PENDING"));
+
+    verify(orderService).acceptAsync(any(OrderDto.class));
+    verify(orderService, never()).create(any(OrderDto.class));
+  }
+
   @Test
   void findById_ShouldReturnOrder() throws Exception {
     Long orderId = 1L;
-    when(orderService.findById(orderId)).thenReturn(testOrderUserDto);
+    VersionedOrder order = new VersionedOrder(testOrderUserDto, 3L, UPDATED_AT);
+    stubVersioned(orderId, order);
 
     mockMvc
         .perform(get("/api/v1/orders/{id}", orderId))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", order.etag()))
+        .andExpect(header().dateValue("Last-Modified", UPDATED_AT.toEpochMilli()))
         .andExpect(jsonPath("$.orderDto.id").value(orderId))
         .andExpect(jsonPath("$.userDto.email").value(testUserDto.email()));
 
-    verify(orderService, times(1)).findById(orderId);
+    verify(orderService, times(1)).findVersionedById(eq(orderId), any());
+  }
+
+  @Test
+  void findById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+    VersionedOrder order = new VersionedOrder(testOrderUserDto, 3L, UPDATED_AT);
+    stubVersioned(1L, order);
+
+    mockMvc
+        .perform(get("/api/v1/orders/{id}", 1L).header("If-None-Match", order.etag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", order.etag()))
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void findById_ShouldReturnNotModified_WhenNotModifiedSince() throws Exception {
+    stubVersioned(1L, new VersionedOrder(testOrderUserDto, 3L, UPDATED_AT));
+
+    mockMvc
+        .perform(
+            get("/api/v1/orders/{id}", 1L)
+                .header(
+                    "If-Modified-Since",
+                    DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                        UPDATED_AT.atZone(ZoneOffset.UTC))))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void findById_ShouldReturnBody_WhenOrderVersionChanged() throws Exception {
+    VersionedOrder previous = new VersionedOrder(testOrderUserDto, 3L, UPDATED_AT);
+    stubVersioned(1L, new VersionedOrder(testOrderUserDto, 4L, UPDATED_AT));
+
+    mockMvc
+        .perform(get("/api/v1/orders/{id}", 1L).header("If-None-Match", previous.etag()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orderDto.id").value(1L));
+  }
+
+  @Test
+  void findById_ShouldReturnBody_WhenUserChanged() throws Exception {
+    VersionedOrder previous = new VersionedOrder(testOrderUserDto, 3L, UPDATED_AT);
+    UserDto renamed =
+        new UserDto(
+            testUserDto.id(),
+            "Renamed",
+            testUserDto.surname(),
+            testUserDto.birthDate(),
+            testUserDto.email());
+    stubVersioned(
+        1L, new VersionedOrder(new OrderUserDto(testOrderDto, renamed), 3L, UPDATED_AT));
+
+    mockMvc
+        .perform(get("/api/v1/orders/{id}", 1L).header("If-None-Match", previous.etag()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userDto.name").value("Renamed"));
+  }
+
+  @Test
+  void findByIdReactive_ShouldReturnOrderAsynchronously() throws Exception {
+    when(reactiveOrderService.findById(1L)).thenReturn(Mono.just(testOrderUserDto));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/orders/reactive/{id}", 1L))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orderDto.id").value(1L))
+        .andExpect(jsonPath("$.userDto.email").value(testUserDto.email()));
+  }
+
+  @Test
+  void findByIdReactive_ShouldReturnNotFound_WhenOrderDoesNotExist() throws Exception {
+    when(reactiveOrderService.findById(99L)).thenReturn(Mono.error(new NotFoundException(99L)));
+
+    MvcResult result = mockMvc.perform(get("/api/v1/orders/reactive/{id}", 99L)).andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
   }
 
   @Test
   void update_ShouldReturnUpdatedContent() throws Exception {
     Long orderId = 1L;
-    when(orderService.updateById(eq(orderId), any(OrderDto.class))).thenReturn(testOrderUserDto);
+    when(orderService.updateById(eq(orderId), any(OrderDto.class), eq(true)))
+        .thenReturn(testOrderUserDto);
 
     mockMvc
         .perform(
@@ -104,7 +250,60 @@ public class OrderControllerTests {
                 .content(objectMapper.writeValueAsString(testOrderDto)))
         .andExpect(status().isOk());
 
-    verify(orderService, times(1)).updateById(eq(orderId), any(OrderDto.class));
+    verify(orderService, times(1)).updateById(eq(orderId), any(OrderDto.class), eq(true));
+  }
+
+  @Test
+  void update_ShouldSkipUser_WhenUserIsExcluded() throws Exception {
+    Long orderId = 1L;
+    when(orderService.updateById(eq(orderId), any(OrderDto.class), eq(false)))
+        .thenReturn(new OrderUserDto(testOrderDto, null));
+
+    mockMvc
+        .perform(
+            put("/api/v1/orders/{id}", orderId)
+                .param("exclude", "user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testOrderDto)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userDto").doesNotExist());
+
+    verify(orderService).updateById(eq(orderId), any(OrderDto.class), eq(false));
+  }
+
+  @Test
+  void updateStatuses_ShouldReturnOutcomePerOrder() throws Exception {
+    when(orderService.updateStatuses(List.of(1L, 2L), StatusEnum.SHIPPED))
+        .thenReturn(
+            List.of(
+                new BulkStatusResult(1L, BulkStatusResult.Outcome.UPDATED, StatusEnum.SHIPPED),
+                new BulkStatusResult(2L, BulkStatusResult.Outcome.NOT_FOUND, null)));
+
+    mockMvc
+        .perform(
+            patch("/api/v1/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new BulkStatusUpdate(List.of(1L, 2L), StatusEnum.SHIPPED))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+        .andExpect(jsonPath("$[0].status").value("SHIPPED"))
+        .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+  }
+
+  @Test
+  void updateStatuses_ShouldReturnBadRequest_WhenIdsAreEmpty() throws Exception {
+    mockMvc
+        .perform(
+            patch("/api/v1/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new BulkStatusUpdate(List.of(), StatusEnum.SHIPPED))))
+        .andExpect(status().isBadRequest());
+
+    verify(orderService, never()).updateStatuses(any(), any());
   }
 
   @Test
@@ -187,4 +386,150 @@ public class OrderControllerTests {
 
     verify(orderService).findBySpecification(argThat(Objects::nonNull), eq(pageable));
   }
+
+  @Test
+  void scroll_ShouldReturnWindowWithNextCursor() throws Exception {
+    OrderCursorPage window = new OrderCursorPage(List.of(testOrderUserDto), "next-token");
+
+    when(orderService.scrollBySpecification(any(Specification.class), eq("token"), eq(10)))
+        .thenReturn(window);
+
+    mockMvc
+        .perform(
+            get("/api/v1/orders/scroll")
+                .param("statuses", "PENDING")
+                .param("cursor", "token")
+                .param("size", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].orderDto.id").value(testOrderDto.id()))
+        .andExpect(jsonPath("$.nextCursor").value("next-token"));
+
+    verify(orderService).scrollBySpecification(any(Specification.class), eq("token"), eq(10));
+  }
+
+  @Test
+  void findProjected_ShouldReturnWindowWithNextCursor() throws Exception {
+    when(orderService.findProjected(any(), any(), eq("token"), eq(10)))
+        .thenReturn(new OrderCursorPage(List.of(testOrderUserDto), "next-token"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/orders/projected")
+                .param("statuses", "PENDING")
+                .param("cursor", "token")
+                .param("size", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].orderDto.id").value(testOrderDto.id()))
+        .andExpect(jsonPath("$.nextCursor").value("next-token"));
+
+    verify(orderService).findProjected(any(), any(), eq("token"), eq(10));
+  }
+
+  @Test
+  void export_ShouldStreamNdjson() throws Exception {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+    when(orderExportService.export(any(Specification.class))).thenReturn(emitter);
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/v1/orders/export")
+                    .param("statuses", "DELIVERED")
+                    .param("from", "2025-01-01")
+                    .param("to", "2025-01-31"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    emitter.send("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_NDJSON);
+    emitter.complete();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string("{\"id\":1}\n"));
+
+    verify(orderExportService).export(any(Specification.class));
+  }
+
+  @Test
+  void streamStatuses_ShouldOpenEventStreamForUser() throws Exception {
+    when(orderStatusHub.subscribe(10L)).thenReturn(new SseEmitter());
+
+    mockMvc
+        .perform(get("/api/v1/orders/stream").param("userId", "10"))
+        .andExpect(request().asyncStarted())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+
+    verify(orderStatusHub).subscribe(10L);
+  }
+
+  @Test
+  void summary_ShouldReturnUserOrderSummary() throws Exception {
+    when(orderService.findSummaryByUserId(10L))
+        .thenReturn(
+            new UserOrderSummary(10L, 3, new BigDecimal("42.50"), LocalDate.of(2025, 1, 10)));
+
+    mockMvc
+        .perform(get("/api/v1/orders/summary").param("userId", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userId").value(10))
+        .andExpect(jsonPath("$.orderCount").value(3))
+        .andExpect(jsonPath("$.totalSpent").value(42.5))
+        .andExpect(jsonPath("$.lastOrderDate").value("2025-01-10"));
+  }
+
+  @Test
+  void search_ShouldPassFiltersAndReturnFacets() throws Exception {
+    OrderSearchHit hit =
+        new OrderSearchHit(
+            1L,
+            10L,
+            "ivan@test.com",
+            StatusEnum.PENDING,
+            LocalDate.of(2025, 1, 10),
+            new BigDecimal("12.50"),
+            "Fountain pen");
+    OrderSearchResult searchResult =
+        new OrderSearchResult(
+            List.of(hit),
+            1,
+            Map.of(StatusEnum.PENDING, 1L),
+            Map.of(YearMonth.of(2025, 1), 1L));
+    when(orderSearchService.search(any(OrderSearchQuery.class), any(Pageable.class)))
+        .thenReturn(searchResult);
+
+    mockMvc
+        .perform(
+            get("/api/v1/orders/search")
+                .param("q", "pen")
+                .param("from", "2025-01-01")
+                .param("minAmount", "10")
+                .param("statuses", "PENDING"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].orderId").value(1))
+        .andExpect(jsonPath("$.statusFacets.PENDING").value(1))
+        .andExpect(jsonPath("$.monthFacets['2025-01']").value(1));
+
+    verify(orderSearchService)
+        .search(
+            argThat(
+                query ->
+                    query.text().equals("pen")
+                        && query.from().equals(LocalDate.of(2025, 1, 1))
+                        && query.minAmount().compareTo(BigDecimal.TEN) == 0
+                        && query.statuses().contains(StatusEnum.PENDING)),
+            any(Pageable.class));
+  }
+
+  /** Stubs the service like the real one: empty when the client's tag matches the current one. */
+  private void stubVersioned(Long id, VersionedOrder current) {
+    when(orderService.findVersionedById(eq(id), any()))
+        .thenAnswer(
+            invocation -> {
+              BiPredicate<String, Instant> unchanged = invocation.getArgument(1);
+              return unchanged.test(current.etag(), current.lastModified())
+                  ? Optional.empty()
+                  : Optional.of(current);
+            });
+  }
 }
@@ -0,0 +1,91 @@
+package com.innowise.orderservice.unit.datasource;
+
+import com.innowise.orderservice.config.QueryMetricsProperties;
+import com.innowise.orderservice.datasource.QueryMetricsListener;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryMetricsListenerTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryMetricsListener listener =
+      new QueryMetricsListener(
+          meterRegistry, new QueryMetricsProperties(true, Duration.ofMillis(100), true, 10, 512));
+
+  @Test
+  void afterQuery_ShouldTimeStatementsUnderTheirShape() {
+    listener.afterQuery(
+        execution(40, true), List.of(new QueryInfo("select * from orders where id in (?)")));
+    listener.afterQuery(
+        execution(60, true), List.of(new QueryInfo("select * from orders where id in (?, ?)")));
+    listener.afterQuery(
+        execution(5, false), List.of(new QueryInfo("delete from orders where id = 7")));
+
+    Timer select =
+        meterRegistry
+            .get(QueryMetricsListener.METER)
+            .tags("query", "select * from orders where id in (?)", "type", "select")
+            .tag("outcome", "success")
+            .timer();
+    assertThat(select.count()).isEqualTo(2);
+    assertThat(select.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100);
+    assertThat(
+            meterRegistry
+                .get(QueryMetricsListener.METER)
+                .tags("query", "delete from orders where id = ?", "outcome", "error")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void afterQuery_ShouldRecordSlowStatements() throws Exception {
+    QueryInfo query = new QueryInfo("select * from orders where user_email = ?");
+    query.getParametersList().add(List.of(setString(1, "alice@example.com")));
+
+    listener.afterQuery(execution(250, true), List.of(query));
+
+    assertThat(meterRegistry.get(QueryMetricsListener.METER).timer().max(TimeUnit.MILLISECONDS))
+        .isEqualTo(250);
+  }
+
+  @Test
+  void renderParameters_ShouldHideValues_WhenRedacting() throws Exception {
+    List<ParameterSetOperation> parameters =
+        List.of(
+            setString(1, "alice@example.com"),
+            new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                new Object[] {2, Types.BIGINT}));
+
+    assertThat(QueryMetricsListener.renderParameters(parameters, true))
+        .isEqualTo("[String, null]");
+    assertThat(QueryMetricsListener.renderParameters(parameters, false))
+        .isEqualTo("[alice@example.com, null]");
+  }
+
+  private static ExecutionInfo execution(long elapsedMillis, boolean success) {
+    ExecutionInfo execution = new ExecutionInfo();
+    execution.setElapsedTime(elapsedMillis);
+    execution.setSuccess(success);
+    return execution;
+  }
+
+  private static ParameterSetOperation setString(int index, String value) throws Exception {
+    return new ParameterSetOperation(
+        PreparedStatement.class.getMethod("setString", int.class, String.class),
+        new Object[] {index, value});
+  }
+}
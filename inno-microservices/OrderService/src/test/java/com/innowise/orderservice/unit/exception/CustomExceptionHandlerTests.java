@@ -1,8 +1,10 @@
 package com.innowise.orderservice.unit.exception;
 
 import com.innowise.orderservice.exception.CustomExceptionHandler;
+import com.innowise.orderservice.exception.IllegalStatusTransitionException;
 import com.innowise.orderservice.exception.RetrieveUserException;
 import com.innowise.orderservice.exception.UpdateException;
+import com.innowise.orderservice.model.StatusEnum;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -82,6 +84,20 @@ public class CustomExceptionHandlerTests {
     assertThat(response.getBody().get("Error")).isEqualTo("Update failed for entity with id '456'");
   }
 
+  @Test
+  void handleIllegalStatusTransitionException_ShouldReturnConflict() {
+    IllegalStatusTransitionException exception =
+        new IllegalStatusTransitionException(7L, StatusEnum.DELIVERED, StatusEnum.PENDING);
+
+    ResponseEntity<Map<String, String>> response =
+        exceptionHandler.handleIllegalStatusTransitionException(exception);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(response.getBody()).containsKey("Timestamp");
+    assertThat(response.getBody().get("Error"))
+        .isEqualTo("Order '7' cannot move from DELIVERED to PENDING");
+  }
+
   @Test
   void handleRetrieveUserException_ShouldReturnInternalServerErrorWithDetails() {
     RuntimeException cause = new RuntimeException("Network timeout");
@@ -0,0 +1,65 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.orderservice.messaging.serde.EventCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the Avro event codec with the JSON serializer it replaced. Excluded from {@code test};
+ * run with {@code ./gradlew benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class EventCodecBenchmarkTests {
+
+  private static final int WARMUP = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  private final PaymentCreatedEvent event =
+      new PaymentCreatedEvent(
+          "6560f3b2c1d4e5f6a7b8c9d0",
+          123_456L,
+          4_321L,
+          "SUCCESS",
+          Instant.parse("2025-01-02T10:15:30.123Z"),
+          new BigDecimal("249.90"));
+
+  @Test
+  void encode_ShouldReportSizeAndThroughputAgainstJson() {
+    try (JsonSerializer<PaymentCreatedEvent> json = new JsonSerializer<>()) {
+      Function<PaymentCreatedEvent, byte[]> jsonEncoder = e -> json.serialize("topic", e);
+      Function<PaymentCreatedEvent, byte[]> avroEncoder = EventCodec::encode;
+
+      int jsonBytes = jsonEncoder.apply(event).length;
+      int avroBytes = avroEncoder.apply(event).length;
+      double jsonRate = encodesPerSecond(jsonEncoder);
+      double avroRate = encodesPerSecond(avroEncoder);
+
+      log.info("JSON:   {} bytes/event, {} events/s", jsonBytes, Math.round(jsonRate));
+      log.info("Avro:   {} bytes/event, {} events/s", avroBytes, Math.round(avroRate));
+    }
+  }
+
+  private double encodesPerSecond(Function<PaymentCreatedEvent, byte[]> encoder) {
+    long sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += encoder.apply(event).length;
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += encoder.apply(event).length;
+    }
+    long elapsed = System.nanoTime() - start;
+    assertThat(sink).isPositive();
+    return ITERATIONS * 1e9 / elapsed;
+  }
+}
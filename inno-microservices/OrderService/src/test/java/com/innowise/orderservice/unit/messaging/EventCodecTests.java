@@ -0,0 +1,113 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.messaging.event.OrderCreatedEvent;
+import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.orderservice.messaging.serde.BinaryEventDeserializer;
+import com.innowise.orderservice.messaging.serde.EventCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EventCodecTests {
+
+  /**
+   * Shared with the payment service codec tests; both sides must produce and read the same bytes.
+   * Single-object marker, OrderCreated schema fingerprint, then the Avro body.
+   */
+  private static final String ORDER_CREATED =
+      "c3010038571830e671080202040204041a028080f28183898506";
+
+  @Test
+  void encode_ShouldMatchSharedSchema() {
+    OrderCreatedEvent event =
+        new OrderCreatedEvent(
+            1L, 2L, new BigDecimal("10.50"), Instant.ofEpochSecond(1_700_000_000L));
+
+    assertThat(HexFormat.of().formatHex(EventCodec.encode(event))).isEqualTo(ORDER_CREATED);
+  }
+
+  @Test
+  void decode_ShouldRoundTripPaymentEvent() {
+    PaymentCreatedEvent event =
+        new PaymentCreatedEvent(
+            "6560f3b2c1d4e5f6a7b8c9d0",
+            42L,
+            7L,
+            "SUCCESS",
+            Instant.parse("2025-01-02T10:15:30.123456Z"),
+            new BigDecimal("-199.99"));
+
+    assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+  }
+
+  @Test
+  void decode_ShouldKeepNullFields() {
+    PaymentCreatedEvent event = new PaymentCreatedEvent(null, 42L, null, "FAILED", null, null);
+
+    assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+  }
+
+  @Test
+  void encode_ShouldRejectAmountWithMoreThanTwoDecimals() {
+    OrderCreatedEvent event =
+        new OrderCreatedEvent(1L, 2L, new BigDecimal("10.505"), Instant.now());
+
+    assertThatThrownBy(() -> EventCodec.encode(event)).isInstanceOf(SerializationException.class);
+  }
+
+  @Test
+  void decode_ShouldRejectTruncatedPayload() {
+    byte[] bytes = HexFormat.of().parseHex(ORDER_CREATED);
+
+    assertThatThrownBy(() -> EventCodec.decode(Arrays.copyOf(bytes, bytes.length - 3)))
+        .isInstanceOf(SerializationException.class);
+  }
+
+  @Test
+  void decode_ShouldRejectUnknownSchema() {
+    byte[] bytes = HexFormat.of().parseHex(ORDER_CREATED);
+    bytes[2] ^= 0x01;
+
+    assertThatThrownBy(() -> EventCodec.decode(bytes))
+        .isInstanceOf(SerializationException.class)
+        .hasMessageContaining("fingerprint");
+  }
+
+  @Test
+  void deserializer_ShouldFallBackToJson() {
+    PaymentCreatedEvent event =
+        new PaymentCreatedEvent(
+            "p-1",
+            1L,
+            2L,
+            "SUCCESS",
+            Instant.parse("2025-01-02T10:15:30Z"),
+            new BigDecimal("10.00"));
+    byte[] json;
+    try (JsonSerializer<PaymentCreatedEvent> serializer = new JsonSerializer<>()) {
+      json = serializer.serialize("topic", event);
+    }
+
+    try (BinaryEventDeserializer deserializer = new BinaryEventDeserializer()) {
+      deserializer.configure(
+          Map.of(
+              JsonDeserializer.TRUSTED_PACKAGES, "*",
+              JsonDeserializer.VALUE_DEFAULT_TYPE, PaymentCreatedEvent.class.getName(),
+              JsonDeserializer.USE_TYPE_INFO_HEADERS, false),
+          false);
+
+      assertThat(deserializer.deserialize("topic", json)).isEqualTo(event);
+      assertThat(deserializer.deserialize("topic", EventCodec.encode(event))).isEqualTo(event);
+    }
+  }
+}
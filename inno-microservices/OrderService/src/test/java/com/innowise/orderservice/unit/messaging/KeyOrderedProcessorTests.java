@@ -0,0 +1,89 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.config.PaymentListenerProperties;
+import com.innowise.orderservice.exception.NotFoundException;
+import com.innowise.orderservice.messaging.KeyOrderedProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeyOrderedProcessorTests {
+
+  private record Event(long key, int seq) {}
+
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+  private KeyOrderedProcessor processor;
+
+  @BeforeEach
+  void setUp() {
+    executor.setCorePoolSize(4);
+    executor.initialize();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void process_ShouldKeepOrderPerKey_WhenLanesRunInParallel() {
+    processor = new KeyOrderedProcessor(new PaymentListenerProperties(true, 4), executor);
+    List<Event> events = new ArrayList<>();
+    for (int seq = 0; seq < 100; seq++) {
+      events.add(new Event(seq % 7, seq));
+    }
+    List<List<Event>> handled = Collections.synchronizedList(new ArrayList<>());
+
+    processor.process(events, Event::key, handled::add);
+
+    assertThat(handled.stream().mapToInt(List::size).sum()).isEqualTo(events.size());
+    Map<Long, Long> lanesPerKey =
+        handled.stream()
+            .flatMap(lane -> lane.stream().map(Event::key).distinct())
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    assertThat(lanesPerKey.values()).containsOnly(1L);
+    handled.forEach(
+        lane -> assertThat(lane).isSortedAccordingTo((a, b) -> Integer.compare(a.seq(), b.seq())));
+  }
+
+  @Test
+  void process_ShouldHandleBatchInline_WhenSingleLane() {
+    processor = new KeyOrderedProcessor(new PaymentListenerProperties(true, 1), executor);
+    List<Event> events = List.of(new Event(1, 0), new Event(2, 1));
+    List<List<Event>> handled = new ArrayList<>();
+
+    processor.process(events, Event::key, handled::add);
+
+    assertThat(handled).containsExactly(events);
+  }
+
+  @Test
+  void process_ShouldRethrowLaneFailure() {
+    processor = new KeyOrderedProcessor(new PaymentListenerProperties(true, 4), executor);
+    List<Event> events = List.of(new Event(1, 0), new Event(2, 1), new Event(3, 2));
+
+    assertThatThrownBy(
+            () ->
+                processor.process(
+                    events,
+                    Event::key,
+                    lane -> {
+                      if (lane.stream().anyMatch(event -> event.key() == 2)) {
+                        throw new NotFoundException(2L);
+                      }
+                    }))
+        .isInstanceOf(NotFoundException.class);
+  }
+}
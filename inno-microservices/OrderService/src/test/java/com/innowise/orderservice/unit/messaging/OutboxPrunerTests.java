@@ -0,0 +1,57 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.config.OutboxPruneProperties;
+import com.innowise.orderservice.messaging.OutboxPruner;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxPrunerTests {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+
+  private OutboxPruner outboxPruner;
+
+  @BeforeEach
+  void setUp() {
+    outboxPruner =
+        new OutboxPruner(
+            outboxEventRepository, new OutboxPruneProperties(Duration.ofDays(7), 2, 3));
+  }
+
+  @Test
+  void prune_ShouldOnlyRemoveEventsPublishedBeforeRetention() {
+    when(outboxEventRepository.pruneBatch(any(), eq(2))).thenReturn(1);
+
+    Instant before = Instant.now().minus(Duration.ofDays(7));
+    outboxPruner.prune();
+
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(outboxEventRepository).pruneBatch(cutoff.capture(), eq(2));
+    assertThat(cutoff.getValue()).isBetween(before, Instant.now().minus(Duration.ofDays(7)));
+  }
+
+  @Test
+  void prune_ShouldStopAfterMaxBatches_WhenBacklogRemains() {
+    when(outboxEventRepository.pruneBatch(any(), eq(2))).thenReturn(2);
+
+    outboxPruner.prune();
+
+    verify(outboxEventRepository, times(3)).pruneBatch(any(), eq(2));
+  }
+}
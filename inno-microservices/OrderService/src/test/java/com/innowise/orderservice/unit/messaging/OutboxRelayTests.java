@@ -0,0 +1,143 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.config.OutboxProperties;
+import com.innowise.orderservice.exception.OutboxRelayException;
+import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.messaging.OrderOutbox;
+import com.innowise.orderservice.messaging.OutboxRelay;
+import com.innowise.orderservice.messaging.event.OrderCreatedEvent;
+import com.innowise.orderservice.model.entity.OutboxEvent;
+import com.innowise.orderservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTests {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+  @Mock private OrderOutbox orderOutbox;
+  @Mock private OrderEventProducer orderEventProducer;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private OutboxRelay outboxRelay;
+
+  @BeforeEach
+  void setUp() {
+    OutboxProperties properties =
+        new OutboxProperties(2, Duration.ofSeconds(1), Duration.ofSeconds(5));
+    outboxRelay =
+        new OutboxRelay(
+            outboxEventRepository,
+            orderOutbox,
+            orderEventProducer,
+            properties,
+            transactionTemplate);
+    lenient()
+        .when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  void relayBatch_ShouldPublishEventsAndMarkThemPublished() {
+    OutboxEvent first = outboxEvent(11L);
+    OutboxEvent second = outboxEvent(12L);
+    OrderCreatedEvent event = new OrderCreatedEvent(1L, 1L, BigDecimal.TEN, Instant.now());
+
+    when(outboxEventRepository.findClaimable(any(Instant.class), eq(2)))
+        .thenReturn(List.of(first, second));
+    when(orderOutbox.readOrderCreated(any(OutboxEvent.class))).thenReturn(event);
+    when(orderEventProducer.publishOrderCreated(event))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    int relayed = outboxRelay.relayBatch();
+
+    assertThat(relayed).isEqualTo(2);
+    verify(outboxEventRepository).claim(eq(List.of(11L, 12L)), any(Instant.class));
+    verify(outboxEventRepository).markPublished(eq(List.of(11L, 12L)), any(Instant.class));
+    verify(outboxEventRepository, never()).markFailed(anyCollection(), any());
+  }
+
+  @Test
+  void relayBatch_ShouldParkUnreadableEventAndRelayTheRest() {
+    OutboxEvent poison = outboxEvent(11L);
+    OutboxEvent second = outboxEvent(12L);
+    OrderCreatedEvent event = new OrderCreatedEvent(1L, 1L, BigDecimal.TEN, Instant.now());
+
+    when(outboxEventRepository.findClaimable(any(Instant.class), eq(2)))
+        .thenReturn(List.of(poison, second));
+    when(orderOutbox.readOrderCreated(poison))
+        .thenThrow(new OutboxRelayException("Unreadable payload"));
+    when(orderOutbox.readOrderCreated(second)).thenReturn(event);
+    when(orderEventProducer.publishOrderCreated(event))
+        .thenReturn(CompletableFuture.completedFuture(null));
+
+    int relayed = outboxRelay.relayBatch();
+
+    assertThat(relayed).isEqualTo(2);
+    verify(outboxEventRepository).markPublished(eq(List.of(12L)), any(Instant.class));
+    verify(outboxEventRepository).markFailed(eq(List.of(11L)), any(Instant.class));
+  }
+
+  @Test
+  void relayBatch_ShouldNotMarkAnything_WhenNothingToRelay() {
+    when(outboxEventRepository.findClaimable(any(Instant.class), eq(2))).thenReturn(List.of());
+
+    int relayed = outboxRelay.relayBatch();
+
+    assertThat(relayed).isZero();
+    verify(outboxEventRepository, never()).claim(anyCollection(), any());
+    verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+    verifyNoInteractions(orderEventProducer);
+  }
+
+  @Test
+  void relayBatch_ShouldMarkOnlyAcknowledgedEventsPublished_WhenKafkaSendFails() {
+    OutboxEvent first = outboxEvent(11L);
+    OutboxEvent second = outboxEvent(12L);
+    OrderCreatedEvent acknowledged = new OrderCreatedEvent(1L, 1L, BigDecimal.TEN, Instant.now());
+    OrderCreatedEvent rejected = new OrderCreatedEvent(2L, 1L, BigDecimal.TEN, Instant.now());
+
+    when(outboxEventRepository.findClaimable(any(Instant.class), eq(2)))
+        .thenReturn(List.of(first, second));
+    when(orderOutbox.readOrderCreated(first)).thenReturn(acknowledged);
+    when(orderOutbox.readOrderCreated(second)).thenReturn(rejected);
+    when(orderEventProducer.publishOrderCreated(acknowledged))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    when(orderEventProducer.publishOrderCreated(rejected))
+        .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+    assertThatThrownBy(() -> outboxRelay.relayBatch())
+        .isInstanceOf(OutboxRelayException.class);
+
+    verify(outboxEventRepository).markPublished(eq(List.of(11L)), any(Instant.class));
+    verify(outboxEventRepository, never()).markFailed(anyCollection(), any());
+  }
+
+  private OutboxEvent outboxEvent(Long id) {
+    return new OutboxEvent(
+        id, 1L, OrderOutbox.ORDER_CREATED, "{}", Instant.now(), null, null, null);
+  }
+}
@@ -0,0 +1,58 @@
+package com.innowise.orderservice.unit.messaging;
+
+import com.innowise.orderservice.config.ProcessedEventPruneProperties;
+import com.innowise.orderservice.messaging.ProcessedEventPruner;
+import com.innowise.orderservice.repository.ProcessedPaymentEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProcessedEventPrunerTests {
+
+  @Mock private ProcessedPaymentEventRepository processedPaymentEventRepository;
+
+  private ProcessedEventPruner processedEventPruner;
+
+  @BeforeEach
+  void setUp() {
+    processedEventPruner =
+        new ProcessedEventPruner(
+            processedPaymentEventRepository,
+            new ProcessedEventPruneProperties(Duration.ofDays(14), 2, 3));
+  }
+
+  @Test
+  void prune_ShouldOnlyRemoveEventsProcessedBeforeRetention() {
+    when(processedPaymentEventRepository.pruneBatch(any(), eq(2))).thenReturn(1);
+
+    Instant before = Instant.now().minus(Duration.ofDays(14));
+    processedEventPruner.prune();
+
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(processedPaymentEventRepository).pruneBatch(cutoff.capture(), eq(2));
+    assertThat(cutoff.getValue()).isBetween(before, Instant.now().minus(Duration.ofDays(14)));
+  }
+
+  @Test
+  void prune_ShouldStopAfterMaxBatches_WhenBacklogRemains() {
+    when(processedPaymentEventRepository.pruneBatch(any(), eq(2))).thenReturn(2);
+
+    processedEventPruner.prune();
+
+    verify(processedPaymentEventRepository, times(3)).pruneBatch(any(), eq(2));
+  }
+}
@@ -0,0 +1,48 @@
+package com.innowise.orderservice.unit.model;
+
+import com.innowise.orderservice.model.StatusEnum;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatusEnumTests {
+
+  @Test
+  void canTransitionTo_ShouldAllowOnlyPaymentOutcomesFromPending() {
+    assertThat(StatusEnum.PENDING.canTransitionTo(StatusEnum.CONFIRMED)).isTrue();
+    assertThat(StatusEnum.PENDING.canTransitionTo(StatusEnum.PAYMENT_FAILED)).isTrue();
+    assertThat(StatusEnum.PENDING.canTransitionTo(StatusEnum.SHIPPED)).isFalse();
+  }
+
+  @Test
+  void canTransitionTo_ShouldRejectMovingBackwards() {
+    assertThat(StatusEnum.CONFIRMED.canTransitionTo(StatusEnum.PENDING)).isFalse();
+    assertThat(StatusEnum.PAYMENT_FAILED.canTransitionTo(StatusEnum.CONFIRMED)).isFalse();
+    assertThat(StatusEnum.CONFIRMED.canTransitionTo(StatusEnum.CONFIRMED)).isFalse();
+  }
+
+  @Test
+  void sources_ShouldListStatusesThatMayReachTarget() {
+    assertThat(StatusEnum.CONFIRMED.sources()).containsExactly(StatusEnum.PENDING);
+    assertThat(StatusEnum.REFUNDED.sources())
+        .containsExactlyInAnyOrder(
+            StatusEnum.CONFIRMED, StatusEnum.PROCESSING, StatusEnum.DELIVERED);
+    assertThat(StatusEnum.PENDING.sources()).isEmpty();
+  }
+
+  @Test
+  void rejected_ShouldBeReachableOnlyFromPendingAndBeTerminal() {
+    assertThat(StatusEnum.REJECTED.sources()).containsExactly(StatusEnum.PENDING);
+    assertThat(StatusEnum.REJECTED.canTransitionTo(StatusEnum.CONFIRMED)).isFalse();
+    assertThat(StatusEnum.REJECTED.canTransitionTo(StatusEnum.PAYMENT_FAILED)).isFalse();
+  }
+
+  @Test
+  void isPaid_ShouldHoldFromConfirmationUntilRefund() {
+    assertThat(StatusEnum.CONFIRMED.isPaid()).isTrue();
+    assertThat(StatusEnum.DELIVERED.isPaid()).isTrue();
+    assertThat(StatusEnum.PENDING.isPaid()).isFalse();
+    assertThat(StatusEnum.REFUNDED.isPaid()).isFalse();
+    assertThat(StatusEnum.PAYMENT_FAILED.isPaid()).isFalse();
+  }
+}
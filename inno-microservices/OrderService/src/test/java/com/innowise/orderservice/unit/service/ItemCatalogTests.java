@@ -0,0 +1,126 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.exception.NotFoundException;
+import com.innowise.orderservice.model.dto.CatalogItem;
+import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.service.impl.ItemCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemCatalogTests {
+
+  private static final Instant UPDATED_AT = Instant.parse("2025-01-02T10:00:00Z");
+
+  @Mock private ItemRepository itemRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ItemCatalog itemCatalog;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    itemCatalog = new ItemCatalog(itemRepository, meterRegistry, 2);
+  }
+
+  @Test
+  void get_ShouldServeWarmedItemsWithoutQueries() {
+    when(itemRepository.findCatalogItemsUpdatedAfter(Instant.EPOCH))
+        .thenReturn(List.of(item(1L, "10.00", UPDATED_AT)));
+    itemCatalog.warmUp();
+
+    assertThat(itemCatalog.get(1L).price()).isEqualByComparingTo("10.00");
+    verify(itemRepository, never()).findCatalogItemById(any());
+    assertThat(meterRegistry.get("order.item.catalog.hit.ratio").gauge().value()).isEqualTo(1.0);
+  }
+
+  @Test
+  void get_ShouldLoadAndCacheItem_OnMiss() {
+    when(itemRepository.findCatalogItemById(2L))
+        .thenReturn(Optional.of(item(2L, "5.00", UPDATED_AT)));
+
+    itemCatalog.get(2L);
+    itemCatalog.get(2L);
+
+    verify(itemRepository).findCatalogItemById(2L);
+    double misses =
+        meterRegistry.get("order.item.catalog.requests").tag("result", "miss").counter().count();
+    assertThat(misses).isEqualTo(1);
+    assertThat(meterRegistry.get("order.item.catalog.hit.ratio").gauge().value()).isEqualTo(0.5);
+  }
+
+  @Test
+  void get_ShouldThrowNotFoundException_WhenItemDoesNotExist() {
+    when(itemRepository.findCatalogItemById(3L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> itemCatalog.get(3L)).isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  void refresh_ShouldReloadOnlyItemsChangedSinceWatermark() {
+    when(itemRepository.findCatalogItemsUpdatedAfter(Instant.EPOCH))
+        .thenReturn(List.of(item(1L, "10.00", UPDATED_AT)));
+    itemCatalog.warmUp();
+    when(itemRepository.findCatalogItemsUpdatedAfter(UPDATED_AT.minus(Duration.ofMinutes(1))))
+        .thenReturn(List.of(item(1L, "12.00", UPDATED_AT.plusSeconds(30))));
+
+    itemCatalog.refresh();
+
+    assertThat(itemCatalog.get(1L).price()).isEqualByComparingTo("12.00");
+  }
+
+  @Test
+  void get_ShouldFallBackToDatabase_WhenEntryWasEvicted() {
+    when(itemRepository.findCatalogItemsUpdatedAfter(Instant.EPOCH))
+        .thenReturn(
+            List.of(
+                item(1L, "10.00", UPDATED_AT),
+                item(2L, "20.00", UPDATED_AT),
+                item(3L, "30.00", UPDATED_AT)));
+    when(itemRepository.findCatalogItemById(any()))
+        .thenAnswer(invocation -> Optional.of(item(invocation.getArgument(0), "1.00", UPDATED_AT)));
+    itemCatalog.warmUp();
+
+    for (long id = 1; id <= 3; id++) {
+      assertThat(itemCatalog.get(id)).isNotNull();
+    }
+
+    verify(itemRepository, atLeastOnce()).findCatalogItemById(any());
+    assertThat(meterRegistry.get("order.item.catalog.size").gauge().value()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void evict_ShouldReloadItemOnNextLookup() {
+    when(itemRepository.findCatalogItemsUpdatedAfter(Instant.EPOCH))
+        .thenReturn(List.of(item(1L, "10.00", UPDATED_AT)));
+    when(itemRepository.findCatalogItemById(1L))
+        .thenReturn(Optional.of(item(1L, "12.00", UPDATED_AT.plusSeconds(1))));
+    itemCatalog.warmUp();
+
+    itemCatalog.evict(1L);
+
+    assertThat(itemCatalog.get(1L).price()).isEqualByComparingTo("12.00");
+  }
+
+  private static CatalogItem item(Long id, String price, Instant updatedAt) {
+    return new CatalogItem(id, "item-" + id, new BigDecimal(price), updatedAt);
+  }
+}
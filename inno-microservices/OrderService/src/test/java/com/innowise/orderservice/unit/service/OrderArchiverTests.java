@@ -0,0 +1,71 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.config.ArchiveProperties;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.repository.OrderArchiveRepository;
+import com.innowise.orderservice.service.impl.OrderArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderArchiverTests {
+
+  private static final Set<StatusEnum> FINISHED = Set.of(StatusEnum.DELIVERED);
+
+  @Mock private OrderArchiveRepository orderArchiveRepository;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  private OrderArchiver orderArchiver;
+
+  @BeforeEach
+  void setUp() {
+    orderArchiver =
+        new OrderArchiver(
+            orderArchiveRepository,
+            new ArchiveProperties(FINISHED, Period.ofMonths(6), 2, 3),
+            transactionTemplate);
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  void archive_ShouldCreatePartitionsBeforeMovingOrders() {
+    LocalDate month = LocalDate.of(2024, 1, 1);
+    when(orderArchiveRepository.findArchivableMonths(eq(FINISHED), any()))
+        .thenReturn(List.of(month));
+    when(orderArchiveRepository.archiveBatch(eq(FINISHED), any(), eq(2))).thenReturn(1);
+
+    orderArchiver.archive();
+
+    verify(orderArchiveRepository).createMonthlyPartitions(month);
+    verify(orderArchiveRepository).archiveBatch(FINISHED, LocalDate.now().minusMonths(6), 2);
+  }
+
+  @Test
+  void archive_ShouldStopAfterMaxBatches_WhenBacklogRemains() {
+    when(orderArchiveRepository.findArchivableMonths(eq(FINISHED), any())).thenReturn(List.of());
+    when(orderArchiveRepository.archiveBatch(eq(FINISHED), any(), anyInt())).thenReturn(2);
+
+    orderArchiver.archive();
+
+    verify(orderArchiveRepository, times(3)).archiveBatch(eq(FINISHED), any(), eq(2));
+  }
+}
@@ -0,0 +1,119 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.config.AsyncOrderProperties;
+import com.innowise.orderservice.exception.CircuitBreakerOpenException;
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+import com.innowise.orderservice.model.dto.PendingCompletion;
+import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.repository.PendingCompletionRepository;
+import com.innowise.orderservice.service.impl.OrderCompletionListener;
+import com.innowise.orderservice.service.impl.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderCompletionListenerTests {
+
+  private static final AsyncOrderProperties PROPERTIES =
+      new AsyncOrderProperties(
+          1, 1, 0, Duration.ofSeconds(30), 10, 3, Duration.ofSeconds(2), Duration.ofMinutes(5));
+
+  private final OrderAcceptedEvent event =
+      new OrderAcceptedEvent(2L, 100L, "test@example.com", BigDecimal.ONE, LocalDate.now());
+  private final UserDto user = new UserDto(100L, "John", "Doe", null, "test@example.com");
+
+  @Mock private OrderService orderService;
+  @Mock private PendingCompletionRepository pendingCompletionRepository;
+
+  @Test
+  void onOrderAccepted_ShouldCompleteWithLookedUpUser() {
+    when(orderService.findUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+    listener(new SyncTaskExecutor()).onOrderAccepted(event);
+
+    verify(orderService).completeAccepted(event, user);
+  }
+
+  @Test
+  void onOrderAccepted_ShouldLeaveOrderToSweep_WhenUserServiceFails() {
+    when(orderService.findUserByEmail("test@example.com"))
+        .thenThrow(new CircuitBreakerOpenException("open"));
+
+    assertThatCode(() -> listener(new SyncTaskExecutor()).onOrderAccepted(event))
+        .doesNotThrowAnyException();
+
+    verify(orderService, never()).completeAccepted(any(), any());
+  }
+
+  @Test
+  void onOrderAccepted_ShouldNotRunCompletionOnCaller_WhenExecutorIsFull() {
+    assertThatCode(() -> listener(rejecting()).onOrderAccepted(event))
+        .doesNotThrowAnyException();
+
+    verify(orderService, never()).findUserByEmail(any());
+  }
+
+  @Test
+  void sweep_ShouldCompleteDueOrders() {
+    when(pendingCompletionRepository.claimDue(
+            any(), eq(Duration.ofSeconds(2)), eq(Duration.ofMinutes(5)), eq(10)))
+        .thenReturn(List.of(new PendingCompletion(event, 2)));
+    when(orderService.findUserByEmail("test@example.com")).thenReturn(Optional.empty());
+
+    listener(new SyncTaskExecutor()).sweep();
+
+    verify(orderService).completeAccepted(event, null);
+    verify(orderService, never()).abandonAccepted(any());
+  }
+
+  @Test
+  void sweep_ShouldRejectOrder_WhenAttemptsAreExhausted() {
+    when(pendingCompletionRepository.claimDue(any(), any(), any(), eq(10)))
+        .thenReturn(List.of(new PendingCompletion(event, 4)));
+
+    listener(new SyncTaskExecutor()).sweep();
+
+    verify(orderService).abandonAccepted(event);
+    verify(orderService, never()).findUserByEmail(any());
+  }
+
+  @Test
+  void sweep_ShouldReleaseClaim_WhenExecutorIsFull() {
+    when(pendingCompletionRepository.claimDue(any(), any(), any(), eq(10)))
+        .thenReturn(List.of(new PendingCompletion(event, 1)));
+
+    listener(rejecting()).sweep();
+
+    verify(pendingCompletionRepository).release(eq(2L), any());
+    verify(orderService, never()).findUserByEmail(any());
+  }
+
+  private OrderCompletionListener listener(TaskExecutor executor) {
+    return new OrderCompletionListener(
+        orderService, pendingCompletionRepository, executor, PROPERTIES);
+  }
+
+  private static TaskExecutor rejecting() {
+    return task -> {
+      throw new TaskRejectedException("full");
+    };
+  }
+}
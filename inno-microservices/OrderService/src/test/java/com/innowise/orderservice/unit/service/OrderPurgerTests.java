@@ -0,0 +1,55 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.config.PurgeProperties;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.OrderPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderPurgerTests {
+
+  @Mock private OrderRepository orderRepository;
+
+  private OrderPurger orderPurger;
+
+  @BeforeEach
+  void setUp() {
+    orderPurger = new OrderPurger(orderRepository, new PurgeProperties(Duration.ofHours(1), 2, 3));
+  }
+
+  @Test
+  void purge_ShouldOnlyRemoveOrdersDeletedBeforeGracePeriod() {
+    when(orderRepository.purgeBatch(any(), eq(2))).thenReturn(1);
+
+    Instant before = Instant.now().minus(Duration.ofHours(1));
+    orderPurger.purge();
+
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(orderRepository).purgeBatch(cutoff.capture(), eq(2));
+    assertThat(cutoff.getValue()).isBetween(before, Instant.now().minus(Duration.ofHours(1)));
+  }
+
+  @Test
+  void purge_ShouldStopAfterMaxBatches_WhenBacklogRemains() {
+    when(orderRepository.purgeBatch(any(), eq(2))).thenReturn(2);
+
+    orderPurger.purge();
+
+    verify(orderRepository, times(3)).purgeBatch(any(), eq(2));
+  }
+}
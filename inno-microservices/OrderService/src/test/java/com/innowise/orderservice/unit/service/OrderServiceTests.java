@@ -1,42 +1,81 @@
 package com.innowise.orderservice.unit.service;
 
-import com.innowise.orderservice.client.UserServiceClient;
+import com.innowise.orderservice.client.ResilientUserServiceClient;
+import com.innowise.orderservice.config.AsyncOrderProperties;
+import com.innowise.orderservice.exception.CircuitBreakerOpenException;
+import com.innowise.orderservice.exception.IllegalStatusTransitionException;
 import com.innowise.orderservice.exception.NotFoundException;
 import com.innowise.orderservice.exception.RetrieveUserException;
 import com.innowise.orderservice.exception.UpdateException;
 import com.innowise.orderservice.mapper.OrderMapper;
-import com.innowise.orderservice.messaging.OrderEventProducer;
+import com.innowise.orderservice.messaging.event.OrderAcceptedEvent;
+import com.innowise.orderservice.messaging.event.OrderDeletedEvent;
+import com.innowise.orderservice.messaging.event.OrderStatusesChangedEvent;
+import com.innowise.orderservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.orderservice.messaging.OrderOutbox;
 import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.BulkStatusResult;
+import com.innowise.orderservice.model.dto.CatalogItem;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
 import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderItemDto;
+import com.innowise.orderservice.model.dto.OrderRevision;
+import com.innowise.orderservice.model.dto.OrderStatusChange;
+import com.innowise.orderservice.model.dto.OrderStatusTransition;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
 import com.innowise.orderservice.model.dto.OrderUserDto;
 import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.model.dto.UserOrderSummary;
+import com.innowise.orderservice.model.dto.VersionedOrder;
+import com.innowise.orderservice.model.entity.Item;
 import com.innowise.orderservice.model.entity.Order;
+import com.innowise.orderservice.model.entity.OrderItem;
 import com.innowise.orderservice.repository.ItemRepository;
+import com.innowise.orderservice.repository.OrderArchiveRepository;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
 import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.repository.PendingCompletionRepository;
+import com.innowise.orderservice.repository.ProcessedPaymentEventRepository;
+import com.innowise.orderservice.repository.UserOrderSummaryRepository;
+import com.innowise.orderservice.service.impl.ItemCatalog;
 import com.innowise.orderservice.service.impl.OrderService;
+import com.innowise.orderservice.util.OrderCursorCodec;
 import com.innowise.orderservice.util.OrderSpecifications;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -47,13 +86,23 @@ import static org.mockito.Mockito.when;
 public class OrderServiceTests {
 
   @Mock private OrderRepository orderRepository;
+  @Mock private OrderProjectionRepository orderProjectionRepository;
+  @Mock private OrderArchiveRepository orderArchiveRepository;
+  @Mock private ProcessedPaymentEventRepository processedPaymentEventRepository;
+  @Mock private UserOrderSummaryRepository userOrderSummaryRepository;
+  @Mock private PendingCompletionRepository pendingCompletionRepository;
+  @Mock private AsyncOrderProperties asyncOrderProperties;
   @Mock private OrderMapper orderMapper;
-  @Mock private UserServiceClient userServiceClient;
+  @Mock private ResilientUserServiceClient userServiceClient;
   @Mock private ItemRepository itemRepository;
-  @Mock private OrderEventProducer orderEventProducer;
+  @Mock private ItemCatalog itemCatalog;
+  @Mock private OrderOutbox orderOutbox;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @InjectMocks private OrderService orderService;
 
+  private static final Instant UPDATED_AT = Instant.parse("2025-01-01T10:00:00Z");
+
   private final Order mockOrderEntity = new Order();
   private final OrderDto mockOrderDto =
       new OrderDto(1L, 100L, StatusEnum.PENDING, LocalDate.now(), List.of(), "test@example.com");
@@ -75,6 +124,48 @@ public class OrderServiceTests {
     verify(orderRepository).findById(orderId);
   }
 
+  @Test
+  void findVersionedById_ShouldNotLoadOrder_WhenClientCopyIsCurrent() {
+    when(orderRepository.findRevisionById(1L))
+        .thenReturn(Optional.of(new OrderRevision(3L, "test@example.com", UPDATED_AT)));
+    when(userServiceClient.getUserByEmail("email", "test@example.com"))
+        .thenReturn(List.of(mockUserDto));
+
+    Optional<VersionedOrder> result =
+        orderService.findVersionedById(
+            1L,
+            (etag, lastModified) ->
+                etag.equals(VersionedOrder.etag(3L, mockUserDto))
+                    && lastModified.equals(UPDATED_AT));
+
+    assertThat(result).isEmpty();
+    verify(orderRepository, never()).findById(any());
+    verifyNoInteractions(orderMapper);
+  }
+
+  @Test
+  void findVersionedById_ShouldLoadOrderWithFetchedUser_WhenClientCopyIsStale() {
+    when(orderRepository.findRevisionById(1L))
+        .thenReturn(Optional.of(new OrderRevision(3L, "test@example.com", UPDATED_AT)));
+    when(userServiceClient.getUserByEmail("email", "test@example.com"))
+        .thenReturn(List.of(mockUserDto));
+    mockOrderEntity.setVersion(4L);
+    mockOrderEntity.setUpdatedAt(UPDATED_AT.plusSeconds(60));
+    when(orderRepository.findById(1L)).thenReturn(Optional.of(mockOrderEntity));
+    when(orderMapper.toDto(mockOrderEntity)).thenReturn(mockOrderDto);
+
+    Optional<VersionedOrder> result =
+        orderService.findVersionedById(1L, (etag, lastModified) -> false);
+
+    assertThat(result)
+        .hasValueSatisfying(
+            order -> {
+              assertThat(order.order().getUserDto()).isEqualTo(mockUserDto);
+              assertThat(order.lastModified()).isEqualTo(UPDATED_AT.plusSeconds(60));
+            });
+    verify(userServiceClient).getUserByEmail("email", "test@example.com");
+  }
+
   @Test
   void findById_ShouldThrowNotFoundException_WhenOrderIsNotFound() {
     Long orderId = 99L;
@@ -116,6 +207,186 @@ public class OrderServiceTests {
     verify(orderRepository).save(mockOrderEntity);
   }
 
+  @Test
+  void create_ShouldPriceItemsFromCatalog_WithoutLoadingItems() {
+    OrderDto newDto =
+        new OrderDto(
+            null,
+            100L,
+            StatusEnum.PENDING,
+            LocalDate.now().minusDays(1),
+            List.of(new OrderItemDto(null, null, 5L, 3)),
+            "new@test.com");
+    Order entity = new Order();
+    entity.setOrderItems(new ArrayList<>(List.of(new OrderItem())));
+    Item itemReference = new Item();
+    Order savedEntity = new Order();
+    savedEntity.setId(2L);
+    savedEntity.setUserId(100L);
+
+    when(userServiceClient.getUserByEmail("email", newDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+    when(orderMapper.toEntity(newDto)).thenReturn(entity);
+    when(itemCatalog.get(5L))
+        .thenReturn(new CatalogItem(5L, "Pen", new BigDecimal("2.50"), Instant.now()));
+    when(itemRepository.getReferenceById(5L)).thenReturn(itemReference);
+    when(orderRepository.save(entity)).thenReturn(savedEntity);
+    when(orderMapper.toDto(savedEntity)).thenReturn(mockOrderDto);
+
+    orderService.create(newDto);
+
+    assertThat(entity.getOrderItems().getFirst().getItem()).isSameAs(itemReference);
+    assertThat(entity.getOrderItems().getFirst().getUnitPrice()).isEqualByComparingTo("2.50");
+    verify(orderOutbox)
+        .enqueueOrderCreated(
+            argThat(event -> event.totalAmount().compareTo(new BigDecimal("7.50")) == 0));
+    verify(itemRepository, never()).findById(any());
+  }
+
+  @Test
+  void acceptAsync_ShouldSavePendingOrderAndRecordItForCompletion() {
+    LocalDate creationDate = LocalDate.now().minusDays(1);
+    OrderDto newDto =
+        new OrderDto(null, 100L, StatusEnum.PENDING, creationDate, List.of(), "new@test.com");
+    Order entity = new Order();
+    Order savedEntity = new Order();
+    savedEntity.setId(2L);
+    savedEntity.setUserId(100L);
+    savedEntity.setUserEmail("new@test.com");
+    savedEntity.setCreationDate(creationDate);
+    OrderAcceptedEvent accepted =
+        new OrderAcceptedEvent(2L, 100L, "new@test.com", BigDecimal.ZERO, creationDate);
+
+    when(orderMapper.toEntity(newDto)).thenReturn(entity);
+    when(orderRepository.save(entity)).thenReturn(savedEntity);
+    when(orderMapper.toDto(savedEntity)).thenReturn(mockOrderDto);
+    when(asyncOrderProperties.sweepAfter()).thenReturn(Duration.ofSeconds(30));
+
+    Instant start = Instant.now();
+    OrderDto result = orderService.acceptAsync(newDto);
+
+    assertThat(result).isSameAs(mockOrderDto);
+    assertThat(entity.getStatus()).isEqualTo(StatusEnum.PENDING);
+    verify(pendingCompletionRepository)
+        .add(eq(accepted), argThat(at -> !at.isBefore(start.plusSeconds(30))));
+    verify(eventPublisher).publishEvent(accepted);
+    verifyNoInteractions(userServiceClient, orderOutbox, userOrderSummaryRepository);
+  }
+
+  @Test
+  void findUserByEmail_ShouldReturnEmpty_WhenUserNotFound() {
+    when(userServiceClient.getUserByEmail("email", "gone@test.com"))
+        .thenThrow(mock(FeignException.NotFound.class));
+
+    assertThat(orderService.findUserByEmail("gone@test.com")).isEmpty();
+  }
+
+  @Test
+  void findUserByEmail_ShouldPropagate_WhenCircuitBreakerIsOpen() {
+    when(userServiceClient.getUserByEmail("email", "test@example.com"))
+        .thenThrow(new CircuitBreakerOpenException("User Service is unavailable"));
+
+    assertThatThrownBy(() -> orderService.findUserByEmail("test@example.com"))
+        .isInstanceOf(CircuitBreakerOpenException.class);
+  }
+
+  @Test
+  void findUserByEmail_ShouldPropagate_WhenUserServiceFailsWithServerError() {
+    when(userServiceClient.getUserByEmail("email", "test@example.com"))
+        .thenThrow(mock(FeignException.InternalServerError.class));
+
+    assertThatThrownBy(() -> orderService.findUserByEmail("test@example.com"))
+        .isInstanceOf(FeignException.InternalServerError.class);
+  }
+
+  @Test
+  void completeAccepted_ShouldCountOrderAndEnqueueOrderCreated_WhenUserMatches() {
+    LocalDate creationDate = LocalDate.now();
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(
+            2L, 100L, "test@example.com", new BigDecimal("7.50"), creationDate);
+    when(pendingCompletionRepository.remove(2L)).thenReturn(true);
+
+    orderService.completeAccepted(event, mockUserDto);
+
+    InOrder locking = inOrder(orderProjectionRepository, pendingCompletionRepository);
+    locking.verify(orderProjectionRepository).lockStatusUpdates(List.of(2L));
+    locking.verify(pendingCompletionRepository).remove(2L);
+    verify(userOrderSummaryRepository).recordOrderPlaced(100L, creationDate);
+    verify(orderOutbox)
+        .enqueueOrderCreated(
+            argThat(
+                created ->
+                    created.orderId().equals(2L)
+                        && created.userId().equals(100L)
+                        && created.totalAmount().compareTo(new BigDecimal("7.50")) == 0));
+    verify(orderRepository, never()).transitionStatusByIdIn(any(), any(), any());
+  }
+
+  @Test
+  void completeAccepted_ShouldDoNothing_WhenOrderIsNoLongerPending() {
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(2L, 100L, "test@example.com", BigDecimal.ONE, LocalDate.now());
+
+    orderService.completeAccepted(event, mockUserDto);
+
+    verify(orderRepository, never()).transitionStatusByIdIn(any(), any(), any());
+    verifyNoInteractions(orderOutbox, userOrderSummaryRepository, eventPublisher);
+  }
+
+  @Test
+  void completeAccepted_ShouldRejectOrderWithoutCountingIt_WhenUserDoesNotMatch() {
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(2L, 999L, "test@example.com", BigDecimal.ONE, LocalDate.now());
+    when(pendingCompletionRepository.remove(2L)).thenReturn(true);
+
+    orderService.completeAccepted(event, mockUserDto);
+
+    verify(orderRepository)
+        .transitionStatusByIdIn(List.of(2L), Set.of(StatusEnum.PENDING), StatusEnum.REJECTED);
+    verifyNoInteractions(orderOutbox, userOrderSummaryRepository);
+  }
+
+  @Test
+  void completeAccepted_ShouldPublishRejection_WhenOrderWasPending() {
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(2L, 999L, "test@example.com", BigDecimal.ONE, LocalDate.now());
+    when(pendingCompletionRepository.remove(2L)).thenReturn(true);
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(2L), Set.of(StatusEnum.PENDING), StatusEnum.REJECTED))
+        .thenReturn(1);
+
+    orderService.completeAccepted(event, mockUserDto);
+
+    verify(eventPublisher).publishEvent(new OrderStatusUpdate(2L, 999L, StatusEnum.REJECTED));
+  }
+
+  @Test
+  void completeAccepted_ShouldRejectOrderWithoutCountingIt_WhenUserNotFound() {
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(2L, 100L, "gone@test.com", BigDecimal.ONE, LocalDate.now());
+    when(pendingCompletionRepository.remove(2L)).thenReturn(true);
+
+    orderService.completeAccepted(event, null);
+
+    verify(orderRepository)
+        .transitionStatusByIdIn(List.of(2L), Set.of(StatusEnum.PENDING), StatusEnum.REJECTED);
+    verifyNoInteractions(orderOutbox, userOrderSummaryRepository);
+  }
+
+  @Test
+  void abandonAccepted_ShouldRejectOrder_WhenStillPending() {
+    OrderAcceptedEvent event =
+        new OrderAcceptedEvent(2L, 100L, "test@example.com", BigDecimal.ONE, LocalDate.now());
+    when(pendingCompletionRepository.remove(2L)).thenReturn(true);
+
+    orderService.abandonAccepted(event);
+
+    verify(orderRepository)
+        .transitionStatusByIdIn(List.of(2L), Set.of(StatusEnum.PENDING), StatusEnum.REJECTED);
+    verifyNoInteractions(userServiceClient, orderOutbox);
+  }
+
   @Test
   void updateById_ShouldReturnUpdatedOrderUserDto_OnSuccess() {
     Long orderId = 1L;
@@ -123,19 +394,34 @@ public class OrderServiceTests {
         new OrderDto(
             orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
 
-    when(orderRepository.existsById(orderId)).thenReturn(true);
-    when(orderRepository.updateById(orderId, updateDto.status())).thenReturn(1);
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.of(mockOrderEntity));
-
-    when(orderMapper.toDto(any(Order.class))).thenReturn(updateDto);
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PENDING)));
     when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
         .thenReturn(List.of(mockUserDto));
 
-    orderService.updateById(orderId, updateDto);
+    OrderUserDto result = orderService.updateById(orderId, updateDto);
+
+    assertThat(result.getOrderDto()).isEqualTo(updateDto);
+    assertThat(result.getUserDto()).isEqualTo(mockUserDto);
+    verify(eventPublisher).publishEvent(new OrderStatusUpdate(orderId, 100L, StatusEnum.SHIPPED));
+    verifyNoInteractions(orderRepository);
+  }
+
+  @Test
+  void updateById_ShouldNotCallUserService_WhenUserIsNotIncluded() {
+    Long orderId = 1L;
+    OrderDto updateDto =
+        new OrderDto(
+            orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
+
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PENDING)));
 
-    verify(orderRepository).existsById(orderId);
-    verify(orderRepository).updateById(orderId, updateDto.status());
-    verify(orderRepository).findOrderById(orderId);
+    OrderUserDto result = orderService.updateById(orderId, updateDto, false);
+
+    assertThat(result.getOrderDto()).isEqualTo(updateDto);
+    assertThat(result.getUserDto()).isNull();
+    verifyNoInteractions(userServiceClient);
   }
 
   @Test
@@ -145,51 +431,107 @@ public class OrderServiceTests {
         new OrderDto(
             orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
 
-    when(orderRepository.existsById(orderId)).thenReturn(false);
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> orderService.updateById(orderId, updateDto))
         .isInstanceOf(UpdateException.class)
+        .hasMessageContaining(String.valueOf(orderId))
         .hasCauseInstanceOf(NotFoundException.class);
+    verifyNoInteractions(userOrderSummaryRepository, eventPublisher);
   }
 
   @Test
-  void updateById_ShouldThrowUpdateException_WhenNoRowsAffected() {
+  void updateById_ShouldThrowIllegalStatusTransitionException_WhenTransitionNotAllowed() {
     Long orderId = 1L;
     OrderDto updateDto =
         new OrderDto(
-            orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
+            orderId, 100L, StatusEnum.PENDING, LocalDate.now(), List.of(), "test@example.com");
 
-    when(orderRepository.existsById(orderId)).thenReturn(true);
-    when(orderRepository.updateById(orderId, updateDto.status())).thenReturn(0);
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.empty());
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.DELIVERED)));
 
     assertThatThrownBy(() -> orderService.updateById(orderId, updateDto))
-        .isInstanceOf(UpdateException.class)
-        .hasMessageContaining(String.valueOf(orderId));
+        .isInstanceOf(IllegalStatusTransitionException.class)
+        .hasMessageContaining("DELIVERED")
+        .hasMessageContaining("PENDING");
+    verifyNoInteractions(userOrderSummaryRepository, eventPublisher, userServiceClient);
   }
 
   @Test
-  void deleteById_ShouldDeleteOrder_OnSuccess() {
+  void updateById_ShouldReturnOrderUnchanged_WhenStatusIsAlreadySet() {
     Long orderId = 1L;
+    OrderDto currentDto =
+        new OrderDto(
+            orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
+
+    when(orderProjectionRepository.updateStatus(orderId, StatusEnum.SHIPPED))
+        .thenReturn(Optional.empty());
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.SHIPPED)));
+    when(orderProjectionRepository.findWindow(List.of(orderId), null, ScrollPosition.keyset(), 1))
+        .thenReturn(Window.from(List.of(currentDto), index -> ScrollPosition.keyset()));
+
+    OrderUserDto result = orderService.updateById(orderId, currentDto, false);
+
+    assertThat(result.getOrderDto()).isEqualTo(currentDto);
+    verifyNoInteractions(userOrderSummaryRepository, eventPublisher, userServiceClient);
+  }
 
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.of(mockOrderEntity));
-    doNothing().when(orderRepository).deleteById(orderId);
+  @Test
+  void deleteById_ShouldSoftDeleteOrder_OnSuccess() {
+    Long orderId = 1L;
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.PENDING)));
+    when(orderRepository.softDeleteById(eq(orderId), any(Instant.class))).thenReturn(1);
 
     orderService.deleteById(orderId);
 
-    verify(orderRepository).findOrderById(orderId);
-    verify(orderRepository).deleteById(orderId);
+    verify(orderRepository).softDeleteById(eq(orderId), any(Instant.class));
+    verify(orderRepository, never()).findOrderById(any());
+    verify(orderRepository, never()).deleteById(any());
+    verify(eventPublisher).publishEvent(new OrderDeletedEvent(orderId));
+  }
+
+  @Test
+  void deleteById_ShouldNotUncountOrder_WhenItWasNeverCompleted() {
+    Long orderId = 1L;
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.PENDING)));
+    when(pendingCompletionRepository.remove(orderId)).thenReturn(true);
+    when(orderRepository.softDeleteById(eq(orderId), any(Instant.class))).thenReturn(1);
+
+    orderService.deleteById(orderId);
+
+    verify(userOrderSummaryRepository, never()).recordOrderRemoved(any(), any(), anyBoolean());
+    verify(eventPublisher).publishEvent(new OrderDeletedEvent(orderId));
   }
 
   @Test
   void deleteById_ShouldThrowNotFoundException_WhenOrderToDeleteNotFound() {
     Long orderId = 99L;
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.empty());
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId))).thenReturn(List.of());
 
     assertThatThrownBy(() -> orderService.deleteById(orderId))
         .isInstanceOf(NotFoundException.class);
 
-    verify(orderRepository).findOrderById(orderId);
-    verify(orderRepository, never()).deleteById(any());
+    verify(orderRepository, never()).softDeleteById(any(), any());
+    verifyNoInteractions(userOrderSummaryRepository);
+  }
+
+  @Test
+  void deleteById_ShouldThrowNotFoundException_WhenOrderWasDeletedConcurrently() {
+    Long orderId = 1L;
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.PENDING)));
+    when(orderRepository.softDeleteById(eq(orderId), any(Instant.class))).thenReturn(0);
+
+    assertThatThrownBy(() -> orderService.deleteById(orderId))
+        .isInstanceOf(NotFoundException.class);
+
+    verify(eventPublisher, never()).publishEvent(any(OrderDeletedEvent.class));
   }
 
   @Test
@@ -329,10 +671,8 @@ public class OrderServiceTests {
         new OrderDto(
             orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
 
-    when(orderRepository.existsById(orderId)).thenReturn(true);
-    when(orderRepository.updateById(orderId, updateDto.status())).thenReturn(1);
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.of(mockOrderEntity));
-    when(orderMapper.toDto(any(Order.class))).thenReturn(updateDto);
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PENDING)));
     when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
         .thenThrow(mock(FeignException.NotFound.class));
 
@@ -340,7 +680,7 @@ public class OrderServiceTests {
         .isInstanceOf(RetrieveUserException.class)
         .hasMessageContaining("User with email 'test@example.com' not found");
 
-    verify(orderRepository).updateById(orderId, updateDto.status());
+    verify(orderProjectionRepository).updateStatus(orderId, updateDto.status());
   }
 
   @Test
@@ -349,12 +689,9 @@ public class OrderServiceTests {
     OrderDto updateDto =
         new OrderDto(
             orderId, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
-    Order updatedOrder = new Order();
 
-    when(orderRepository.existsById(orderId)).thenReturn(true);
-    when(orderRepository.updateById(orderId, updateDto.status())).thenReturn(1);
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.of(updatedOrder));
-    when(orderMapper.toDto(updatedOrder)).thenReturn(updateDto);
+    when(orderProjectionRepository.updateStatus(orderId, updateDto.status()))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PENDING)));
     when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
         .thenThrow(new RuntimeException("Network error"));
 
@@ -362,7 +699,7 @@ public class OrderServiceTests {
         .isInstanceOf(RetrieveUserException.class)
         .hasMessageContaining("An unexpected error occurred while retrieving user");
 
-    verify(orderRepository).updateById(orderId, updateDto.status());
+    verify(orderProjectionRepository).updateStatus(orderId, updateDto.status());
   }
 
   @Test
@@ -439,16 +776,517 @@ public class OrderServiceTests {
   @Test
   void deleteById_ShouldPropagateException_WhenRepositoryDeleteFails() {
     Long orderId = 1L;
-
-    when(orderRepository.findOrderById(orderId)).thenReturn(Optional.of(mockOrderEntity));
-    doThrow(new RuntimeException("Foreign key constraint"))
+    when(orderProjectionRepository.lockStatusUpdates(List.of(orderId)))
+        .thenReturn(List.of(new OrderStatusUpdate(orderId, 100L, StatusEnum.PENDING)));
+    doThrow(new RuntimeException("Lock timeout"))
         .when(orderRepository)
-        .deleteById(orderId);
+        .softDeleteById(eq(orderId), any(Instant.class));
 
     assertThatThrownBy(() -> orderService.deleteById(orderId))
         .isInstanceOf(RuntimeException.class)
-        .hasMessageContaining("Foreign key constraint");
+        .hasMessageContaining("Lock timeout");
+
+    verify(eventPublisher, never()).publishEvent(any(OrderDeletedEvent.class));
+  }
+
+  @Test
+  void scrollBySpecification_ShouldReturnNextCursor_WhenMoreOrdersExist() {
+    Order order =
+        new Order(
+            5L,
+            100L,
+            StatusEnum.PENDING,
+            LocalDate.of(2025, 1, 2),
+            null,
+            null,
+            0L,
+            null,
+            null);
+    Window<Order> window =
+        Window.from(
+            List.of(order),
+            index ->
+                ScrollPosition.forward(
+                    Map.of("creationDate", order.getCreationDate(), "id", 5L)),
+            true);
+
+    when(orderRepository.findBy(any(Specification.class), any())).thenReturn(window);
+    when(orderMapper.toDto(order)).thenReturn(mockOrderDto);
+    when(userServiceClient.getUserByEmail("email", mockOrderDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    OrderCursorPage result =
+        orderService.scrollBySpecification(OrderSpecifications.all(), null, 20);
+
+    assertThat(result.content()).hasSize(1);
+    assertThat(result.nextCursor()).isNotNull();
+  }
+
+  @Test
+  void scrollBySpecification_ShouldReturnNullCursor_OnLastWindow() {
+    Window<Order> window = Window.from(List.of(), index -> ScrollPosition.keyset(), false);
+
+    when(orderRepository.findBy(any(Specification.class), any())).thenReturn(window);
+
+    OrderCursorPage result =
+        orderService.scrollBySpecification(OrderSpecifications.all(), null, 20);
+
+    assertThat(result.content()).isEmpty();
+    assertThat(result.nextCursor()).isNull();
+    verifyNoInteractions(userServiceClient);
+  }
+
+  @Test
+  void findProjected_ShouldCombineProjectedOrdersWithUsers() {
+    Window<OrderDto> window =
+        Window.from(List.of(mockOrderDto), index -> ScrollPosition.keyset(), false);
+
+    when(orderProjectionRepository.findWindow(
+            List.of(1L), List.of(StatusEnum.PENDING), ScrollPosition.keyset(), 10))
+        .thenReturn(window);
+    when(userServiceClient.getUserByEmail("email", mockOrderDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    OrderCursorPage result =
+        orderService.findProjected(List.of(1L), List.of(StatusEnum.PENDING), null, 10);
+
+    assertThat(result.content()).hasSize(1);
+    assertThat(result.content().getFirst().getUserDto()).isEqualTo(mockUserDto);
+    assertThat(result.nextCursor()).isNull();
+    verifyNoInteractions(orderRepository, orderMapper);
+  }
+
+  @Test
+  void findProjected_ShouldContinueAfterCursorPosition() {
+    LocalDate creationDate = LocalDate.of(2025, 1, 10);
+    String cursor =
+        OrderCursorCodec.encode(
+            ScrollPosition.forward(Map.of("creationDate", creationDate, "id", 7L)));
+
+    when(orderProjectionRepository.findWindow(
+            isNull(), isNull(), eq(OrderCursorCodec.decode(cursor)), eq(100)))
+        .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset(), false));
+
+    OrderCursorPage result = orderService.findProjected(null, null, cursor, 1_000);
+
+    assertThat(result.content()).isEmpty();
+    verifyNoInteractions(userServiceClient);
+  }
+
+  @Test
+  void findArchivedById_ShouldCombineArchivedOrderWithUser() {
+    when(orderArchiveRepository.findWindow(1L, null, ScrollPosition.keyset(), 1))
+        .thenReturn(Window.from(List.of(mockOrderDto), index -> ScrollPosition.keyset(), false));
+    when(userServiceClient.getUserByEmail("email", mockOrderDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    OrderUserDto result = orderService.findArchivedById(1L);
+
+    assertThat(result.getOrderDto()).isEqualTo(mockOrderDto);
+    assertThat(result.getUserDto()).isEqualTo(mockUserDto);
+    verifyNoInteractions(orderRepository);
+  }
+
+  @Test
+  void findArchivedById_ShouldThrowNotFoundException_WhenOrderIsNotArchived() {
+    when(orderArchiveRepository.findWindow(99L, null, ScrollPosition.keyset(), 1))
+        .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset(), false));
+
+    assertThatThrownBy(() -> orderService.findArchivedById(99L))
+        .isInstanceOf(NotFoundException.class);
+    verifyNoInteractions(userServiceClient);
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldIssueOneUpdatePerTargetStatus() {
+    List<PaymentCreatedEvent> events =
+        List.of(
+            paymentEvent(1L, "SUCCESS"), paymentEvent(2L, "FAILED"), paymentEvent(3L, "SUCCESS"));
+
+    when(processedPaymentEventRepository.markProcessed(events))
+        .thenReturn(Set.of("payment-1", "payment-2", "payment-3"));
+
+    orderService.handlePaymentEvents(events);
+
+    verify(orderProjectionRepository).transitionStatuses(List.of(1L, 3L), StatusEnum.CONFIRMED);
+    verify(orderProjectionRepository).transitionStatuses(List.of(2L), StatusEnum.PAYMENT_FAILED);
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldPublishMovedOrdersAsOneEvent() {
+    List<PaymentCreatedEvent> events =
+        List.of(paymentEvent(1L, "SUCCESS"), paymentEvent(3L, "SUCCESS"));
+
+    when(processedPaymentEventRepository.markProcessed(events))
+        .thenReturn(Set.of("payment-1", "payment-3"));
+    when(orderProjectionRepository.transitionStatuses(List.of(1L, 3L), StatusEnum.CONFIRMED))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.PENDING, true),
+                new OrderStatusTransition(3L, 100L, StatusEnum.PENDING, true)));
+
+    orderService.handlePaymentEvents(events);
+
+    verify(eventPublisher)
+        .publishEvent(
+            new OrderStatusesChangedEvent(
+                List.of(
+                    new OrderStatusUpdate(1L, 100L, StatusEnum.CONFIRMED),
+                    new OrderStatusUpdate(3L, 100L, StatusEnum.CONFIRMED))));
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldPublishOnlyMovedOrders_WhenSomeWereSkipped() {
+    List<PaymentCreatedEvent> events =
+        List.of(paymentEvent(1L, "SUCCESS"), paymentEvent(3L, "SUCCESS"));
+
+    when(processedPaymentEventRepository.markProcessed(events))
+        .thenReturn(Set.of("payment-1", "payment-3"));
+    when(orderProjectionRepository.transitionStatuses(List.of(1L, 3L), StatusEnum.CONFIRMED))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.PENDING, true),
+                new OrderStatusTransition(3L, 100L, StatusEnum.PAYMENT_FAILED, false)));
+
+    orderService.handlePaymentEvents(events);
+
+    verify(eventPublisher)
+        .publishEvent(
+            new OrderStatusesChangedEvent(
+                List.of(new OrderStatusUpdate(1L, 100L, StatusEnum.CONFIRMED))));
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldApplyFirstEvent_WhenOrderRepeatsInBatch() {
+    PaymentCreatedEvent failed = paymentEvent(1L, "FAILED");
+    PaymentCreatedEvent succeeded =
+        new PaymentCreatedEvent("payment-1b", 1L, 100L, "SUCCESS", Instant.now(), BigDecimal.TEN);
+    List<PaymentCreatedEvent> events = List.of(failed, succeeded);
+
+    when(processedPaymentEventRepository.markProcessed(events))
+        .thenReturn(Set.of("payment-1", "payment-1b"));
+
+    orderService.handlePaymentEvents(events);
+
+    verify(orderProjectionRepository).transitionStatuses(List.of(1L), StatusEnum.PAYMENT_FAILED);
+    verify(orderProjectionRepository, never()).transitionStatuses(any(), eq(StatusEnum.CONFIRMED));
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldSkipAlreadyProcessedEvents() {
+    List<PaymentCreatedEvent> events = List.of(paymentEvent(1L, "SUCCESS"));
+
+    when(processedPaymentEventRepository.markProcessed(events)).thenReturn(Set.of());
+
+    orderService.handlePaymentEvents(events);
+
+    verifyNoInteractions(orderRepository, orderProjectionRepository);
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldSkipEventsWithoutPaymentId() {
+    PaymentCreatedEvent anonymous =
+        new PaymentCreatedEvent(null, 2L, 100L, "SUCCESS", Instant.now(), BigDecimal.TEN);
+    PaymentCreatedEvent identified = paymentEvent(1L, "SUCCESS");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(identified)))
+        .thenReturn(Set.of("payment-1"));
+
+    orderService.handlePaymentEvents(List.of(anonymous, identified));
+
+    verify(orderProjectionRepository).transitionStatuses(List.of(1L), StatusEnum.CONFIRMED);
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldSkipEventWithoutPaymentId() {
+    PaymentCreatedEvent event =
+        new PaymentCreatedEvent(null, 1L, 100L, "SUCCESS", Instant.now(), BigDecimal.TEN);
+
+    orderService.handlePaymentEvent(event);
+
+    verifyNoInteractions(processedPaymentEventRepository, orderRepository, eventPublisher);
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldTransitionPendingOrder() {
+    PaymentCreatedEvent event = paymentEvent(1L, "SUCCESS");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event)))
+        .thenReturn(Set.of("payment-1"));
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(1L), Set.of(StatusEnum.PENDING), StatusEnum.CONFIRMED))
+        .thenReturn(1);
+
+    orderService.handlePaymentEvent(event);
+
+    verify(orderRepository, never()).existsById(any());
+    verify(eventPublisher).publishEvent(new OrderStatusUpdate(1L, 100L, StatusEnum.CONFIRMED));
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldBeNoOp_WhenEventIsDuplicate() {
+    PaymentCreatedEvent event = paymentEvent(1L, "SUCCESS");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event))).thenReturn(Set.of());
+
+    orderService.handlePaymentEvent(event);
+
+    verifyNoInteractions(orderRepository);
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldIgnoreEvent_WhenOrderAlreadyMovedOn() {
+    PaymentCreatedEvent event = paymentEvent(1L, "FAILED");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event)))
+        .thenReturn(Set.of("payment-1"));
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(1L), Set.of(StatusEnum.PENDING), StatusEnum.PAYMENT_FAILED))
+        .thenReturn(0);
+    when(orderRepository.existsById(1L)).thenReturn(true);
+
+    orderService.handlePaymentEvent(event);
+
+    verify(orderRepository).existsById(1L);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldThrowNotFoundException_WhenOrderDoesNotExist() {
+    PaymentCreatedEvent event = paymentEvent(99L, "SUCCESS");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event)))
+        .thenReturn(Set.of("payment-99"));
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(99L), Set.of(StatusEnum.PENDING), StatusEnum.CONFIRMED))
+        .thenReturn(0);
+    when(orderRepository.existsById(99L)).thenReturn(false);
+
+    assertThatThrownBy(() -> orderService.handlePaymentEvent(event))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  void create_ShouldCountOrderInUserSummary() {
+    LocalDate creationDate = LocalDate.now();
+    Order savedEntity =
+        new Order(
+            2L,
+            100L,
+            StatusEnum.PENDING,
+            creationDate,
+            "test@example.com",
+            List.of(),
+            0L,
+            null,
+            null);
+
+    when(orderMapper.toEntity(mockOrderDto)).thenReturn(mockOrderEntity);
+    when(orderRepository.save(mockOrderEntity)).thenReturn(savedEntity);
+    when(orderMapper.toDto(savedEntity)).thenReturn(mockOrderDto);
+    when(userServiceClient.getUserByEmail("email", mockOrderDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    orderService.create(mockOrderDto);
+
+    verify(userOrderSummaryRepository).recordOrderPlaced(100L, creationDate);
+  }
+
+  @Test
+  void updateById_ShouldAddOrderToSummarySpending_WhenOrderBecomesPaid() {
+    OrderDto updateDto =
+        new OrderDto(
+            1L, 100L, StatusEnum.CONFIRMED, LocalDate.now(), List.of(), "test@example.com");
+
+    when(orderProjectionRepository.updateStatus(1L, StatusEnum.CONFIRMED))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PENDING)));
+    when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    orderService.updateById(1L, updateDto);
+
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L), true);
+  }
+
+  @Test
+  void updateById_ShouldRemoveOrderFromSummarySpending_WhenOrderIsRefunded() {
+    OrderDto updateDto =
+        new OrderDto(
+            1L, 100L, StatusEnum.REFUNDED, LocalDate.now(), List.of(), "test@example.com");
+
+    when(orderProjectionRepository.updateStatus(1L, StatusEnum.REFUNDED))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.DELIVERED)));
+    when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    orderService.updateById(1L, updateDto);
+
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L), false);
+  }
+
+  @Test
+  void updateById_ShouldLeaveSummaryUntouched_WhenPaidStateDoesNotChange() {
+    OrderDto updateDto =
+        new OrderDto(
+            1L, 100L, StatusEnum.SHIPPED, LocalDate.now(), List.of(), "test@example.com");
+
+    when(orderProjectionRepository.updateStatus(1L, StatusEnum.SHIPPED))
+        .thenReturn(Optional.of(new OrderStatusChange(updateDto, StatusEnum.PROCESSING)));
+    when(userServiceClient.getUserByEmail("email", updateDto.userEmail()))
+        .thenReturn(List.of(mockUserDto));
+
+    orderService.updateById(1L, updateDto);
+
+    verifyNoInteractions(userOrderSummaryRepository);
+  }
+
+  @Test
+  void deleteById_ShouldRemoveOrderFromSummary_BeforeDeleting() {
+    when(orderProjectionRepository.lockStatusUpdates(List.of(1L)))
+        .thenReturn(List.of(new OrderStatusUpdate(1L, 100L, StatusEnum.SHIPPED)));
+    when(orderRepository.softDeleteById(eq(1L), any(Instant.class))).thenReturn(1);
+
+    orderService.deleteById(1L);
+
+    InOrder inOrder = inOrder(userOrderSummaryRepository, orderRepository);
+    inOrder.verify(userOrderSummaryRepository).recordOrderRemoved(1L, 100L, true);
+    inOrder.verify(orderRepository).softDeleteById(eq(1L), any(Instant.class));
+  }
+
+  @Test
+  void findSummaryByUserId_ShouldReturnZeros_WhenUserHasNoOrders() {
+    when(userOrderSummaryRepository.findByUserId(100L)).thenReturn(Optional.empty());
+
+    UserOrderSummary summary = orderService.findSummaryByUserId(100L);
+
+    assertThat(summary).isEqualTo(new UserOrderSummary(100L, 0, BigDecimal.ZERO, null));
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldAddConfirmedOrderToSummarySpending() {
+    PaymentCreatedEvent event = paymentEvent(1L, "SUCCESS");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event)))
+        .thenReturn(Set.of("payment-1"));
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(1L), Set.of(StatusEnum.PENDING), StatusEnum.CONFIRMED))
+        .thenReturn(1);
+
+    orderService.handlePaymentEvent(event);
+
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L), true);
+  }
+
+  @Test
+  void handlePaymentEvent_ShouldLeaveSummarySpending_WhenPaymentFailed() {
+    PaymentCreatedEvent event = paymentEvent(1L, "FAILED");
+
+    when(processedPaymentEventRepository.markProcessed(List.of(event)))
+        .thenReturn(Set.of("payment-1"));
+    when(orderRepository.transitionStatusByIdIn(
+            List.of(1L), Set.of(StatusEnum.PENDING), StatusEnum.PAYMENT_FAILED))
+        .thenReturn(1);
+
+    orderService.handlePaymentEvent(event);
+
+    verifyNoInteractions(userOrderSummaryRepository);
+  }
+
+  @Test
+  void handlePaymentEvents_ShouldAddOnlyMovedOrdersToSummarySpending() {
+    List<PaymentCreatedEvent> events =
+        List.of(paymentEvent(1L, "SUCCESS"), paymentEvent(3L, "SUCCESS"));
+
+    when(processedPaymentEventRepository.markProcessed(events))
+        .thenReturn(Set.of("payment-1", "payment-3"));
+    when(orderProjectionRepository.transitionStatuses(List.of(1L, 3L), StatusEnum.CONFIRMED))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.PENDING, true),
+                new OrderStatusTransition(3L, 100L, StatusEnum.PAYMENT_FAILED, false)));
+
+    orderService.handlePaymentEvents(events);
+
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L), true);
+  }
+
+  @Test
+  void updateStatuses_ShouldReportOutcomePerOrder() {
+    when(orderProjectionRepository.transitionStatuses(
+            List.of(1L, 2L, 3L, 4L), StatusEnum.PROCESSING))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.CONFIRMED, true),
+                new OrderStatusTransition(2L, 100L, StatusEnum.PROCESSING, false),
+                new OrderStatusTransition(3L, 100L, StatusEnum.PENDING, false)));
+
+    List<BulkStatusResult> results =
+        orderService.updateStatuses(List.of(1L, 2L, 3L, 4L, 1L), StatusEnum.PROCESSING);
+
+    assertThat(results)
+        .containsExactly(
+            new BulkStatusResult(1L, BulkStatusResult.Outcome.UPDATED, StatusEnum.PROCESSING),
+            new BulkStatusResult(2L, BulkStatusResult.Outcome.UNCHANGED, StatusEnum.PROCESSING),
+            new BulkStatusResult(3L, BulkStatusResult.Outcome.REJECTED, StatusEnum.PENDING),
+            new BulkStatusResult(4L, BulkStatusResult.Outcome.NOT_FOUND, null));
+    verify(eventPublisher)
+        .publishEvent(
+            new OrderStatusesChangedEvent(
+                List.of(new OrderStatusUpdate(1L, 100L, StatusEnum.PROCESSING))));
+    verifyNoInteractions(orderRepository, userOrderSummaryRepository, userServiceClient);
+  }
+
+  @Test
+  void updateStatuses_ShouldRemoveRefundedOrdersFromSummarySpending() {
+    when(orderProjectionRepository.transitionStatuses(List.of(1L, 2L), StatusEnum.REFUNDED))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.CONFIRMED, true),
+                new OrderStatusTransition(2L, 200L, StatusEnum.DELIVERED, true)));
+
+    orderService.updateStatuses(List.of(1L, 2L), StatusEnum.REFUNDED);
+
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L, 2L), false);
+    verify(eventPublisher)
+        .publishEvent(
+            new OrderStatusesChangedEvent(
+                List.of(
+                    new OrderStatusUpdate(1L, 100L, StatusEnum.REFUNDED),
+                    new OrderStatusUpdate(2L, 200L, StatusEnum.REFUNDED))));
+  }
+
+  @Test
+  void updateStatuses_ShouldAdjustSummaryFromReplacedStatus() {
+    when(orderProjectionRepository.transitionStatuses(List.of(1L, 2L), StatusEnum.REFUNDED))
+        .thenReturn(
+            List.of(
+                new OrderStatusTransition(1L, 100L, StatusEnum.PROCESSING, true),
+                new OrderStatusTransition(2L, 100L, StatusEnum.REFUNDED, false)));
+
+    List<BulkStatusResult> results =
+        orderService.updateStatuses(List.of(1L, 2L), StatusEnum.REFUNDED);
+
+    assertThat(results)
+        .extracting(BulkStatusResult::outcome)
+        .containsExactly(BulkStatusResult.Outcome.UPDATED, BulkStatusResult.Outcome.UNCHANGED);
+    verify(userOrderSummaryRepository).recordPaymentChange(List.of(1L), false);
+  }
+
+  @Test
+  void updateStatuses_ShouldPublishNothing_WhenNoOrderCanMove() {
+    when(orderProjectionRepository.transitionStatuses(List.of(1L), StatusEnum.PENDING))
+        .thenReturn(List.of(new OrderStatusTransition(1L, 100L, StatusEnum.SHIPPED, false)));
+
+    List<BulkStatusResult> results = orderService.updateStatuses(List.of(1L), StatusEnum.PENDING);
+
+    assertThat(results)
+        .containsExactly(
+            new BulkStatusResult(1L, BulkStatusResult.Outcome.REJECTED, StatusEnum.SHIPPED));
+    verifyNoInteractions(eventPublisher, userOrderSummaryRepository);
+  }
 
-    verify(orderRepository).deleteById(orderId);
+  private PaymentCreatedEvent paymentEvent(Long orderId, String status) {
+    return new PaymentCreatedEvent(
+        "payment-" + orderId, orderId, 100L, status, Instant.now(), BigDecimal.TEN);
   }
 }
@@ -0,0 +1,174 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.config.OrderStreamProperties;
+import com.innowise.orderservice.messaging.event.OrderStatusesChangedEvent;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderStatusUpdate;
+import com.innowise.orderservice.repository.OrderRepository;
+import com.innowise.orderservice.service.impl.OrderStatusHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderStatusHubTests {
+
+  @Mock private OrderRepository orderRepository;
+
+  private OrderStatusHub hub;
+
+  @BeforeEach
+  void setUp() {
+    hub =
+        new OrderStatusHub(
+            orderRepository, new OrderStreamProperties(Duration.ofMinutes(1), 2, 10, 1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    hub.shutdown();
+  }
+
+  @Test
+  void register_ShouldReplayCurrentStatuses_OldestFirst() {
+    when(orderRepository.findStatusUpdatesByUserId(100L, Limit.of(10)))
+        .thenReturn(List.of(update(2L, StatusEnum.PENDING), update(1L, StatusEnum.CONFIRMED)));
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    hub.register(100L, emitter);
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                assertThat(emitter.sent)
+                    .containsExactly(
+                        update(1L, StatusEnum.CONFIRMED), update(2L, StatusEnum.PENDING)));
+  }
+
+  @Test
+  void onStatusChanged_ShouldDeliverOnlyToSubscribersOfOwner() {
+    when(orderRepository.findStatusUpdatesByUserId(any(), any())).thenReturn(List.of());
+    RecordingEmitter owner = new RecordingEmitter();
+    RecordingEmitter other = new RecordingEmitter();
+    hub.register(100L, owner);
+    hub.register(200L, other);
+
+    hub.onStatusChanged(update(1L, StatusEnum.CONFIRMED));
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () -> assertThat(owner.sent).containsExactly(update(1L, StatusEnum.CONFIRMED)));
+    assertThat(other.sent).isEmpty();
+  }
+
+  @Test
+  void onStatusesChanged_ShouldDeliverEveryUpdateOfBatch() {
+    when(orderRepository.findStatusUpdatesByUserId(any(), any())).thenReturn(List.of());
+    RecordingEmitter owner = new RecordingEmitter();
+    hub.register(100L, owner);
+
+    hub.onStatusesChanged(
+        new OrderStatusesChangedEvent(
+            List.of(update(1L, StatusEnum.CONFIRMED), update(2L, StatusEnum.CONFIRMED))));
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                assertThat(owner.sent)
+                    .containsExactly(
+                        update(1L, StatusEnum.CONFIRMED), update(2L, StatusEnum.CONFIRMED)));
+  }
+
+  @Test
+  void onStatusChanged_ShouldDisconnectSubscriber_WhenItFallsBehind() throws Exception {
+    when(orderRepository.findStatusUpdatesByUserId(eq(100L), any())).thenReturn(List.of());
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    hub.register(100L, slow);
+
+    hub.onStatusChanged(update(1L, StatusEnum.CONFIRMED));
+    await().atMost(Duration.ofSeconds(5)).until(() -> slow.inFlight.getCount() == 0);
+    hub.onStatusChanged(update(2L, StatusEnum.CONFIRMED));
+    hub.onStatusChanged(update(3L, StatusEnum.CONFIRMED));
+    hub.onStatusChanged(update(4L, StatusEnum.CONFIRMED));
+    release.countDown();
+
+    assertThat(slow.completed).isTrue();
+    assertThat(hub.subscriberCount()).isZero();
+  }
+
+  @Test
+  void onStatusChanged_ShouldDropSubscriber_WhenSendFails() {
+    when(orderRepository.findStatusUpdatesByUserId(eq(100L), any())).thenReturn(List.of());
+    RecordingEmitter broken = new RecordingEmitter();
+    broken.failing = true;
+    hub.register(100L, broken);
+
+    hub.onStatusChanged(update(1L, StatusEnum.CONFIRMED));
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> hub.subscriberCount() == 0);
+  }
+
+  private static OrderStatusUpdate update(Long orderId, StatusEnum status) {
+    return new OrderStatusUpdate(orderId, 100L, status);
+  }
+
+  private static class RecordingEmitter extends SseEmitter {
+    private final List<Object> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release;
+    private final CountDownLatch inFlight = new CountDownLatch(1);
+    private volatile boolean failing;
+    private volatile boolean completed;
+
+    RecordingEmitter() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (failing) {
+        throw new IOException("Broken pipe");
+      }
+      inFlight.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      builder.build().stream()
+          .map(DataWithMediaType::getData)
+          .filter(OrderStatusUpdate.class::isInstance)
+          .forEach(sent::add);
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.innowise.orderservice.unit.service;
+
+import com.innowise.orderservice.client.ReactiveUserServiceClient;
+import com.innowise.orderservice.config.ReactiveUserServiceProperties;
+import com.innowise.orderservice.exception.InvalidCursorException;
+import com.innowise.orderservice.exception.NotFoundException;
+import com.innowise.orderservice.exception.RetrieveUserException;
+import com.innowise.orderservice.model.StatusEnum;
+import com.innowise.orderservice.model.dto.OrderCursorPage;
+import com.innowise.orderservice.model.dto.OrderDto;
+import com.innowise.orderservice.model.dto.OrderUserDto;
+import com.innowise.orderservice.model.dto.UserDto;
+import com.innowise.orderservice.repository.OrderProjectionRepository;
+import com.innowise.orderservice.service.impl.ReactiveOrderService;
+import com.innowise.orderservice.util.OrderCursorCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveOrderServiceTests {
+
+  private static final UserDto USER = new UserDto(100L, "John", "Doe", null, "test@example.com");
+
+  @Mock private OrderProjectionRepository orderProjectionRepository;
+  @Mock private ReactiveUserServiceClient userServiceClient;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private ReactiveOrderService reactiveOrderService;
+
+  @BeforeEach
+  void setUp() {
+    reactiveOrderService =
+        new ReactiveOrderService(
+            orderProjectionRepository,
+            userServiceClient,
+            new ReactiveUserServiceProperties(
+                Duration.ofSeconds(3), Duration.ofMillis(500), 8, 16),
+            transactionManager);
+  }
+
+  @Test
+  void findProjected_ShouldLookUpEachDistinctUserOnce() {
+    List<OrderDto> orders = List.of(order(1L), order(2L));
+    when(orderProjectionRepository.findWindow(
+            null, List.of(StatusEnum.PENDING), ScrollPosition.keyset(), 10))
+        .thenReturn(window(orders, false));
+    when(userServiceClient.getUserByEmail(USER.email())).thenReturn(Mono.just(USER));
+
+    OrderCursorPage result =
+        reactiveOrderService.findProjected(null, List.of(StatusEnum.PENDING), null, 10).block();
+
+    assertThat(result).isNotNull();
+    assertThat(result.content()).extracting(OrderUserDto::getUserDto).containsExactly(USER, USER);
+    assertThat(result.content())
+        .extracting(orderUser -> orderUser.getOrderDto().id())
+        .containsExactly(1L, 2L);
+    assertThat(result.nextCursor()).isNull();
+    verify(userServiceClient, times(1)).getUserByEmail(USER.email());
+  }
+
+  @Test
+  void findProjected_ShouldReturnOrdersWithoutUser_WhenLookupFails() {
+    OrderDto orphan =
+        new OrderDto(
+            2L, 200L, StatusEnum.PENDING, LocalDate.of(2025, 1, 9), List.of(), "gone@example.com");
+    when(orderProjectionRepository.findWindow(isNull(), isNull(), any(), eq(10)))
+        .thenReturn(window(List.of(order(1L), orphan), false));
+    when(userServiceClient.getUserByEmail(USER.email())).thenReturn(Mono.just(USER));
+    when(userServiceClient.getUserByEmail("gone@example.com"))
+        .thenReturn(Mono.error(new RetrieveUserException("User not found")));
+
+    OrderCursorPage result = reactiveOrderService.findProjected(null, null, null, 10).block();
+
+    assertThat(result).isNotNull();
+    assertThat(result.content())
+        .extracting(OrderUserDto::getUserDto)
+        .containsExactly(USER, null);
+  }
+
+  @Test
+  void findProjected_ShouldReturnCursorOfLastOrder_WhenMoreOrdersFollow() {
+    when(orderProjectionRepository.findWindow(isNull(), isNull(), any(), eq(1)))
+        .thenReturn(window(List.of(order(1L)), true));
+    when(userServiceClient.getUserByEmail(USER.email())).thenReturn(Mono.just(USER));
+
+    OrderCursorPage result = reactiveOrderService.findProjected(null, null, null, 1).block();
+
+    assertThat(result).isNotNull();
+    assertThat(OrderCursorCodec.decode(result.nextCursor()).getKeys())
+        .containsEntry(OrderCursorCodec.ID, 1L)
+        .containsEntry(OrderCursorCodec.CREATION_DATE, LocalDate.of(2025, 1, 10));
+  }
+
+  @Test
+  void findProjected_ShouldFailWithInvalidCursorException_WhenCursorIsMalformed() {
+    assertThatThrownBy(
+            () -> reactiveOrderService.findProjected(null, null, "not a cursor", 10).block())
+        .isInstanceOf(InvalidCursorException.class);
+    verifyNoInteractions(orderProjectionRepository, userServiceClient);
+  }
+
+  @Test
+  void findById_ShouldCombineOrderWithUser() {
+    when(orderProjectionRepository.findWindow(eq(List.of(1L)), isNull(), any(), eq(1)))
+        .thenReturn(window(List.of(order(1L)), false));
+    when(userServiceClient.getUserByEmail(USER.email())).thenReturn(Mono.just(USER));
+
+    OrderUserDto result = reactiveOrderService.findById(1L).block();
+
+    assertThat(result).isEqualTo(new OrderUserDto(order(1L), USER));
+  }
+
+  @Test
+  void findById_ShouldFailWithNotFoundException_WhenOrderDoesNotExist() {
+    when(orderProjectionRepository.findWindow(eq(List.of(99L)), isNull(), any(), eq(1)))
+        .thenReturn(window(List.of(), false));
+
+    assertThatThrownBy(() -> reactiveOrderService.findById(99L).block())
+        .isInstanceOf(NotFoundException.class);
+    verifyNoInteractions(userServiceClient);
+  }
+
+  private static Window<OrderDto> window(List<OrderDto> orders, boolean hasNext) {
+    return Window.from(
+        orders,
+        index ->
+            ScrollPosition.forward(
+                Map.of(
+                    OrderCursorCodec.CREATION_DATE,
+                    orders.get(index).creationDate(),
+                    OrderCursorCodec.ID,
+                    orders.get(index).id())),
+        hasNext);
+  }
+
+  private static OrderDto order(Long id) {
+    return new OrderDto(
+        id, 100L, StatusEnum.PENDING, LocalDate.of(2025, 1, 10), List.of(), USER.email());
+  }
+}
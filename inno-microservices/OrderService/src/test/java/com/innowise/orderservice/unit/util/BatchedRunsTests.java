@@ -0,0 +1,33 @@
+package com.innowise.orderservice.unit.util;
+
+import com.innowise.orderservice.util.BatchedRuns;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchedRunsTests {
+
+  @Test
+  void drain_ShouldStopAtFirstShortBatch() {
+    Deque<Integer> batches = new ArrayDeque<>(List.of(10, 10, 4, 10));
+
+    int total = BatchedRuns.drain(batches::pop, 10, 5);
+
+    assertThat(total).isEqualTo(24);
+    assertThat(batches).containsExactly(10);
+  }
+
+  @Test
+  void drain_ShouldStopAfterMaxBatches_WhenBacklogRemains() {
+    Deque<Integer> batches = new ArrayDeque<>(List.of(10, 10, 10, 10));
+
+    int total = BatchedRuns.drain(batches::pop, 10, 2);
+
+    assertThat(total).isEqualTo(20);
+    assertThat(batches).hasSize(2);
+  }
+}
@@ -0,0 +1,43 @@
+package com.innowise.orderservice.unit.util;
+
+import com.innowise.orderservice.exception.InvalidCursorException;
+import com.innowise.orderservice.util.OrderCursorCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderCursorCodecTests {
+
+  @Test
+  void encodeAndDecode_ShouldRoundTripKeysetPosition() {
+    LocalDate creationDate = LocalDate.of(2025, 3, 14);
+    ScrollPosition position =
+        ScrollPosition.forward(
+            Map.of(OrderCursorCodec.CREATION_DATE, creationDate, OrderCursorCodec.ID, 42L));
+
+    KeysetScrollPosition decoded = OrderCursorCodec.decode(OrderCursorCodec.encode(position));
+
+    assertThat(decoded.getKeys())
+        .containsEntry(OrderCursorCodec.CREATION_DATE, creationDate)
+        .containsEntry(OrderCursorCodec.ID, 42L);
+  }
+
+  @Test
+  void decode_ShouldReturnInitialPosition_WhenTokenIsBlank() {
+    assertThat(OrderCursorCodec.decode(null).isInitial()).isTrue();
+    assertThat(OrderCursorCodec.decode(" ").isInitial()).isTrue();
+  }
+
+  @Test
+  void decode_ShouldThrowInvalidCursorException_WhenTokenIsMalformed() {
+    assertThatThrownBy(() -> OrderCursorCodec.decode("not-a-cursor"))
+        .isInstanceOf(InvalidCursorException.class)
+        .hasMessageContaining("not-a-cursor");
+  }
+}
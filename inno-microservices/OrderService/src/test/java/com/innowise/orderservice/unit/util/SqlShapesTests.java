@@ -0,0 +1,46 @@
+package com.innowise.orderservice.unit.util;
+
+import com.innowise.orderservice.util.SqlShapes;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlShapesTests {
+
+  @Test
+  void of_ShouldReplaceLiteralsAndCollapseInLists() {
+    String sql =
+        """
+        select o1_0.id from orders o1_0
+        where o1_0.id in (?, ?,?) and o1_0.status='PENDING' and o1_0.user_id = 5
+        """;
+
+    assertThat(SqlShapes.of(sql, 512))
+        .isEqualTo(
+            "select o1_0.id from orders o1_0 where o1_0.id in (?) and o1_0.status=? "
+                + "and o1_0.user_id = ?");
+  }
+
+  @Test
+  void of_ShouldGiveSameShape_ForInListsOfDifferentLength() {
+    assertThat(SqlShapes.of("delete from orders where id in (?)", 512))
+        .isEqualTo(SqlShapes.of("delete from orders where id in (?,?,?,?)", 512));
+  }
+
+  @Test
+  void of_ShouldKeepCutShapesApart() {
+    String first = SqlShapes.of("select id from orders where user_id = ? and status = ?", 20);
+    String second = SqlShapes.of("select id from orders where creation_date < ?", 20);
+
+    assertThat(first).startsWith("select id from order").hasSize(32);
+    assertThat(second).startsWith("select id from order").isNotEqualTo(first);
+  }
+
+  @Test
+  void type_ShouldReturnLeadingKeyword() {
+    assertThat(SqlShapes.type("  SELECT 1")).isEqualTo("select");
+    assertThat(SqlShapes.type("insert into orders values (?)")).isEqualTo("insert");
+    assertThat(SqlShapes.type("with moved as (delete from orders) select 1")).isEqualTo("with");
+    assertThat(SqlShapes.type("set local statement_timeout = 0")).isEqualTo("other");
+  }
+}
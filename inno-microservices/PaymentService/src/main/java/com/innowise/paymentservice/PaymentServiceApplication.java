@@ -1,5 +1,6 @@
 package com.innowise.paymentservice;
 
+import com.innowise.paymentservice.config.AnalyticsProperties;
 import com.innowise.paymentservice.config.ExternalApiProperties;
 import com.innowise.paymentservice.config.KafkaTopicProperties;
 import org.springframework.boot.SpringApplication;
@@ -8,7 +9,11 @@ import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfigurati
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication(exclude = {LiquibaseAutoConfiguration.class})
-@EnableConfigurationProperties({ExternalApiProperties.class, KafkaTopicProperties.class})
+@EnableConfigurationProperties({
+  ExternalApiProperties.class,
+  KafkaTopicProperties.class,
+  AnalyticsProperties.class
+})
 public class PaymentServiceApplication {
 
   public static void main(String[] args) {
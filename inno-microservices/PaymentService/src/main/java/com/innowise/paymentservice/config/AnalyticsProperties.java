@@ -0,0 +1,27 @@
+package com.innowise.paymentservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the order-payment analytics topology.
+ *
+ * @param grace how long a window accepts late records after it closes
+ * @param retention how long closed windows stay queryable
+ * @param paymentJoinWindow the maximum time between an order and its payment for the pair to count
+ *     towards time-to-payment
+ * @param shards the number of keys the global metrics are pre-aggregated under; changing it hides
+ *     the windows aggregated under the old keys
+ * @param forwardConnectTimeout the connect timeout when reading partial aggregates from a replica
+ * @param forwardReadTimeout the read timeout when reading partial aggregates from a replica
+ */
+@ConfigurationProperties(prefix = "analytics.streams")
+public record AnalyticsProperties(
+    @DefaultValue("1m") Duration grace,
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("30m") Duration paymentJoinWindow,
+    @DefaultValue("16") int shards,
+    @DefaultValue("500ms") Duration forwardConnectTimeout,
+    @DefaultValue("2s") Duration forwardReadTimeout) {}
@@ -0,0 +1,43 @@
+package com.innowise.paymentservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(
+    prefix = "analytics.streams",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class AnalyticsStreamsConfig {
+
+  @Bean
+  public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(
+      StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+    return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+  }
+
+  /**
+   * Client for reading partial aggregates from other replicas. It is separate from the external API
+   * client so that replica calls get their own short timeouts and connection pool.
+   */
+  @Bean
+  public RestClient analyticsRestClient(AnalyticsProperties properties) {
+    var settings =
+        ClientHttpRequestFactorySettings.defaults()
+            .withConnectTimeout(properties.forwardConnectTimeout())
+            .withReadTimeout(properties.forwardReadTimeout());
+
+    var requestFactory = ClientHttpRequestFactoryBuilder.detect().build(settings);
+
+    return RestClient.builder().requestFactory(requestFactory).build();
+  }
+}
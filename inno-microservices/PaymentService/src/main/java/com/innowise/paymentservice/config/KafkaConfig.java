@@ -14,11 +14,14 @@ public class KafkaConfig {
 
   @Bean
   public NewTopic paymentTopic() {
-    return TopicBuilder.name(topicProperties.created()).build();
+    return TopicBuilder.name(topicProperties.created())
+        .partitions(topicProperties.partitions())
+        .replicas(topicProperties.replicas())
+        .build();
   }
 
   @Bean
   public NewTopic dlqTopic() {
-    return TopicBuilder.name(topicProperties.dlq()).build();
+    return TopicBuilder.name(topicProperties.dlq()).replicas(topicProperties.replicas()).build();
   }
 }
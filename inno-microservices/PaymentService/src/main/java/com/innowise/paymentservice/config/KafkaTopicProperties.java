@@ -1,6 +1,20 @@
 package com.innowise.paymentservice.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
+/**
+ * Topics owned by the payment service.
+ *
+ * @param created the payment-created topic
+ * @param dlq the dead-letter topic for order events that could not be processed
+ * @param partitions the partition count of the payment-created topic; bounds how many consumers of
+ *     one group can read it in parallel
+ * @param replicas the replication factor of both topics
+ */
 @ConfigurationProperties(prefix = "kafka.topic.payment")
-public record KafkaTopicProperties(String created, String dlq) {}
+public record KafkaTopicProperties(
+    String created,
+    String dlq,
+    @DefaultValue("6") int partitions,
+    @DefaultValue("1") short replicas) {}
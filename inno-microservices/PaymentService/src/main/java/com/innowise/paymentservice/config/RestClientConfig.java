@@ -5,6 +5,7 @@ import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
@@ -16,6 +17,7 @@ public class RestClientConfig {
   private final ExternalApiProperties externalApiProperties;
 
   @Bean
+  @Primary
   public RestClient restClient() {
     Duration connectTimeout = Duration.ofMillis(externalApiProperties.connectTimeout());
     Duration readTimeout = Duration.ofMillis(externalApiProperties.readTimeout());
@@ -0,0 +1,100 @@
+package com.innowise.paymentservice.controller;
+
+import com.innowise.paymentservice.model.dto.PaymentSuccessRate;
+import com.innowise.paymentservice.model.dto.TimeToPayment;
+import com.innowise.paymentservice.model.dto.WindowedMetric;
+import com.innowise.paymentservice.service.PaymentAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Dashboard metrics computed by the analytics stream topology. Every endpoint takes an optional
+ * ISO-8601 {@code from}/{@code to} range of window start times, defaulting to the last hour.
+ */
+@RestController
+@RequestMapping(PaymentAnalyticsService.BASE_PATH)
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "analytics.streams",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class AnalyticsController {
+  private static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+
+  private final PaymentAnalyticsService analyticsService;
+
+  @GetMapping("/orders-per-minute")
+  public ResponseEntity<List<WindowedMetric<Long>>> ordersPerMinute(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to) {
+    Instant end = endOf(to);
+    return ResponseEntity.ok(analyticsService.ordersPerMinute(startOf(from, end), end));
+  }
+
+  @GetMapping("/payment-success-rate")
+  public ResponseEntity<List<WindowedMetric<PaymentSuccessRate>>> paymentSuccessRate(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to) {
+    Instant end = endOf(to);
+    return ResponseEntity.ok(analyticsService.paymentSuccessRate(startOf(from, end), end));
+  }
+
+  @GetMapping("/revenue/{userId}")
+  public ResponseEntity<List<WindowedMetric<BigDecimal>>> revenue(
+      @PathVariable Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to) {
+    Instant end = endOf(to);
+    return ResponseEntity.ok(analyticsService.revenue(userId, startOf(from, end), end));
+  }
+
+  @GetMapping("/time-to-payment")
+  public ResponseEntity<List<WindowedMetric<TimeToPayment>>> timeToPayment(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to) {
+    Instant end = endOf(to);
+    return ResponseEntity.ok(analyticsService.timeToPayment(startOf(from, end), end));
+  }
+
+  /**
+   * Returns this replica's windows of {@code store} for the given keys, merged across the keys.
+   * Replicas call it to assemble a metric whose keys are spread over several instances.
+   */
+  @GetMapping(PaymentAnalyticsService.PARTIALS_PATH + "/{store}")
+  public ResponseEntity<List<WindowedMetric<?>>> partials(
+      @PathVariable String store,
+      @RequestParam List<String> key,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+    return ResponseEntity.ok(analyticsService.partials(store, key, from, to));
+  }
+
+  private static Instant endOf(Instant to) {
+    return to != null ? to : Instant.now();
+  }
+
+  private static Instant startOf(Instant from, Instant end) {
+    return from != null ? from : end.minus(DEFAULT_RANGE);
+  }
+}
@@ -0,0 +1,165 @@
+package com.innowise.paymentservice.messaging;
+
+import com.innowise.paymentservice.config.AnalyticsProperties;
+import com.innowise.paymentservice.config.KafkaTopicProperties;
+import com.innowise.paymentservice.messaging.event.OrderCreatedEvent;
+import com.innowise.paymentservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.paymentservice.messaging.serde.BinaryEventDeserializer;
+import com.innowise.paymentservice.messaging.serde.BinaryEventSerializer;
+import com.innowise.paymentservice.model.dto.LatencyHistogram;
+import com.innowise.paymentservice.model.dto.PaymentOutcomes;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.JoinWindows;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.StreamJoined;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Kafka Streams topology that turns the order-created and payment-created topics into windowed
+ * dashboard metrics.
+ *
+ * <p>All aggregates live in RocksDB-backed window stores and are served through interactive
+ * queries by {@link com.innowise.paymentservice.service.PaymentAnalyticsService}. Global metrics
+ * are pre-aggregated under {@link AnalyticsProperties#shards()} keys derived from the order id, so
+ * the load spreads over the repartition topic instead of funnelling into one partition; queries
+ * merge the shards of a window. Revenue is keyed by user id and skips payments without a user or
+ * an amount, which would otherwise fail the aggregation. Time-to-payment joins both topics on the
+ * order id, which is the record key on both sides, so the topics must keep the same partition
+ * count.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "analytics.streams",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class PaymentAnalyticsTopology {
+  public static final String ORDERS_PER_MINUTE = "orders-per-minute";
+  public static final String PAYMENT_OUTCOMES = "payment-outcomes";
+  public static final String REVENUE_PER_USER = "revenue-per-user";
+  public static final String TIME_TO_PAYMENT = "time-to-payment";
+  public static final Duration MINUTE = Duration.ofMinutes(1);
+  public static final Duration HOUR = Duration.ofHours(1);
+
+  private static final String SUCCESS = "SUCCESS";
+
+  private final KafkaTopicProperties topicProperties;
+  private final AnalyticsProperties properties;
+
+  @Autowired
+  public void buildPipeline(
+      StreamsBuilder builder, @Value("${kafka.topic.order.created}") String orderTopic) {
+    Serde<OrderCreatedEvent> orderSerde = eventSerde(OrderCreatedEvent.class);
+    Serde<PaymentCreatedEvent> paymentSerde = eventSerde(PaymentCreatedEvent.class);
+
+    KStream<String, OrderCreatedEvent> orders =
+        builder.stream(orderTopic, Consumed.with(Serdes.String(), orderSerde));
+    KStream<String, PaymentCreatedEvent> payments =
+        builder.stream(topicProperties.created(), Consumed.with(Serdes.String(), paymentSerde));
+
+    orders
+        .groupBy((orderId, order) -> shardOf(orderId), Grouped.with(Serdes.String(), orderSerde))
+        .windowedBy(window(MINUTE))
+        .count(this.<Long>store(ORDERS_PER_MINUTE).withValueSerde(Serdes.Long()));
+
+    payments
+        .groupBy(
+            (orderId, payment) -> shardOf(orderId), Grouped.with(Serdes.String(), paymentSerde))
+        .windowedBy(window(MINUTE))
+        .aggregate(
+            PaymentOutcomes::empty,
+            (key, payment, outcomes) -> outcomes.add(payment.status()),
+            this.<PaymentOutcomes>store(PAYMENT_OUTCOMES)
+                .withValueSerde(jsonSerde(PaymentOutcomes.class)));
+
+    payments
+        .filter(
+            (orderId, payment) ->
+                SUCCESS.equals(payment.status())
+                    && payment.userId() != null
+                    && payment.paymentAmount() != null)
+        .groupBy(
+            (orderId, payment) -> payment.userId().toString(),
+            Grouped.with(Serdes.String(), paymentSerde))
+        .windowedBy(window(HOUR))
+        .aggregate(
+            () -> BigDecimal.ZERO,
+            (userId, payment, revenue) -> revenue.add(payment.paymentAmount()),
+            this.<BigDecimal>store(REVENUE_PER_USER).withValueSerde(jsonSerde(BigDecimal.class)));
+
+    JoinWindows paymentWindow =
+        JoinWindows.ofTimeDifferenceAndGrace(properties.paymentJoinWindow(), properties.grace());
+    payments
+        .filter((orderId, payment) -> payment.timestamp() != null)
+        .join(
+            orders.filter((orderId, order) -> order.createdAt() != null),
+            (payment, order) -> Duration.between(order.createdAt(), payment.timestamp()).toMillis(),
+            paymentWindow,
+            StreamJoined.with(Serdes.String(), paymentSerde, orderSerde))
+        .groupBy(
+            (orderId, latencyMs) -> shardOf(orderId), Grouped.with(Serdes.String(), Serdes.Long()))
+        .windowedBy(window(MINUTE))
+        .aggregate(
+            LatencyHistogram::empty,
+            (key, latencyMs, histogram) -> histogram.record(latencyMs),
+            this.<LatencyHistogram>store(TIME_TO_PAYMENT)
+                .withValueSerde(jsonSerde(LatencyHistogram.class)));
+  }
+
+  /** Returns the keys the global metrics are spread over when aggregated into the given shards. */
+  public static List<String> shardKeys(int shards) {
+    return IntStream.range(0, shards).mapToObj(Integer::toString).toList();
+  }
+
+  private String shardOf(String orderId) {
+    return Integer.toString(Math.floorMod(Objects.hashCode(orderId), properties.shards()));
+  }
+
+  private TimeWindows window(Duration size) {
+    return TimeWindows.ofSizeAndGrace(size, properties.grace());
+  }
+
+  private <V> Materialized<String, V, WindowStore<Bytes, byte[]>> store(String name) {
+    return Materialized.<String, V, WindowStore<Bytes, byte[]>>as(name)
+        .withKeySerde(Serdes.String())
+        .withRetention(properties.retention());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Serde<T> eventSerde(Class<T> type) {
+    BinaryEventDeserializer deserializer = new BinaryEventDeserializer();
+    deserializer.configure(
+        Map.of(
+            JsonDeserializer.TRUSTED_PACKAGES, "*",
+            JsonDeserializer.VALUE_DEFAULT_TYPE, type.getName(),
+            JsonDeserializer.USE_TYPE_INFO_HEADERS, false),
+        false);
+    return (Serde<T>) (Serde<?>) Serdes.serdeFrom(new BinaryEventSerializer(), deserializer);
+  }
+
+  private static <T> Serde<T> jsonSerde(Class<T> type) {
+    return new JsonSerde<>(type).noTypeInfo();
+  }
+}
@@ -0,0 +1,12 @@
+package com.innowise.paymentservice.messaging.serde;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/** Kafka value serializer writing events in the {@link EventCodec} Avro format. */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+  @Override
+  public byte[] serialize(String topic, Object data) {
+    return data == null ? null : EventCodec.encode(data);
+  }
+}
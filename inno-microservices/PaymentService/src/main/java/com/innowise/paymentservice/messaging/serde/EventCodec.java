@@ -0,0 +1,144 @@
+package com.innowise.paymentservice.messaging.serde;
+
+import com.innowise.events.avro.OrderCreated;
+import com.innowise.events.avro.PaymentCreated;
+import com.innowise.paymentservice.messaging.event.OrderCreatedEvent;
+import com.innowise.paymentservice.messaging.event.PaymentCreatedEvent;
+import lombok.experimental.UtilityClass;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Avro encoding of the events exchanged between the order and payment services.
+ *
+ * <p>The schemas live in {@code event-schemas/avro} at the repository root and both services
+ * generate their classes from there; see the README next to them for the wire format and the
+ * evolution rules. Messages use Avro single-object encoding, so every payload starts with the
+ * marker bytes {@code C3 01} and the fingerprint of its writer schema, which selects the record
+ * type on decode.
+ */
+@UtilityClass
+public class EventCodec {
+  private static final byte[] MARKER = {(byte) 0xC3, 0x01};
+
+  private static final int SCALE = 2;
+
+  private static final Map<Long, Function<byte[], Object>> DECODERS =
+      Map.of(
+          fingerprint(OrderCreated.getClassSchema()),
+          decoder(OrderCreated.getDecoder(), EventCodec::fromAvro),
+          fingerprint(PaymentCreated.getClassSchema()),
+          decoder(PaymentCreated.getDecoder(), EventCodec::fromAvro));
+
+  public byte[] encode(Object event) {
+    try {
+      return switch (event) {
+        case OrderCreatedEvent e -> toBytes(OrderCreated.getEncoder(), toAvro(e));
+        case PaymentCreatedEvent e -> toBytes(PaymentCreated.getEncoder(), toAvro(e));
+        default ->
+            throw new SerializationException(
+                "Unsupported event type: " + event.getClass().getName());
+      };
+    } catch (ArithmeticException | AvroRuntimeException e) {
+      throw new SerializationException("Failed to encode " + event, e);
+    }
+  }
+
+  public Object decode(byte[] data) {
+    if (!isEncoded(data) || data.length < MARKER.length + Long.BYTES) {
+      throw new SerializationException("Not an Avro single-object payload");
+    }
+    long fingerprint =
+        ByteBuffer.wrap(data, MARKER.length, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).getLong();
+    Function<byte[], Object> decoder = DECODERS.get(fingerprint);
+    if (decoder == null) {
+      throw new SerializationException("Unknown event schema fingerprint: " + fingerprint);
+    }
+    return decoder.apply(data);
+  }
+
+  /** Tells whether the payload starts with the single-object encoding marker. */
+  public boolean isEncoded(byte[] data) {
+    return data != null
+        && data.length >= MARKER.length
+        && data[0] == MARKER[0]
+        && data[1] == MARKER[1];
+  }
+
+  private static OrderCreated toAvro(OrderCreatedEvent event) {
+    return OrderCreated.newBuilder()
+        .setOrderId(event.orderId())
+        .setUserId(event.userId())
+        .setTotalAmount(scaled(event.totalAmount()))
+        .setCreatedAt(event.createdAt())
+        .build();
+  }
+
+  private static PaymentCreated toAvro(PaymentCreatedEvent event) {
+    return PaymentCreated.newBuilder()
+        .setPaymentId(event.paymentId())
+        .setOrderId(event.orderId())
+        .setUserId(event.userId())
+        .setStatus(event.status())
+        .setTimestamp(event.timestamp())
+        .setPaymentAmount(scaled(event.paymentAmount()))
+        .build();
+  }
+
+  private static OrderCreatedEvent fromAvro(OrderCreated record) {
+    return new OrderCreatedEvent(
+        record.getOrderId(), record.getUserId(), record.getTotalAmount(), record.getCreatedAt());
+  }
+
+  private static PaymentCreatedEvent fromAvro(PaymentCreated record) {
+    return new PaymentCreatedEvent(
+        record.getPaymentId(),
+        record.getOrderId(),
+        record.getUserId(),
+        record.getStatus(),
+        record.getTimestamp(),
+        record.getPaymentAmount());
+  }
+
+  private static BigDecimal scaled(BigDecimal amount) {
+    return amount == null ? null : amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+  }
+
+  private static <T> byte[] toBytes(BinaryMessageEncoder<T> encoder, T record) {
+    try {
+      ByteBuffer buffer = encoder.encode(record);
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return bytes;
+    } catch (IOException e) {
+      throw new SerializationException("Failed to encode " + record, e);
+    }
+  }
+
+  private static <T> Function<byte[], Object> decoder(
+      BinaryMessageDecoder<T> decoder, Function<T, Object> mapper) {
+    return data -> {
+      try {
+        return mapper.apply(decoder.decode(data));
+      } catch (IOException | AvroRuntimeException e) {
+        throw new SerializationException("Failed to decode event payload", e);
+      }
+    };
+  }
+
+  private static long fingerprint(Schema schema) {
+    return SchemaNormalization.parsingFingerprint64(schema);
+  }
+}
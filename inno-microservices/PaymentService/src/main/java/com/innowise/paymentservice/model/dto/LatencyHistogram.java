@@ -0,0 +1,75 @@
+package com.innowise.paymentservice.model.dto;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of latencies in milliseconds, small enough to keep per window in a state
+ * store and merge without losing percentile accuracy beyond the bucket resolution.
+ *
+ * @param counts the number of samples per bucket of {@link #BOUNDS_MS}, plus one overflow bucket
+ */
+public record LatencyHistogram(long[] counts) {
+  public static final long[] BOUNDS_MS = {
+    100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 300_000, 900_000, 1_800_000
+  };
+
+  public static LatencyHistogram empty() {
+    return new LatencyHistogram(new long[BOUNDS_MS.length + 1]);
+  }
+
+  public LatencyHistogram record(long latencyMs) {
+    int bucket = Arrays.binarySearch(BOUNDS_MS, Math.max(0, latencyMs));
+    long[] updated = counts.clone();
+    updated[bucket >= 0 ? bucket : -bucket - 1]++;
+    return new LatencyHistogram(updated);
+  }
+
+  public LatencyHistogram merge(LatencyHistogram other) {
+    long[] merged = counts.clone();
+    for (int i = 0; i < merged.length; i++) {
+      merged[i] += other.counts[i];
+    }
+    return new LatencyHistogram(merged);
+  }
+
+  public long count() {
+    return Arrays.stream(counts).sum();
+  }
+
+  /**
+   * Returns the upper bound of the bucket holding the given percentile, or {@link Long#MAX_VALUE}
+   * if it falls into the overflow bucket.
+   *
+   * @param percentile the percentile in the range {@code (0, 1]}
+   */
+  public long percentile(double percentile) {
+    long total = count();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+    for (int i = 0; i < BOUNDS_MS.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return BOUNDS_MS[i];
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof LatencyHistogram that && Arrays.equals(counts, that.counts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(counts);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram" + Arrays.toString(counts);
+  }
+}
@@ -0,0 +1,29 @@
+package com.innowise.paymentservice.model.dto;
+
+/**
+ * Running count of payment outcomes within one analytics window.
+ *
+ * @param succeeded the number of successful payments
+ * @param failed the number of failed payments
+ */
+public record PaymentOutcomes(long succeeded, long failed) {
+
+  public static PaymentOutcomes empty() {
+    return new PaymentOutcomes(0, 0);
+  }
+
+  public PaymentOutcomes add(String status) {
+    return "SUCCESS".equals(status)
+        ? new PaymentOutcomes(succeeded + 1, failed)
+        : new PaymentOutcomes(succeeded, failed + 1);
+  }
+
+  public PaymentOutcomes merge(PaymentOutcomes other) {
+    return new PaymentOutcomes(succeeded + other.succeeded, failed + other.failed);
+  }
+
+  public double successRate() {
+    long total = succeeded + failed;
+    return total == 0 ? 0 : (double) succeeded / total;
+  }
+}
@@ -0,0 +1,16 @@
+package com.innowise.paymentservice.model.dto;
+
+/**
+ * Payment outcomes of one window as served to dashboards.
+ *
+ * @param succeeded the number of successful payments
+ * @param failed the number of failed payments
+ * @param successRate the share of successful payments, {@code 0} for an empty window
+ */
+public record PaymentSuccessRate(long succeeded, long failed, double successRate) {
+
+  public static PaymentSuccessRate of(PaymentOutcomes outcomes) {
+    return new PaymentSuccessRate(
+        outcomes.succeeded(), outcomes.failed(), outcomes.successRate());
+  }
+}
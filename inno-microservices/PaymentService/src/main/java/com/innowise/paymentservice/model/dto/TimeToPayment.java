@@ -0,0 +1,20 @@
+package com.innowise.paymentservice.model.dto;
+
+/**
+ * Time between order creation and payment within one window, as bucket upper bounds.
+ *
+ * @param count the number of paid orders
+ * @param p50Ms the median time to payment in milliseconds
+ * @param p90Ms the 90th percentile in milliseconds
+ * @param p99Ms the 99th percentile in milliseconds
+ */
+public record TimeToPayment(long count, long p50Ms, long p90Ms, long p99Ms) {
+
+  public static TimeToPayment of(LatencyHistogram histogram) {
+    return new TimeToPayment(
+        histogram.count(),
+        histogram.percentile(0.5),
+        histogram.percentile(0.9),
+        histogram.percentile(0.99));
+  }
+}
@@ -0,0 +1,13 @@
+package com.innowise.paymentservice.model.dto;
+
+import java.time.Instant;
+
+/**
+ * A metric value aggregated over one time window.
+ *
+ * @param windowStart the inclusive start of the window
+ * @param windowEnd the exclusive end of the window
+ * @param value the aggregated value
+ * @param <T> the value type
+ */
+public record WindowedMetric<T>(Instant windowStart, Instant windowEnd, T value) {}
@@ -0,0 +1,222 @@
+package com.innowise.paymentservice.service;
+
+import com.innowise.paymentservice.config.AnalyticsProperties;
+import com.innowise.paymentservice.model.dto.LatencyHistogram;
+import com.innowise.paymentservice.model.dto.PaymentOutcomes;
+import com.innowise.paymentservice.model.dto.PaymentSuccessRate;
+import com.innowise.paymentservice.model.dto.TimeToPayment;
+import com.innowise.paymentservice.model.dto.WindowedMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.HOUR;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.MINUTE;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.ORDERS_PER_MINUTE;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.PAYMENT_OUTCOMES;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.REVENUE_PER_USER;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.TIME_TO_PAYMENT;
+import static com.innowise.paymentservice.messaging.PaymentAnalyticsTopology.shardKeys;
+
+/**
+ * Serves the analytics window stores through Kafka Streams interactive queries.
+ *
+ * <p>A global metric is spread over the shard keys of the topology, and each key lives on the
+ * instance that owns its partition. The service reads the keys it owns from its local stores, asks
+ * every other owner for the partial aggregates of its keys over HTTP using the {@code
+ * application.server} address it advertises, and merges the partials per window, so any replica
+ * can answer any query.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(
+    prefix = "analytics.streams",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class PaymentAnalyticsService {
+  public static final String BASE_PATH = "/api/v1/analytics";
+  public static final String PARTIALS_PATH = "/partials";
+
+  private static final Metric<Long> ORDERS =
+      new Metric<>(ORDERS_PER_MINUTE, MINUTE, Long.class, Long::sum);
+  private static final Metric<PaymentOutcomes> OUTCOMES =
+      new Metric<>(PAYMENT_OUTCOMES, MINUTE, PaymentOutcomes.class, PaymentOutcomes::merge);
+  private static final Metric<BigDecimal> REVENUE =
+      new Metric<>(REVENUE_PER_USER, HOUR, BigDecimal.class, BigDecimal::add);
+  private static final Metric<LatencyHistogram> LATENCIES =
+      new Metric<>(TIME_TO_PAYMENT, MINUTE, LatencyHistogram.class, LatencyHistogram::merge);
+  private static final Map<String, Metric<?>> METRICS =
+      Map.of(
+          ORDERS.store(), ORDERS,
+          OUTCOMES.store(), OUTCOMES,
+          REVENUE.store(), REVENUE,
+          LATENCIES.store(), LATENCIES);
+
+  private final KafkaStreamsInteractiveQueryService queryService;
+  private final RestClient restClient;
+  private final List<String> shardKeys;
+
+  public PaymentAnalyticsService(
+      KafkaStreamsInteractiveQueryService queryService,
+      @Qualifier("analyticsRestClient") RestClient restClient,
+      AnalyticsProperties properties) {
+    this.queryService = queryService;
+    this.restClient = restClient;
+    this.shardKeys = shardKeys(properties.shards());
+  }
+
+  public List<WindowedMetric<Long>> ordersPerMinute(Instant from, Instant to) {
+    return query(ORDERS, shardKeys, from, to, Function.<Long>identity());
+  }
+
+  public List<WindowedMetric<PaymentSuccessRate>> paymentSuccessRate(Instant from, Instant to) {
+    return query(OUTCOMES, shardKeys, from, to, PaymentSuccessRate::of);
+  }
+
+  public List<WindowedMetric<BigDecimal>> revenue(Long userId, Instant from, Instant to) {
+    return query(REVENUE, List.of(userId.toString()), from, to, Function.<BigDecimal>identity());
+  }
+
+  public List<WindowedMetric<TimeToPayment>> timeToPayment(Instant from, Instant to) {
+    return query(LATENCIES, shardKeys, from, to, TimeToPayment::of);
+  }
+
+  /**
+   * Returns the windows of the given keys of a store as held by this instance, merged across the
+   * keys. Other replicas call it to assemble a metric from its owners.
+   *
+   * @throws ResponseStatusException with {@code 404} if the store is not an analytics store
+   */
+  public List<WindowedMetric<?>> partials(
+      String storeName, List<String> keys, Instant from, Instant to) {
+    Metric<?> metric = METRICS.get(storeName);
+    if (metric == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown store " + storeName);
+    }
+    return new ArrayList<>(local(metric, keys, from, to));
+  }
+
+  private <V, R> List<WindowedMetric<R>> query(
+      Metric<V> metric, List<String> keys, Instant from, Instant to, Function<V, R> mapper) {
+    HostInfo self = queryService.getCurrentKafkaStreamsApplicationHostInfo();
+    Map<HostInfo, List<String>> keysByOwner =
+        keys.stream()
+            .collect(
+                Collectors.groupingBy(
+                    key -> ownerOf(metric, key, self), LinkedHashMap::new, Collectors.toList()));
+
+    Map<Instant, V> windows = new TreeMap<>();
+    keysByOwner.forEach(
+        (owner, ownedKeys) -> {
+          List<WindowedMetric<V>> partials =
+              owner.equals(self)
+                  ? local(metric, ownedKeys, from, to)
+                  : remote(metric, owner, ownedKeys, from, to);
+          partials.forEach(
+              partial -> windows.merge(partial.windowStart(), partial.value(), metric.merge()));
+        });
+    return windows.entrySet().stream()
+        .map(
+            window ->
+                new WindowedMetric<>(
+                    window.getKey(),
+                    window.getKey().plus(metric.windowSize()),
+                    mapper.apply(window.getValue())))
+        .toList();
+  }
+
+  private HostInfo ownerOf(Metric<?> metric, String key, HostInfo self) {
+    HostInfo owner =
+        queryService.getKafkaStreamsApplicationServerHostInfo(
+            metric.store(), key, new StringSerializer());
+    return owner != null ? owner : self;
+  }
+
+  private <V> List<WindowedMetric<V>> local(
+      Metric<V> metric, List<String> keys, Instant from, Instant to) {
+    ReadOnlyWindowStore<String, V> store =
+        queryService.retrieveQueryableStore(metric.store(), QueryableStoreTypes.windowStore());
+    Map<Instant, V> windows = new TreeMap<>();
+    for (String key : keys) {
+      try (WindowStoreIterator<V> iterator = store.fetch(key, from, to)) {
+        iterator.forEachRemaining(
+            window ->
+                windows.merge(Instant.ofEpochMilli(window.key), window.value, metric.merge()));
+      }
+    }
+    return windows.entrySet().stream()
+        .map(
+            window ->
+                new WindowedMetric<>(
+                    window.getKey(), window.getKey().plus(metric.windowSize()), window.getValue()))
+        .toList();
+  }
+
+  private <V> List<WindowedMetric<V>> remote(
+      Metric<V> metric, HostInfo owner, List<String> keys, Instant from, Instant to) {
+    log.debug("Reading {} partials for {} keys from {}", metric.store(), keys.size(), owner);
+    List<WindowedMetric<V>> partials =
+        restClient
+            .get()
+            .uri(
+                UriComponentsBuilder.newInstance()
+                    .scheme("http")
+                    .host(owner.host())
+                    .port(owner.port())
+                    .path(BASE_PATH + PARTIALS_PATH + "/" + metric.store())
+                    .queryParam("key", keys)
+                    .queryParam("from", from)
+                    .queryParam("to", to)
+                    .build()
+                    .toUri())
+            .retrieve()
+            .body(metric.partialsType());
+    return partials != null ? partials : List.of();
+  }
+
+  /**
+   * A window store together with how to merge two of its values.
+   *
+   * @param store the name of the window store
+   * @param windowSize the size of the store's windows
+   * @param type the type of the store's values
+   * @param merge combines the values of one window from different keys
+   * @param <V> the value type
+   */
+  private record Metric<V>(
+      String store, Duration windowSize, Class<V> type, BinaryOperator<V> merge) {
+
+    ParameterizedTypeReference<List<WindowedMetric<V>>> partialsType() {
+      return ParameterizedTypeReference.forType(
+          ResolvableType.forClassWithGenerics(
+                  List.class, ResolvableType.forClassWithGenerics(WindowedMetric.class, type))
+              .getType());
+    }
+  }
+}
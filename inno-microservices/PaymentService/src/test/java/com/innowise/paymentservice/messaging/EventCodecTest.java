@@ -0,0 +1,44 @@
+package com.innowise.paymentservice.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.innowise.paymentservice.messaging.event.OrderCreatedEvent;
+import com.innowise.paymentservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.paymentservice.messaging.serde.EventCodec;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+
+class EventCodecTest {
+
+  /**
+   * Shared with the order service codec tests; both sides must produce and read the same bytes.
+   * Single-object marker, OrderCreated schema fingerprint, then the Avro body.
+   */
+  private static final String ORDER_CREATED =
+      "c3010038571830e671080202040204041a028080f28183898506";
+
+  @Test
+  void decode_ShouldReadOrderCreatedEventWrittenByOrderService() {
+    OrderCreatedEvent expected =
+        new OrderCreatedEvent(
+            1L, 2L, new BigDecimal("10.50"), Instant.ofEpochSecond(1_700_000_000L));
+
+    assertThat(EventCodec.decode(HexFormat.of().parseHex(ORDER_CREATED))).isEqualTo(expected);
+  }
+
+  @Test
+  void decode_ShouldRoundTripPaymentCreatedEvent() {
+    PaymentCreatedEvent event =
+        new PaymentCreatedEvent(
+            "6560f3b2c1d4e5f6a7b8c9d0",
+            42L,
+            7L,
+            "SUCCESS",
+            Instant.parse("2025-01-02T10:15:30.123456Z"),
+            new BigDecimal("199.99"));
+
+    assertThat(EventCodec.decode(EventCodec.encode(event))).isEqualTo(event);
+  }
+}
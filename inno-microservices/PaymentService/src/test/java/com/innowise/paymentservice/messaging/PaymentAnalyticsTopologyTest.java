@@ -0,0 +1,142 @@
+package com.innowise.paymentservice.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.innowise.paymentservice.config.AnalyticsProperties;
+import com.innowise.paymentservice.config.KafkaTopicProperties;
+import com.innowise.paymentservice.messaging.event.OrderCreatedEvent;
+import com.innowise.paymentservice.messaging.event.PaymentCreatedEvent;
+import com.innowise.paymentservice.messaging.serde.BinaryEventSerializer;
+import com.innowise.paymentservice.model.dto.LatencyHistogram;
+import com.innowise.paymentservice.model.dto.PaymentOutcomes;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaymentAnalyticsTopologyTest {
+
+  private static final String ORDER_TOPIC = "orders";
+  private static final String PAYMENT_TOPIC = "payments";
+  private static final int SHARDS = 4;
+  private static final Instant MINUTE_START = Instant.parse("2025-01-02T10:00:00Z");
+
+  private TopologyTestDriver driver;
+  private TestInputTopic<String, Object> orders;
+  private TestInputTopic<String, Object> payments;
+
+  @BeforeEach
+  void setUp() {
+    StreamsBuilder builder = new StreamsBuilder();
+    AnalyticsProperties properties =
+        new AnalyticsProperties(
+            Duration.ofMinutes(1),
+            Duration.ofDays(1),
+            Duration.ofMinutes(30),
+            SHARDS,
+            Duration.ofMillis(500),
+            Duration.ofSeconds(2));
+    new PaymentAnalyticsTopology(
+            new KafkaTopicProperties(PAYMENT_TOPIC, "dlq", 1, (short) 1), properties)
+        .buildPipeline(builder, ORDER_TOPIC);
+
+    Properties config = new Properties();
+    config.put(StreamsConfig.APPLICATION_ID_CONFIG, "payment-analytics-test");
+    config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+    driver = new TopologyTestDriver(builder.build(), config);
+
+    orders =
+        driver.createInputTopic(ORDER_TOPIC, new StringSerializer(), new BinaryEventSerializer());
+    payments =
+        driver.createInputTopic(PAYMENT_TOPIC, new StringSerializer(), new BinaryEventSerializer());
+  }
+
+  @AfterEach
+  void tearDown() {
+    driver.close();
+  }
+
+  @Test
+  void topology_ShouldAggregateOrdersAndPaymentsPerWindow() {
+    order(1L, 7L, MINUTE_START.plusSeconds(1));
+    order(2L, 7L, MINUTE_START.plusSeconds(2));
+    order(3L, 8L, MINUTE_START.plusSeconds(3));
+    payment(1L, 7L, "SUCCESS", "100.00", MINUTE_START.plusSeconds(5));
+    payment(2L, 7L, "SUCCESS", "50.50", MINUTE_START.plusSeconds(20));
+    payment(3L, 8L, "FAILED", "10.00", MINUTE_START.plusSeconds(40));
+
+    WindowStore<String, Long> ordersPerMinute =
+        driver.getWindowStore(PaymentAnalyticsTopology.ORDERS_PER_MINUTE);
+    WindowStore<String, PaymentOutcomes> outcomes =
+        driver.getWindowStore(PaymentAnalyticsTopology.PAYMENT_OUTCOMES);
+    WindowStore<String, BigDecimal> revenue =
+        driver.getWindowStore(PaymentAnalyticsTopology.REVENUE_PER_USER);
+    WindowStore<String, LatencyHistogram> timeToPayment =
+        driver.getWindowStore(PaymentAnalyticsTopology.TIME_TO_PAYMENT);
+
+    long window = MINUTE_START.toEpochMilli();
+    assertThat(shards(ordersPerMinute, window)).hasSizeGreaterThan(1);
+    assertThat(shards(ordersPerMinute, window).stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(3L);
+    assertThat(shards(outcomes, window).stream().reduce(PaymentOutcomes::merge))
+        .contains(new PaymentOutcomes(2, 1));
+    assertThat(revenue.fetch("7", window))
+        .isEqualByComparingTo("150.50");
+    assertThat(revenue.fetch("8", window)).isNull();
+
+    LatencyHistogram histogram =
+        shards(timeToPayment, window).stream().reduce(LatencyHistogram::merge).orElseThrow();
+    assertThat(histogram.count()).isEqualTo(3);
+    assertThat(histogram.percentile(0.5)).isEqualTo(30_000);
+    assertThat(histogram.percentile(0.99)).isEqualTo(60_000);
+  }
+
+  @Test
+  void topology_ShouldSkipPaymentsWithoutAmountInRevenue() {
+    payment(1L, 7L, "SUCCESS", null, MINUTE_START.plusSeconds(5));
+    payment(2L, 7L, "SUCCESS", "25.00", MINUTE_START.plusSeconds(10));
+
+    WindowStore<String, BigDecimal> revenue =
+        driver.getWindowStore(PaymentAnalyticsTopology.REVENUE_PER_USER);
+
+    assertThat(revenue.fetch("7", MINUTE_START.toEpochMilli())).isEqualByComparingTo("25.00");
+  }
+
+  private static <V> List<V> shards(WindowStore<String, V> store, long window) {
+    return PaymentAnalyticsTopology.shardKeys(SHARDS).stream()
+        .map(key -> store.fetch(key, window))
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private void order(Long orderId, Long userId, Instant createdAt) {
+    orders.pipeInput(
+        orderId.toString(),
+        new OrderCreatedEvent(orderId, userId, BigDecimal.TEN, createdAt),
+        createdAt);
+  }
+
+  private void payment(Long orderId, Long userId, String status, String amount, Instant at) {
+    payments.pipeInput(
+        orderId.toString(),
+        new PaymentCreatedEvent(
+            "p-" + orderId,
+            orderId,
+            userId,
+            status,
+            at,
+            amount != null ? new BigDecimal(amount) : null),
+        at);
+  }
+}
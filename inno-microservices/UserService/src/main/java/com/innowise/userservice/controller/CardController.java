@@ -2,6 +2,7 @@ package com.innowise.userservice.controller;
 
 import com.innowise.userservice.model.dto.CardDto;
 import com.innowise.userservice.service.CardService;
+import com.innowise.userservice.util.ContentETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -48,14 +49,18 @@ public class CardController {
   /**
    * Retrieves a card by its unique identifier.
    *
+   * <p>The response carries a strong {@code ETag} derived from its content; a request whose
+   * {@code If-None-Match} still matches gets 304 (Not Modified) without a body.
+   *
    * @param id the ID of the card
-   * @return a {@link ResponseEntity} containing the {@link CardDto} and HTTP status 200 (OK)
+   * @return a {@link ResponseEntity} containing the {@link CardDto} and HTTP status 200 (OK), or
+   *     304 (Not Modified)
    */
   @GetMapping("/{id}")
   @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'SERVICE')")
   public ResponseEntity<CardDto> findById(@PathVariable Long id) {
     CardDto response = service.findById(id);
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok().eTag(ContentETags.of(response)).body(response);
   }
 
   /**
@@ -2,6 +2,7 @@ package com.innowise.userservice.controller;
 
 import com.innowise.userservice.model.dto.UserDto;
 import com.innowise.userservice.service.UserService;
+import com.innowise.userservice.util.ContentETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -49,14 +50,18 @@ public class UserController {
   /**
    * Retrieves a user by their unique identifier.
    *
+   * <p>The response carries a strong {@code ETag} derived from its content; a request whose
+   * {@code If-None-Match} still matches gets 304 (Not Modified) without a body.
+   *
    * @param id the ID of the user
-   * @return a {@link ResponseEntity} containing the {@link UserDto} and HTTP status 200 (OK)
+   * @return a {@link ResponseEntity} containing the {@link UserDto} and HTTP status 200 (OK), or
+   *     304 (Not Modified)
    */
   @GetMapping("/{id}")
   @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'SERVICE')")
   public ResponseEntity<UserDto> findById(@PathVariable Long id) {
     UserDto response = service.findById(id);
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok().eTag(ContentETags.of(response)).body(response);
   }
 
   /**
@@ -0,0 +1,35 @@
+package com.innowise.userservice.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Derives strong entity tags from content. The Order Service builds separately and keeps the same
+ * class in its own {@code util} package.
+ *
+ * <p>The tag is the first 128 bits of the SHA-256 of the content's {@code toString()}. For records
+ * that string covers every component, nested lists included, and is the same on every instance
+ * running the same build.
+ */
+@UtilityClass
+public class ContentETags {
+
+  /**
+   * @param content the content the tag identifies
+   * @return the quoted entity tag
+   */
+  public String of(Object content) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(String.valueOf(content).getBytes(StandardCharsets.UTF_8));
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
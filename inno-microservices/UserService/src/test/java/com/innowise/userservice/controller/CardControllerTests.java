@@ -23,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -69,6 +70,27 @@ class CardControllerTests {
         .andExpect(jsonPath("$.id").value(10));
   }
 
+  @Test
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @DisplayName("GET /api/v1/cards/{id} returns 304 when ETag matches")
+  void findById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+    CardDto dto = new CardDto(10L, 5L, "1111", "A", LocalDate.now().plusYears(2));
+    Mockito.when(cardService.findById(10L)).thenReturn(dto);
+
+    String etag =
+        mockMvc
+            .perform(get("/api/v1/cards/10"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/api/v1/cards/10").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
   @Test
   @WithMockUser(roles = {"ADMIN"})
   @DisplayName("GET /api/v1/cards with ids returns list, empty -> 204")
@@ -23,6 +23,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -75,6 +77,39 @@ class UserControllerTests {
         .andExpect(jsonPath("$.email").value("alice@example.com"));
   }
 
+  @Test
+  @WithMockUser(roles = {"ADMIN", "USER"})
+  @DisplayName("GET /api/v1/users/{id} returns 304 when ETag matches")
+  void findById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+    UserDto dto =
+        new UserDto(
+            2L, "Alice", "Cooper", LocalDate.of(1992, 2, 2), "alice@example.com", List.of());
+    Mockito.when(userService.findById(2L)).thenReturn(dto);
+
+    String etag =
+        mockMvc
+            .perform(get("/api/v1/users/2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/api/v1/users/2").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    Mockito.when(userService.findById(2L))
+        .thenReturn(
+            new UserDto(
+                2L, "Alice", "Smith", LocalDate.of(1992, 2, 2), "alice@example.com", List.of()));
+    mockMvc
+        .perform(get("/api/v1/users/2").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.surname").value("Smith"));
+  }
+
   @Test
   @WithMockUser(roles = {"ADMIN", "SERVICE"})
   @DisplayName("GET /api/v1/users without filter returns 204 when empty")